@@ -0,0 +1,64 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building and tearing down a whole graph: every score is the time of one bulk operation
+ * over all the generated vertices or arcs, not of a single call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuildBenchmark {
+    private Graph<Integer> empty;
+    private Graph<Integer> withVertices;
+    private Graph<Integer> unweightedWithVertices;
+    private Graph<Integer> full;
+
+    @Setup(Level.Invocation)
+    public void prepare(GraphState state) {
+        GraphGenerator g = state.generated;
+        empty = g.newGraph(state.impl, true);
+        withVertices = g.newGraph(state.impl, true);
+        g.addVertices(withVertices);
+        unweightedWithVertices = g.newGraph(state.impl, false);
+        g.addVertices(unweightedWithVertices);
+        full = g.build(state.impl);
+    }
+
+    @Benchmark
+    public Graph<Integer> addVertex(GraphState state) {
+        state.generated.addVertices(empty);
+        return empty;
+    }
+
+    @Benchmark
+    public Graph<Integer> addArc(GraphState state) {
+        state.generated.addArcs(withVertices);
+        return withVertices;
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdge(GraphState state) {
+        GraphGenerator g = state.generated;
+        for (int i = 0; i < g.src.length; i++)
+            unweightedWithVertices.addEdge(g.src[i], g.dest[i]);
+        return unweightedWithVertices;
+    }
+
+    /**
+     * Removes a tenth of the vertices, spread over the whole key range.
+     */
+    @Benchmark
+    public Graph<Integer> removeVertex(GraphState state) {
+        for (int v = 0; v < state.vertices; v += 10)
+            full.removeVertex(v);
+        return full;
+    }
+}
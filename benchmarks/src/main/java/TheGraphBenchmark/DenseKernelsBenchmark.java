@@ -0,0 +1,54 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and Vector API kernels of DenseMatrix: frontier expansion, degree counts,
+ * min-plus shortest paths and PageRank products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class DenseKernelsBenchmark {
+    public enum Kernels { SCALAR, VECTOR }
+
+    @Param({"SCALAR", "VECTOR"})
+    public Kernels kernels;
+
+    private DenseMatrix<Integer> matrix;
+    private Integer source;
+
+    @Setup(Level.Trial)
+    public void build(GraphState state) {
+        DenseKernels chosen = kernels == Kernels.VECTOR ? DenseKernels.vectorized() : DenseKernels.scalar();
+        matrix = new DenseMatrix<>(state.generated.build(state.impl), chosen);
+        source = matrix.keyOf(0);
+    }
+
+    @Benchmark
+    public int[] hops() {
+        return matrix.hops(source);
+    }
+
+    @Benchmark
+    public void degrees(Blackhole bh) {
+        bh.consume(matrix.outDegrees());
+    }
+
+    @Benchmark
+    public double[] distances() {
+        return matrix.distances(source);
+    }
+
+    @Benchmark
+    public double[] pageRank() {
+        return matrix.pageRank(0.85, 10);
+    }
+}
@@ -0,0 +1,193 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates the arcs of the synthetic graphs used by the benchmarks.
+ * Arcs never repeat and never loop on a vertex, so every implementation accepts all of them.
+ */
+public final class GraphGenerator {
+    /**
+     * The graph implementations being compared.
+     */
+    public enum Impl { LUIGI, MARIO }
+
+    /**
+     * The shapes of the generated graphs.
+     */
+    public enum Shape {
+        /**
+         * Uniformly random arcs (Erdős–Rényi G(n, m)).
+         */
+        RANDOM,
+        /**
+         * Chung–Lu graph whose expected degrees follow a power law with exponent 2.5.
+         */
+        POWER_LAW,
+        /**
+         * Square grid with arcs to the four neighbours, its degree doesn't depend on the requested density.
+         */
+        GRID
+    }
+
+    /**
+     * Sources of the generated arcs.
+     */
+    public final int[] src;
+    /**
+     * Destinations of the generated arcs.
+     */
+    public final int[] dest;
+    /**
+     * Weights of the generated arcs, in [0, 1).
+     */
+    public final double[] weight;
+    /**
+     * Number of vertices, keyed 0 to vertices - 1.
+     */
+    public final int vertices;
+
+    private GraphGenerator(int vertices, int[] src, int[] dest, double[] weight) {
+        this.vertices = vertices;
+        this.src = src;
+        this.dest = dest;
+        this.weight = weight;
+    }
+
+    /**
+     * Generates a graph.
+     * @param shape the shape of the graph.
+     * @param vertices the number of vertices.
+     * @param avgDegree the average out-degree, ignored by GRID.
+     * @param seed the seed of the random generator, so every run builds the same graph.
+     * @return the generated arcs.
+     */
+    public static GraphGenerator generate(Shape shape, int vertices, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        Set<Long> seen = new HashSet<>();
+        int[] src;
+        int[] dest;
+        int count = 0;
+        switch (shape) {
+            case GRID -> {
+                int side = (int) Math.ceil(Math.sqrt(vertices));
+                src = new int[vertices * 4];
+                dest = new int[vertices * 4];
+                for (int v = 0; v < vertices; v++) {
+                    int row = v / side;
+                    int col = v % side;
+                    int[][] moves = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+                    for (int[] move : moves) {
+                        int r = row + move[0];
+                        int c = col + move[1];
+                        int u = r * side + c;
+                        if (r < 0 || c < 0 || c >= side || u >= vertices)
+                            continue;
+                        src[count] = v;
+                        dest[count] = u;
+                        count++;
+                    }
+                }
+            }
+            case RANDOM -> {
+                long arcs = Math.min((long) vertices * avgDegree, (long) vertices * (vertices - 1));
+                src = new int[(int) arcs];
+                dest = new int[(int) arcs];
+                while (count < arcs) {
+                    int s = random.nextInt(vertices);
+                    int d = random.nextInt(vertices);
+                    if (s != d && seen.add((long) s * vertices + d)) {
+                        src[count] = s;
+                        dest[count] = d;
+                        count++;
+                    }
+                }
+            }
+            default -> {
+                long arcs = Math.min((long) vertices * avgDegree, (long) vertices * (vertices - 1) / 4);
+                double[] cumulative = new double[vertices];
+                double total = 0;
+                for (int i = 0; i < vertices; i++) {
+                    total += Math.pow(i + 1, -1 / 1.5);
+                    cumulative[i] = total;
+                }
+                src = new int[(int) arcs];
+                dest = new int[(int) arcs];
+                while (count < arcs) {
+                    int s = sample(cumulative, random.nextDouble() * total);
+                    int d = sample(cumulative, random.nextDouble() * total);
+                    if (s != d && seen.add((long) s * vertices + d)) {
+                        src[count] = s;
+                        dest[count] = d;
+                        count++;
+                    }
+                }
+            }
+        }
+        double[] weight = new double[count];
+        for (int i = 0; i < count; i++)
+            weight[i] = random.nextDouble();
+        return new GraphGenerator(vertices, Arrays.copyOf(src, count), Arrays.copyOf(dest, count), weight);
+    }
+
+    private static int sample(double[] cumulative, double value) {
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < value)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Creates an empty graph of an implementation, big enough for the generated vertices.
+     * @param impl the implementation.
+     * @param weighted whether the graph is weighted.
+     * @return the empty graph.
+     */
+    public Graph<Integer> newGraph(Impl impl, boolean weighted) {
+        return switch (impl) {
+            case LUIGI -> new LuigiGraph<>(weighted);
+            case MARIO -> new MarioGraph<>(vertices, weighted);
+        };
+    }
+
+    /**
+     * Adds every generated vertex to a graph.
+     * @param graph the graph to fill.
+     */
+    public void addVertices(Graph<Integer> graph) {
+        for (int v = 0; v < vertices; v++)
+            graph.addVertex(v);
+    }
+
+    /**
+     * Adds every generated arc to a weighted graph.
+     * @param graph the graph to fill, it must already hold the vertices.
+     */
+    public void addArcs(Graph<Integer> graph) {
+        for (int i = 0; i < src.length; i++)
+            graph.addArc(src[i], dest[i], weight[i]);
+    }
+
+    /**
+     * Builds a weighted graph with every generated vertex and arc.
+     * @param impl the implementation.
+     * @return the built graph.
+     */
+    public Graph<Integer> build(Impl impl) {
+        Graph<Integer> graph = newGraph(impl, true);
+        addVertices(graph);
+        addArcs(graph);
+        return graph;
+    }
+}
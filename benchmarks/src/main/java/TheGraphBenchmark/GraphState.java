@@ -0,0 +1,31 @@
+package TheGraphBenchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parameters shared by every benchmark: implementation, shape, size and density of the graph.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"LUIGI", "MARIO"})
+    public GraphGenerator.Impl impl;
+
+    @Param({"RANDOM", "POWER_LAW", "GRID"})
+    public GraphGenerator.Shape shape;
+
+    @Param({"256", "4096"})
+    public int vertices;
+
+    @Param({"4", "16"})
+    public int avgDegree;
+
+    public GraphGenerator generated;
+
+    @Setup
+    public void generate() {
+        generated = GraphGenerator.generate(shape, vertices, avgDegree, 42);
+    }
+}
@@ -0,0 +1,46 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single arc lookups and weight updates on a built graph, picking a different arc every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupBenchmark {
+    private Graph<Integer> graph;
+    private GraphGenerator generated;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void build(GraphState state) {
+        generated = state.generated;
+        graph = generated.build(state.impl);
+    }
+
+    private int nextArc() {
+        next++;
+        if (next == generated.src.length)
+            next = 0;
+        return next;
+    }
+
+    @Benchmark
+    public Double getArcWeight() {
+        int i = nextArc();
+        return graph.getArcWeight(generated.src[i], generated.dest[i]);
+    }
+
+    @Benchmark
+    public boolean updateArc() {
+        int i = nextArc();
+        return graph.updateArc(generated.src[i], generated.dest[i], generated.weight[i]);
+    }
+}
@@ -0,0 +1,45 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares 64 single-source searches with one multi-source search over the same 64 seeds, up to 3 hops.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiSourceBfsBenchmark {
+    private static final int HOPS = 3;
+
+    private IntGraph<Integer> graph;
+    private int[] sources;
+
+    @Setup(Level.Trial)
+    public void build(GraphState state) {
+        graph = state.generated.build(state.impl).asIntGraph();
+        sources = new int[MultiSourceBFS.BATCH];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = graph.idOf((int) ((long) i * state.vertices / sources.length));
+    }
+
+    @Benchmark
+    public void singleSource(Blackhole bh) {
+        int[] one = new int[1];
+        for (int source : sources) {
+            one[0] = source;
+            MultiSourceBFS.traverse(graph, one, HOPS, (s, v, hops) -> bh.consume(v));
+        }
+    }
+
+    @Benchmark
+    public void multiSource(Blackhole bh) {
+        MultiSourceBFS.traverse(graph, sources, HOPS, (s, v, hops) -> bh.consume(v));
+    }
+}
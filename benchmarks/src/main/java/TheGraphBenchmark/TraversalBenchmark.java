@@ -0,0 +1,46 @@
+package TheGraphBenchmark;
+
+import TheGraph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full BFS and DFS from vertex 0.
+ * Both traversals print the vertices they visit, so System.out is discarded while the benchmark runs;
+ * the scores still include formatting each visited key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TraversalBenchmark {
+    private Traversable<Integer> graph;
+    private PrintStream out;
+
+    @Setup(Level.Trial)
+    public void build(GraphState state) {
+        graph = (Traversable<Integer>) state.generated.build(state.impl);
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOut() {
+        System.setOut(out);
+    }
+
+    @Benchmark
+    public void bfs() {
+        graph.BFS(0);
+    }
+
+    @Benchmark
+    public void dfs() {
+        graph.DFS(0);
+    }
+}
@@ -0,0 +1,30 @@
+package TheGraphTest;
+import TheGraph.*;
+import TheGraphBenchmark.GraphGenerator;
+
+public class TestGraphGenerator {
+    public static void main(String[] args) {
+        for (GraphGenerator.Shape shape : GraphGenerator.Shape.values()) {
+            GraphGenerator generated = GraphGenerator.generate(shape, 100, 4, 42);
+            int maxDegree = 0;
+            int[] degrees = new int[generated.vertices];
+            for (int src : generated.src)
+                maxDegree = Math.max(maxDegree, ++degrees[src]);
+            System.out.println(shape + ": " + generated.vertices + " vertices, " + generated.src.length
+                    + " arcs, max out-degree " + maxDegree);
+
+            for (GraphGenerator.Impl impl : GraphGenerator.Impl.values()) {
+                Graph<Integer> graph = generated.build(impl);
+                System.out.println("  " + impl + ": " + graph.vertexCount() + " vertices, "
+                        + graph.edges().count() + " arcs, weight " + generated.src[0] + " -> " + generated.dest[0]
+                        + " = " + graph.getArcWeight(generated.src[0], generated.dest[0]));
+            }
+        }
+
+        GraphGenerator small = GraphGenerator.generate(GraphGenerator.Shape.GRID, 9, 0, 1);
+        Graph<Integer> mario = small.build(GraphGenerator.Impl.MARIO);
+        System.out.println("\nTwo DFS in a row on the same MarioGraph visit every vertex both times:");
+        ((MarioGraph<Integer>) mario).DFS(0);
+        ((MarioGraph<Integer>) mario).DFS(0);
+    }
+}
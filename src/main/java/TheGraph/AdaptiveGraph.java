@@ -0,0 +1,384 @@
+package TheGraph;
+
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+/**
+ * Graph that stores itself as a LuigiGraph (adjacency list) or a MarioGraph (adjacency matrix),
+ * whichever suits its current density, and migrates between them as it changes.
+ * The density (arcs / possible arcs) is checked every few mutations against the thresholds of an
+ * AdaptivePolicy; the gap between the two thresholds keeps the graph from migrating back and forth.
+ * A migration copies every vertex and arc, so the int ids of the vertices may change with it.
+ * Self-loops are rejected in both representations, since the matrix can't hold them.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class AdaptiveGraph<E> extends Graph<E> implements Traversable<E> {
+    private final AdaptivePolicy policy;
+    private Graph<E> current;
+    private long arcCount;
+    private int mutationsSinceCheck;
+    private long migrations;
+
+    /**
+     * Constructor for AdaptiveGraph class with the default policy. It starts as an adjacency list.
+     * @param isWeighted a boolean value indicating whether the graph is weighted or not
+     */
+    public AdaptiveGraph(boolean isWeighted) {
+        this(isWeighted, AdaptivePolicy.defaults());
+    }
+
+    /**
+     * Constructor for AdaptiveGraph class. It starts as an adjacency list.
+     * @param isWeighted a boolean value indicating whether the graph is weighted or not
+     * @param policy the thresholds that decide the representation.
+     */
+    public AdaptiveGraph(boolean isWeighted, AdaptivePolicy policy) {
+        super(isWeighted);
+        this.policy = policy;
+        this.current = new LuigiGraph<>(isWeighted);
+    }
+
+    /**
+     * @return true if the graph is currently stored as an adjacency matrix.
+     */
+    public boolean isDense() {
+        return current instanceof MarioGraph;
+    }
+
+    /**
+     * @return the number of times the graph changed representation.
+     */
+    public long getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * @return the number of arcs, an undirected edge counts as two.
+     */
+    public long arcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Gets the share of the possible arcs (without self-loops) that exist.
+     * @return the density between 0 and 1.
+     */
+    public double density() {
+        long n = current.vertexCount();
+        return n < 2 ? 0 : (double) arcCount / (n * (n - 1));
+    }
+
+    /**
+     * Gets the highest out-degree, a measure of how skewed the degree distribution is.
+     * @return the highest out-degree of a vertex.
+     */
+    public int maxDegree() {
+        IntGraph<E> ints = current.asIntGraph();
+        int max = 0;
+        for (int id = 0; id < ints.idBound(); id++) {
+            if (ints.keyOf(id) != null)
+                max = Math.max(max, ints.degree(id));
+        }
+        return max;
+    }
+
+    private boolean hasArc(E src, E dest) {
+        IntGraph<E> ints = current.asIntGraph();
+        int s = ints.idOf(src);
+        int d = ints.idOf(dest);
+        return s != -1 && d != -1 && ints.hasArc(s, d);
+    }
+
+    /**
+     * Counts a successful mutation and checks the density when the policy asks for it.
+     */
+    private void mutated() {
+        modified();
+        if (++mutationsSinceCheck < policy.getCheckEvery())
+            return;
+        mutationsSinceCheck = 0;
+        int n = current.vertexCount();
+        double density = density();
+        if (!isDense() && density > policy.getToDenseAbove()
+                && n >= policy.getMinDenseVertices() && n <= policy.getMaxDenseVertices())
+            migrate(true, n);
+        else if (isDense() && (density < policy.getToSparseBelow() || n < policy.getMinDenseVertices()))
+            migrate(false, n);
+    }
+
+    /**
+     * Copies the graph into the other representation. The copy renumbers the vertex ids,
+     * so it counts as a mutation and anything keyed by id sees a new modification count.
+     * @param dense true to build an adjacency matrix, false for an adjacency list.
+     * @param vertices the vertices the new representation must hold.
+     */
+    private void migrate(boolean dense, int vertices) {
+        Graph<E> target;
+        if (dense) {
+            int capacity = (int) Math.min(policy.getMaxDenseVertices(), Math.max(16L, 2L * vertices));
+            target = new MarioGraph<>(capacity, isWeighted);
+        } else {
+            target = new LuigiGraph<>(isWeighted);
+        }
+        current.forEachVertex(target::addVertex);
+        current.forEachArc((src, dest, weight) -> {
+            if (isWeighted)
+                target.addArc(src, dest, weight);
+            else
+                target.addArc(src, dest);
+        });
+        current = target;
+        migrations++;
+        modified();
+    }
+
+    /**
+     * Adds a vertex to the graph. A full matrix is regrown, or replaced by a list once it would
+     * exceed the largest matrix allowed by the policy.
+     * @param vtx the element to be added as a vertex to the graph.
+     * @return true if the vertex was added successfully, false if the element is null or already exists.
+     */
+    @Override
+    public boolean addVertex(E vtx) {
+        if (vtx == null || current.asIntGraph().idOf(vtx) != -1)
+            return false;
+        if (current instanceof MarioGraph<E> mario && mario.vertexCount() == mario.capacity())
+            migrate(mario.capacity() < policy.getMaxDenseVertices(), mario.vertexCount() + 1);
+        if (!current.addVertex(vtx))
+            return false;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        if (src == null || src.equals(dest))
+            return false;
+        long before = arcsBetween(src, dest);
+        if (!current.addEdge(src, dest))
+            return false;
+        arcCount += 2 - before;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        if (src == null || src.equals(dest))
+            return false;
+        long before = arcsBetween(src, dest);
+        if (!current.addEdge(src, dest, weight))
+            return false;
+        arcCount += 2 - before;
+        mutated();
+        return true;
+    }
+
+    private long arcsBetween(E src, E dest) {
+        return (hasArc(src, dest) ? 1 : 0) + (hasArc(dest, src) ? 1 : 0);
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        if (src == null || src.equals(dest) || !current.addArc(src, dest))
+            return false;
+        arcCount++;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        if (src == null || src.equals(dest) || !current.addArc(src, dest, weight))
+            return false;
+        arcCount++;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public int vertexCount() {
+        return current.vertexCount();
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        IntGraph<E> ints = current.asIntGraph();
+        int id = ints.idOf(obj);
+        if (id == -1)
+            return false;
+        long incident = ints.degree(id);
+        for (int other = 0; other < ints.idBound(); other++) {
+            if (other != id && ints.keyOf(other) != null && ints.hasArc(other, id))
+                incident++;
+        }
+        if (!current.removeVertex(obj))
+            return false;
+        arcCount -= incident;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        if (src == null || dest == null || !current.removeArc(src, dest))
+            return false;
+        arcCount--;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        if (src == null || dest == null || !current.removeEdge(src, dest))
+            return false;
+        arcCount -= 2;
+        mutated();
+        return true;
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        if (src == null || dest == null)
+            return false;
+        if (!current.updateArc(src, dest, weight))
+            return false;
+        modified();
+        return true;
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        if (src == null || dest == null)
+            return false;
+        if (!current.updateEdge(src, dest, weight))
+            return false;
+        modified();
+        return true;
+    }
+
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        if (src == null || dest == null)
+            return null;
+        return current.getArcWeight(src, dest);
+    }
+
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        if (src == null || dest == null)
+            return null;
+        return current.getEdgeWeight(src, dest);
+    }
+
+    /**
+     * Gets an int view that reads whichever representation is current on every call, so it can be kept
+     * across migrations; the ids it hands out may still change when the graph migrates.
+     * Its addArc methods go through the graph, so they are counted and may trigger a migration.
+     * @return the int view, backed by this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            return current.asIntGraph().idOf(key);
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return current.asIntGraph().keyOf(id);
+        }
+
+        @Override
+        public int idBound() {
+            return current.asIntGraph().idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            IntGraph<E> ints = current.asIntGraph();
+            E srcKey = ints.keyOf(src);
+            E destKey = ints.keyOf(dest);
+            return srcKey != null && destKey != null && AdaptiveGraph.this.addArc(srcKey, destKey);
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            IntGraph<E> ints = current.asIntGraph();
+            E srcKey = ints.keyOf(src);
+            E destKey = ints.keyOf(dest);
+            return srcKey != null && destKey != null && AdaptiveGraph.this.addArc(srcKey, destKey, weight);
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            return current.asIntGraph().hasArc(src, dest);
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            return current.asIntGraph().arcWeight(src, dest);
+        }
+
+        @Override
+        public int degree(int id) {
+            return current.asIntGraph().degree(id);
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            return current.asIntGraph().neighbors(id);
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            current.asIntGraph().forEachNeighbor(id, action);
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void DFS(E src) {
+        ((Traversable<E>) current).DFS(src);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void BFS(E src) {
+        ((Traversable<E>) current).BFS(src);
+    }
+
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        current.forEachVertex(action);
+    }
+
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        current.forEachArc(action);
+    }
+
+    /**
+     * Estimates the heap used by the current representation, which changes when the graph migrates.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint of the current representation.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        return current.memoryFootprint(bytesPerKey);
+    }
+
+    @Override
+    public String toString() {
+        return current.toString();
+    }
+}
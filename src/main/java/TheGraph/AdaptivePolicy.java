@@ -0,0 +1,109 @@
+package TheGraph;
+
+/**
+ * Thresholds that decide when an AdaptiveGraph switches between its adjacency list and its adjacency matrix.
+ * The dense threshold is above the sparse one, so a graph whose density hovers around one of them doesn't
+ * switch back and forth. Instances are immutable, every with method returns a modified copy.
+ */
+public final class AdaptivePolicy {
+    private final double toDenseAbove;
+    private final double toSparseBelow;
+    private final int minDenseVertices;
+    private final int maxDenseVertices;
+    private final int checkEvery;
+
+    private AdaptivePolicy(double toDenseAbove, double toSparseBelow, int minDenseVertices, int maxDenseVertices,
+                           int checkEvery) {
+        if (toSparseBelow >= toDenseAbove)
+            throw new IllegalArgumentException("toSparseBelow must be lower than toDenseAbove");
+        this.toDenseAbove = toDenseAbove;
+        this.toSparseBelow = toSparseBelow;
+        this.minDenseVertices = minDenseVertices;
+        this.maxDenseVertices = maxDenseVertices;
+        this.checkEvery = checkEvery;
+    }
+
+    /**
+     * Gets the default policy: go dense above 25% density, back to sparse below 10%, only with
+     * 32 to 8192 vertices, checking the density every 64 mutations.
+     * @return the default policy.
+     */
+    public static AdaptivePolicy defaults() {
+        return new AdaptivePolicy(0.25, 0.10, 32, 8192, 64);
+    }
+
+    /**
+     * @param toDenseAbove the density (arcs / possible arcs) above which the matrix is used.
+     * @return a copy of this policy with the given threshold.
+     */
+    public AdaptivePolicy withToDenseAbove(double toDenseAbove) {
+        return new AdaptivePolicy(toDenseAbove, toSparseBelow, minDenseVertices, maxDenseVertices, checkEvery);
+    }
+
+    /**
+     * @param toSparseBelow the density below which the adjacency list is used again.
+     * @return a copy of this policy with the given threshold.
+     */
+    public AdaptivePolicy withToSparseBelow(double toSparseBelow) {
+        return new AdaptivePolicy(toDenseAbove, toSparseBelow, minDenseVertices, maxDenseVertices, checkEvery);
+    }
+
+    /**
+     * @param minDenseVertices the fewest vertices for which the matrix is considered.
+     * @return a copy of this policy with the given bound.
+     */
+    public AdaptivePolicy withMinDenseVertices(int minDenseVertices) {
+        return new AdaptivePolicy(toDenseAbove, toSparseBelow, minDenseVertices, maxDenseVertices, checkEvery);
+    }
+
+    /**
+     * @param maxDenseVertices the most vertices a matrix may hold, which bounds its memory.
+     * @return a copy of this policy with the given bound.
+     */
+    public AdaptivePolicy withMaxDenseVertices(int maxDenseVertices) {
+        if (maxDenseVertices < 2)
+            throw new IllegalArgumentException("maxDenseVertices < 2");
+        return new AdaptivePolicy(toDenseAbove, toSparseBelow, minDenseVertices, maxDenseVertices, checkEvery);
+    }
+
+    /**
+     * @param checkEvery the mutations between two density checks, at least 1.
+     * @return a copy of this policy with the given interval.
+     */
+    public AdaptivePolicy withCheckEvery(int checkEvery) {
+        if (checkEvery < 1)
+            throw new IllegalArgumentException("checkEvery < 1");
+        return new AdaptivePolicy(toDenseAbove, toSparseBelow, minDenseVertices, maxDenseVertices, checkEvery);
+    }
+
+    public double getToDenseAbove() {
+        return toDenseAbove;
+    }
+
+    public double getToSparseBelow() {
+        return toSparseBelow;
+    }
+
+    public int getMinDenseVertices() {
+        return minDenseVertices;
+    }
+
+    public int getMaxDenseVertices() {
+        return maxDenseVertices;
+    }
+
+    public int getCheckEvery() {
+        return checkEvery;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePolicy{" +
+                "toDenseAbove=" + toDenseAbove +
+                ", toSparseBelow=" + toSparseBelow +
+                ", minDenseVertices=" + minDenseVertices +
+                ", maxDenseVertices=" + maxDenseVertices +
+                ", checkEvery=" + checkEvery +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package TheGraph;
+
+/**
+ * Directed arc of a graph, as returned by Graph.edges().
+ * @param src the source vertex of the arc.
+ * @param dest the destination vertex of the arc.
+ * @param weight the weight of the arc, null if the graph is unweighted.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public record Arc<E>(E src, E dest, Double weight) {
+}
@@ -0,0 +1,361 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over a graph answering queries with CompletableFutures.
+ * Queries are queued and a dispatcher thread drains the queue into batches, grouping the queries
+ * with the same source vertex so they share the work: the source is resolved once, its arcs are
+ * scanned once for every weight lookup, and one search from it answers every path query.
+ * Batches run on virtual threads, at most maxConcurrency at a time, under a read lock; mutations
+ * go through update, which takes the write lock. Once maxPending queries are waiting, the callers
+ * block until some are answered, so a burst can't grow the queue without bound.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class AsyncGraph<E> implements AutoCloseable {
+    private enum Kind { ARC_WEIGHT, NEIGHBORS, SHORTEST_DISTANCE, REACHABLE, BFS, STOP }
+
+    private record Query(Kind kind, Object source, Object target, CompletableFuture<Object> future) {
+    }
+
+    private final Graph<E> graph;
+    private final AsyncOptions options;
+    private final LinkedBlockingQueue<Query> queue = new LinkedBlockingQueue<>();
+    private final Semaphore pending;
+    private final Semaphore running;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private final Object closeLock = new Object();
+    private volatile boolean closed;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+
+    /**
+     * Constructor for AsyncGraph class with the default options.
+     * @param graph the graph to be queried.
+     */
+    public AsyncGraph(Graph<E> graph) {
+        this(graph, AsyncOptions.defaults());
+    }
+
+    /**
+     * Constructor for AsyncGraph class. It starts its dispatcher thread right away.
+     * @param graph the graph to be queried.
+     * @param options the concurrency and batching settings.
+     */
+    public AsyncGraph(Graph<E> graph, AsyncOptions options) {
+        this.graph = graph;
+        this.options = options;
+        this.pending = new Semaphore(options.getMaxPending());
+        this.running = new Semaphore(options.getMaxConcurrency());
+        this.dispatcher = Thread.ofVirtual().name("graph-async-dispatcher").start(this::dispatchLoop);
+    }
+
+    // Queries
+
+    /**
+     * Gets the weight of an arc.
+     * @param src the source vertex of the arc.
+     * @param dest the destination vertex of the arc.
+     * @return a future with the weight, null if the graph is unweighted or the arc doesn't exist.
+     */
+    public CompletableFuture<Double> getArcWeight(E src, E dest) {
+        return submit(Kind.ARC_WEIGHT, src, dest);
+    }
+
+    /**
+     * Gets the destinations of the arcs leaving a vertex.
+     * @param vtx the element in the vertex.
+     * @return a future with the neighbours, failed with IllegalArgumentException if the vertex doesn't exist.
+     */
+    public CompletableFuture<List<E>> neighbors(E vtx) {
+        return submit(Kind.NEIGHBORS, vtx, null);
+    }
+
+    /**
+     * Gets the length of the shortest directed path between two vertices, see GraphQueries.shortestDistance.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @return a future with the length, null if dest can't be reached, failed if a vertex doesn't exist.
+     */
+    public CompletableFuture<Double> shortestDistance(E src, E dest) {
+        return submit(Kind.SHORTEST_DISTANCE, src, dest);
+    }
+
+    /**
+     * Checks whether there is a directed path between two vertices.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @return a future with the answer, failed if a vertex doesn't exist.
+     */
+    public CompletableFuture<Boolean> isReachable(E src, E dest) {
+        return submit(Kind.REACHABLE, src, dest);
+    }
+
+    /**
+     * Traverses the graph breadth-first from a vertex.
+     * @param src the element in the source vertex.
+     * @return a future with the vertices in the order they were reached, failed if the vertex doesn't exist.
+     */
+    public CompletableFuture<List<E>> BFS(E src) {
+        return submit(Kind.BFS, src, null);
+    }
+
+    /**
+     * Runs a mutation, or anything else that needs the graph to itself, once the running batches finish.
+     * @param mutation the function run on the graph.
+     * @param <R> the type of the result.
+     * @return a future with the result of the mutation.
+     */
+    public <R> CompletableFuture<R> update(Function<? super Graph<E>, R> mutation) {
+        if (closed)
+            return CompletableFuture.failedFuture(new IllegalStateException("The async graph is closed"));
+        return CompletableFuture.supplyAsync(() -> {
+            lock.writeLock().lock();
+            try {
+                return mutation.apply(graph);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }, workers);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> submit(Kind kind, E source, E target) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("The async graph is closed"));
+            return (CompletableFuture<R>) future;
+        }
+        if (!pending.tryAcquire()) {
+            backpressureWaits.increment();
+            try {
+                pending.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return (CompletableFuture<R>) future;
+            }
+        }
+        // close() may have run while this caller waited for a permit. Checking and queueing under closeLock
+        // keeps every accepted query ahead of the STOP marker, so the dispatcher answers it.
+        synchronized (closeLock) {
+            if (!closed) {
+                queue.add(new Query(kind, source, target, future));
+                return (CompletableFuture<R>) future;
+            }
+        }
+        pending.release();
+        future.completeExceptionally(new IllegalStateException("The async graph is closed"));
+        return (CompletableFuture<R>) future;
+    }
+
+    // Dispatching
+
+    private void dispatchLoop() {
+        List<Query> drained = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                drained.add(queue.take());
+                if (options.getLingerMicros() > 0)
+                    TimeUnit.MICROSECONDS.sleep(options.getLingerMicros());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(drained, options.getMaxPending());
+            LinkedHashMap<Object, List<Query>> bySource = new LinkedHashMap<>();
+            for (Query query : drained) {
+                if (query.kind() == Kind.STOP)
+                    stop = true;
+                else
+                    bySource.computeIfAbsent(query.source(), k -> new ArrayList<>()).add(query);
+            }
+            drained.clear();
+
+            List<Query> batch = new ArrayList<>();
+            for (List<Query> group : bySource.values()) {
+                for (Query query : group) {
+                    batch.add(query);
+                    if (batch.size() == options.getMaxBatchSize()) {
+                        dispatch(batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+            }
+            if (!batch.isEmpty())
+                dispatch(batch);
+        }
+    }
+
+    /**
+     * Hands a batch to a virtual thread, waiting while maxConcurrency batches are running.
+     */
+    private void dispatch(List<Query> batch) {
+        running.acquireUninterruptibly();
+        workers.execute(() -> {
+            long start = System.nanoTime();
+            lock.readLock().lock();
+            try {
+                runBatch(batch);
+            } finally {
+                lock.readLock().unlock();
+                running.release();
+                batchLatency.record(System.nanoTime() - start);
+                batches.increment();
+                queries.add(batch.size());
+                largestBatch.accumulate(batch.size());
+                pending.release(batch.size());
+            }
+        });
+    }
+
+    /**
+     * Answers the queries of a batch, which come grouped by source.
+     */
+    private void runBatch(List<Query> batch) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int from = 0;
+        while (from < batch.size()) {
+            Object source = batch.get(from).source();
+            int to = from;
+            while (to < batch.size() && Objects.equals(batch.get(to).source(), source))
+                to++;
+            List<Query> group = batch.subList(from, to);
+            try {
+                runGroup(ints, source, group);
+            } catch (RuntimeException e) {
+                for (Query query : group)
+                    query.future().completeExceptionally(e);
+            }
+            from = to;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runGroup(IntGraph<E> ints, Object source, List<Query> group) {
+        int src = source == null ? -1 : ints.idOf((E) source);
+        Map<Integer, Double> weights = null;
+        List<E> neighbors = null;
+        double[] distances = null;
+        int[] hops = null;
+        List<E> order = null;
+        for (Query query : group) {
+            CompletableFuture<Object> future = query.future();
+            int dest = query.target() == null ? -1 : ints.idOf((E) query.target());
+            if (query.kind() == Kind.ARC_WEIGHT) {
+                if (src == -1 || dest == -1 || !ints.isWeighted()) {
+                    future.complete(null);
+                    continue;
+                }
+                if (group.size() == 1) {
+                    double weight = ints.arcWeight(src, dest);
+                    future.complete(Double.isNaN(weight) ? null : weight);
+                    continue;
+                }
+                if (weights == null) {
+                    Map<Integer, Double> scanned = new HashMap<>();
+                    ints.forEachNeighbor(src, scanned::put);
+                    weights = scanned;
+                }
+                future.complete(weights.get(dest));
+                continue;
+            }
+            if (src == -1 || (dest == -1 && query.target() != null)) {
+                future.completeExceptionally(new IllegalArgumentException("El vértice no existe en el grafo."));
+                continue;
+            }
+            switch (query.kind()) {
+                case NEIGHBORS -> {
+                    if (neighbors == null) {
+                        List<E> keys = new ArrayList<>(ints.degree(src));
+                        ints.forEachNeighbor(src, (next, weight) -> keys.add(ints.keyOf(next)));
+                        neighbors = Collections.unmodifiableList(keys);
+                    }
+                    future.complete(neighbors);
+                }
+                case SHORTEST_DISTANCE -> {
+                    if (distances == null)
+                        distances = GraphQueries.shortestDistances(ints, src);
+                    future.complete(distances[dest] == Double.POSITIVE_INFINITY ? null : distances[dest]);
+                }
+                case REACHABLE -> {
+                    if (hops == null)
+                        hops = MultiSourceBFS.distances(ints, new int[]{src}, -1)[0];
+                    future.complete(hops[dest] != -1);
+                }
+                case BFS -> {
+                    if (order == null) {
+                        List<E> keys = new ArrayList<>();
+                        MultiSourceBFS.traverse(ints, new int[]{src}, -1, (s, v, h) -> keys.add(ints.keyOf(v)));
+                        order = Collections.unmodifiableList(keys);
+                    }
+                    future.complete(order);
+                }
+                default -> throw new IllegalStateException("Unexpected query " + query.kind());
+            }
+        }
+    }
+
+    /**
+     * Gets the counters of the batches run so far.
+     * @return a snapshot of the counters.
+     */
+    public AsyncStats getStats() {
+        return new AsyncStats(queries.sum(), batches.sum(), largestBatch.get(), backpressureWaits.sum(),
+                batchLatency.percentile(50), batchLatency.percentile(99));
+    }
+
+    /**
+     * @return the histogram of the time each batch took to run.
+     */
+    public LatencyHistogram getBatchLatency() {
+        return batchLatency;
+    }
+
+    /**
+     * Stops accepting queries, answers the ones already queued and waits for every batch to finish.
+     */
+    @Override
+    public void close() {
+        synchronized (closeLock) {
+            if (closed)
+                return;
+            closed = true;
+            queue.add(new Query(Kind.STOP, null, null, null));
+        }
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.close();
+        for (Query query : queue) {
+            if (query.future() != null)
+                query.future().completeExceptionally(new IllegalStateException("The async graph is closed"));
+        }
+        queue.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package TheGraph;
+
+/**
+ * Settings of an AsyncGraph.
+ * Instances are immutable, every with method returns a modified copy.
+ */
+public final class AsyncOptions {
+    private final int maxConcurrency;
+    private final int maxPending;
+    private final int maxBatchSize;
+    private final long lingerMicros;
+
+    private AsyncOptions(int maxConcurrency, int maxPending, int maxBatchSize, long lingerMicros) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxPending = maxPending;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMicros = lingerMicros;
+    }
+
+    /**
+     * Gets the default options: 64 batches running at once, 65 536 pending queries,
+     * batches of up to 256 queries and no linger time.
+     * @return the default options.
+     */
+    public static AsyncOptions defaults() {
+        return new AsyncOptions(64, 65_536, 256, 0);
+    }
+
+    /**
+     * @param maxConcurrency the most batches running at the same time.
+     * @return a copy of these options with the given concurrency.
+     */
+    public AsyncOptions withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0)
+            throw new IllegalArgumentException("maxConcurrency <= 0");
+        return new AsyncOptions(maxConcurrency, maxPending, maxBatchSize, lingerMicros);
+    }
+
+    /**
+     * @param maxPending the most queries submitted and not yet answered; callers block beyond it.
+     * @return a copy of these options with the given limit.
+     */
+    public AsyncOptions withMaxPending(int maxPending) {
+        if (maxPending <= 0)
+            throw new IllegalArgumentException("maxPending <= 0");
+        return new AsyncOptions(maxConcurrency, maxPending, maxBatchSize, lingerMicros);
+    }
+
+    /**
+     * @param maxBatchSize the most queries run by one batch.
+     * @return a copy of these options with the given batch size.
+     */
+    public AsyncOptions withMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("maxBatchSize <= 0");
+        return new AsyncOptions(maxConcurrency, maxPending, maxBatchSize, lingerMicros);
+    }
+
+    /**
+     * @param lingerMicros the time the dispatcher waits after the first query of a batch for others to join it.
+     * @return a copy of these options with the given linger time.
+     */
+    public AsyncOptions withLingerMicros(long lingerMicros) {
+        if (lingerMicros < 0)
+            throw new IllegalArgumentException("lingerMicros < 0");
+        return new AsyncOptions(maxConcurrency, maxPending, maxBatchSize, lingerMicros);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getLingerMicros() {
+        return lingerMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncOptions{" +
+                "maxConcurrency=" + maxConcurrency +
+                ", maxPending=" + maxPending +
+                ", maxBatchSize=" + maxBatchSize +
+                ", lingerMicros=" + lingerMicros +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package TheGraph;
+
+/**
+ * Point-in-time counters of an AsyncGraph.
+ */
+public final class AsyncStats {
+    private final long queries;
+    private final long batches;
+    private final long largestBatch;
+    private final long backpressureWaits;
+    private final long p50BatchNanos;
+    private final long p99BatchNanos;
+
+    AsyncStats(long queries, long batches, long largestBatch, long backpressureWaits,
+               long p50BatchNanos, long p99BatchNanos) {
+        this.queries = queries;
+        this.batches = batches;
+        this.largestBatch = largestBatch;
+        this.backpressureWaits = backpressureWaits;
+        this.p50BatchNanos = p50BatchNanos;
+        this.p99BatchNanos = p99BatchNanos;
+    }
+
+    /**
+     * @return the queries answered so far.
+     */
+    public long getQueries() {
+        return queries;
+    }
+
+    /**
+     * @return the batches run so far.
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the most queries run by a single batch.
+     */
+    public long getLargestBatch() {
+        return largestBatch;
+    }
+
+    /**
+     * @return the times a caller had to wait because too many queries were pending.
+     */
+    public long getBackpressureWaits() {
+        return backpressureWaits;
+    }
+
+    /**
+     * @return the median time a batch took to run.
+     */
+    public long getP50BatchNanos() {
+        return p50BatchNanos;
+    }
+
+    /**
+     * @return the 99th percentile of the time a batch took to run.
+     */
+    public long getP99BatchNanos() {
+        return p99BatchNanos;
+    }
+
+    /**
+     * Gets the average number of queries run by a batch.
+     * @return the average batch size, 0 if no batch ran yet.
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) queries / batches;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncStats{" +
+                "queries=" + queries +
+                ", batches=" + batches +
+                ", largestBatch=" + largestBatch +
+                ", backpressureWaits=" + backpressureWaits +
+                ", p50BatchNanos=" + p50BatchNanos +
+                ", p99BatchNanos=" + p99BatchNanos +
+                String.format(", averageBatchSize=%.2f", averageBatchSize()) +
+                '}';
+    }
+}
@@ -0,0 +1,321 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Betweenness centrality with Brandes' algorithm: the score of a vertex is the number of shortest
+ * directed paths between other vertices that go through it, each pair of vertices sharing one unit
+ * between its shortest paths. Pairs are ordered, so graphs built with addEdge count every path both
+ * ways; halve the scores for the undirected convention.
+ * Unweighted graphs are searched breadth-first and weighted ones with Dijkstra's algorithm, whose
+ * weights must be positive. The sources are shared out between one task per thread of the common
+ * fork/join pool, each owning its primitive arrays for distances, path counts and dependencies.
+ */
+public final class Betweenness {
+    private Betweenness() {
+    }
+
+    /**
+     * Arrays of one task, sized by the id bound of the graph and cleared after every source.
+     */
+    private static final class Scratch {
+        final double[] scores;
+        final int[] hops;
+        final double[] dist;
+        final double[] sigma;
+        final double[] delta;
+        final boolean[] settled;
+        final int[] order;
+        double[] heapKeys = new double[64];
+        int[] heapIds = new int[64];
+        int heapSize;
+
+        Scratch(int bound, boolean weighted) {
+            scores = new double[bound];
+            sigma = new double[bound];
+            delta = new double[bound];
+            order = new int[bound];
+            if (weighted) {
+                hops = null;
+                dist = new double[bound];
+                settled = new boolean[bound];
+                Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            } else {
+                hops = new int[bound];
+                dist = null;
+                settled = null;
+                Arrays.fill(hops, -1);
+            }
+        }
+
+        void push(double key, int id) {
+            if (heapSize == heapKeys.length) {
+                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+                heapIds = Arrays.copyOf(heapIds, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapKeys[parent] <= key)
+                    break;
+                heapKeys[i] = heapKeys[parent];
+                heapIds[i] = heapIds[parent];
+                i = parent;
+            }
+            heapKeys[i] = key;
+            heapIds[i] = id;
+        }
+
+        /**
+         * Removes the smallest entry of the heap; its key and id are read from slot 0 before calling.
+         */
+        void pop() {
+            double key = heapKeys[--heapSize];
+            int id = heapIds[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize)
+                    break;
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child])
+                    child++;
+                if (heapKeys[child] >= key)
+                    break;
+                heapKeys[i] = heapKeys[child];
+                heapIds[i] = heapIds[child];
+                i = child;
+            }
+            heapKeys[i] = key;
+            heapIds[i] = id;
+        }
+    }
+
+    /**
+     * Computes the exact betweenness of every vertex, with one search from each of them.
+     * @param graph the graph to be measured.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the score of every vertex.
+     */
+    public static <E> Map<E, Double> exact(Graph<E> graph) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int[] ids = VertexOrdering.current(ints);
+        return toMap(ints, ids, accumulate(ints, ids), 1);
+    }
+
+    /**
+     * Estimates the betweenness of every vertex from the searches of some sources, picked at random
+     * without repetition. The dependencies they add up are scaled by vertices / samples, which makes
+     * the estimate unbiased.
+     * @param graph the graph to be measured.
+     * @param samples the number of sources, all of them if it is not below the number of vertices.
+     * @param seed the seed of the random choice of sources.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the estimated score of every vertex.
+     */
+    public static <E> Map<E, Double> approximate(Graph<E> graph, int samples, long seed) {
+        if (samples <= 0)
+            throw new IllegalArgumentException("samples must be positive: " + samples);
+        IntGraph<E> ints = graph.asIntGraph();
+        int[] ids = VertexOrdering.current(ints);
+        if (samples >= ids.length)
+            return toMap(ints, ids, accumulate(ints, ids), 1);
+        int[] sources = ids.clone();
+        Random random = new Random(seed);
+        for (int i = 0; i < samples; i++) {
+            int j = i + random.nextInt(sources.length - i);
+            int swap = sources[i];
+            sources[i] = sources[j];
+            sources[j] = swap;
+        }
+        sources = Arrays.copyOf(sources, samples);
+        return toMap(ints, ids, accumulate(ints, sources), (double) ids.length / samples);
+    }
+
+    /**
+     * Estimates the betweenness of every vertex with enough sources for an error bound, see samplesFor.
+     * @param graph the graph to be measured.
+     * @param epsilon the largest error allowed, as a fraction of vertices * (vertices - 1).
+     * @param delta the probability allowed of any score missing the bound.
+     * @param seed the seed of the random choice of sources.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the estimated score of every vertex.
+     */
+    public static <E> Map<E, Double> approximate(Graph<E> graph, double epsilon, double delta, long seed) {
+        return approximate(graph, samplesFor(graph.vertexCount(), epsilon, delta), seed);
+    }
+
+    /**
+     * Gets the number of sampled sources that keeps every estimated score within
+     * epsilon * vertices * (vertices - 1) of the exact one with probability 1 - delta.
+     * One source adds at most vertices - 2 to a score, so Hoeffding's inequality with a union bound
+     * over the vertices asks for ln(2 * vertices / delta) / (2 * epsilon^2) sources.
+     * @param vertices the number of vertices of the graph.
+     * @param epsilon the largest error allowed, between 0 and 1.
+     * @param delta the probability allowed of any score missing the bound, between 0 and 1.
+     * @return the number of sources, at least 1.
+     */
+    public static int samplesFor(int vertices, double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1))
+            throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+        double samples = Math.ceil(Math.log(2.0 * Math.max(1, vertices) / delta) / (2 * epsilon * epsilon));
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, samples));
+    }
+
+    /**
+     * Runs Brandes' algorithm from every source in parallel and adds up the dependencies.
+     * The arcs are copied first into flat arrays shared by every task, so the searches don't go
+     * through the iterators of the graph. Each task takes the next source from a shared counter until
+     * none are left, so its arrays are dropped with it once the call returns.
+     * @return the scores indexed by vertex id.
+     */
+    private static <E> double[] accumulate(IntGraph<E> ints, int[] sources) {
+        int bound = ints.idBound();
+        boolean weighted = ints.isWeighted();
+        int[] offsets = new int[bound + 1];
+        for (int id = 0; id < bound; id++)
+            offsets[id + 1] = offsets[id] + (ints.keyOf(id) == null ? 0 : ints.degree(id));
+        int[] targets = new int[offsets[bound]];
+        double[] weights = weighted ? new double[offsets[bound]] : null;
+        for (int id = 0; id < bound; id++) {
+            if (ints.keyOf(id) == null)
+                continue;
+            int[] fill = {offsets[id]};
+            ints.forEachNeighbor(id, (dest, weight) -> {
+                targets[fill[0]] = dest;
+                if (weights != null)
+                    weights[fill[0]] = weight;
+                fill[0]++;
+            });
+        }
+
+        int tasks = Math.max(1, Math.min(sources.length, ForkJoinPool.getCommonPoolParallelism()));
+        Scratch[] scratches = new Scratch[tasks];
+        AtomicInteger next = new AtomicInteger();
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            Scratch scratch = new Scratch(bound, weighted);
+            scratches[task] = scratch;
+            for (int i = next.getAndIncrement(); i < sources.length; i = next.getAndIncrement()) {
+                if (weighted)
+                    weightedSource(offsets, targets, weights, sources[i], scratch);
+                else
+                    unweightedSource(offsets, targets, sources[i], scratch);
+            }
+        });
+        double[] scores = new double[bound];
+        for (Scratch scratch : scratches) {
+            for (int id = 0; id < bound; id++)
+                scores[id] += scratch.scores[id];
+        }
+        return scores;
+    }
+
+    private static void unweightedSource(int[] offsets, int[] targets, int source, Scratch s) {
+        int[] hops = s.hops;
+        double[] sigma = s.sigma;
+        double[] delta = s.delta;
+        int[] order = s.order;
+        hops[source] = 0;
+        sigma[source] = 1;
+        order[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int v = order[head++];
+            int next = hops[v] + 1;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (hops[w] == -1) {
+                    hops[w] = next;
+                    order[tail++] = w;
+                }
+                if (hops[w] == next)
+                    sigma[w] += sigma[v];
+            }
+        }
+        for (int i = tail - 1; i >= 0; i--) {
+            int v = order[i];
+            int next = hops[v] + 1;
+            double dependency = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (hops[w] == next)
+                    dependency += (1 + delta[w]) / sigma[w];
+            }
+            delta[v] = sigma[v] * dependency;
+            if (v != source)
+                s.scores[v] += delta[v];
+        }
+        for (int i = 0; i < tail; i++) {
+            int v = order[i];
+            hops[v] = -1;
+            sigma[v] = 0;
+            delta[v] = 0;
+        }
+    }
+
+    private static void weightedSource(int[] offsets, int[] targets, double[] weights, int source, Scratch s) {
+        double[] dist = s.dist;
+        double[] sigma = s.sigma;
+        double[] delta = s.delta;
+        boolean[] settled = s.settled;
+        int[] order = s.order;
+        dist[source] = 0;
+        sigma[source] = 1;
+        s.push(0, source);
+        int settledCount = 0;
+        while (s.heapSize > 0) {
+            double d = s.heapKeys[0];
+            int v = s.heapIds[0];
+            s.pop();
+            if (settled[v] || d > dist[v])
+                continue;
+            settled[v] = true;
+            order[settledCount++] = v;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (settled[w])
+                    continue;
+                double candidate = d + weights[e];
+                if (candidate < dist[w]) {
+                    dist[w] = candidate;
+                    sigma[w] = sigma[v];
+                    s.push(candidate, w);
+                } else if (candidate == dist[w]) {
+                    sigma[w] += sigma[v];
+                }
+            }
+        }
+        for (int i = settledCount - 1; i >= 0; i--) {
+            int v = order[i];
+            double dependency = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (w != v && dist[w] == dist[v] + weights[e])
+                    dependency += (1 + delta[w]) / sigma[w];
+            }
+            delta[v] = sigma[v] * dependency;
+            if (v != source)
+                s.scores[v] += delta[v];
+        }
+        for (int i = 0; i < settledCount; i++) {
+            int v = order[i];
+            dist[v] = Double.POSITIVE_INFINITY;
+            settled[v] = false;
+            sigma[v] = 0;
+            delta[v] = 0;
+        }
+    }
+
+    private static <E> Map<E, Double> toMap(IntGraph<E> ints, int[] ids, double[] scores, double scale) {
+        Map<E, Double> result = new LinkedHashMap<>();
+        for (int id : ids)
+            result.put(ints.keyOf(id), scores[id] * scale);
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package TheGraph;
+
+import java.util.Objects;
+
+/**
+ * Consecutive changes of a ChangeFeedGraph, read in place from its ring buffer.
+ * Each change is the mutation that succeeded, with the arguments it was called with:
+ * ADD_VERTEX and REMOVE_VERTEX have a source and no target, and removing a vertex also removes its arcs.
+ * Edge changes are reported once and affect the arcs both ways. The weight is NaN when none was given.
+ * A listener gets the same instance on every call, pointing at different changes.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public final class ChangeBatch<E> {
+    private final GraphOperation[] operations;
+    private final Object[] sources;
+    private final Object[] targets;
+    private final double[] weights;
+    private final int mask;
+    private long first;
+    private int size;
+
+    ChangeBatch(GraphOperation[] operations, Object[] sources, Object[] targets, double[] weights) {
+        this.operations = operations;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.mask = operations.length - 1;
+    }
+
+    /**
+     * Points the batch at other changes.
+     */
+    void reset(long first, int size) {
+        this.first = first;
+        this.size = size;
+    }
+
+    /**
+     * @return the number of changes in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the sequence number of a change. Changes are numbered from 0 in the order they were made.
+     * @param i the position of the change in the batch.
+     * @return the sequence number.
+     */
+    public long sequence(int i) {
+        return first + Objects.checkIndex(i, size);
+    }
+
+    /**
+     * @param i the position of the change in the batch.
+     * @return the mutation made.
+     */
+    public GraphOperation operation(int i) {
+        return operations[slot(i)];
+    }
+
+    /**
+     * @param i the position of the change in the batch.
+     * @return the vertex added or removed, or the source of the arc or edge.
+     */
+    @SuppressWarnings("unchecked")
+    public E source(int i) {
+        return (E) sources[slot(i)];
+    }
+
+    /**
+     * @param i the position of the change in the batch.
+     * @return the destination of the arc or edge, null for vertex changes.
+     */
+    @SuppressWarnings("unchecked")
+    public E target(int i) {
+        return (E) targets[slot(i)];
+    }
+
+    /**
+     * @param i the position of the change in the batch.
+     * @return the weight given, NaN if the mutation had none.
+     */
+    public double weight(int i) {
+        return weights[slot(i)];
+    }
+
+    private int slot(int i) {
+        return (int) (first + Objects.checkIndex(i, size)) & mask;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ChangeBatch{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(sequence(i)).append(' ').append(operation(i)).append(' ').append(source(i));
+            if (target(i) != null)
+                sb.append("->").append(target(i));
+            if (!Double.isNaN(weight(i)))
+                sb.append(" w=").append(weight(i));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,423 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Graph that publishes every successful mutation to its subscribed listeners, so indexes and caches
+ * kept outside the graph can follow it without polling.
+ * Changes are written into a ring buffer of preallocated slots, so publishing doesn't allocate, and
+ * each listener reads them from its own virtual thread in batches of up to maxBatchSize, waiting up
+ * to the linger time for a batch to fill. Every listener sees every change made after it subscribed,
+ * in the order the mutations were made. Once the slowest listener is bufferCapacity changes behind,
+ * mutations block until it catches up.
+ * Mutations are serialized on this object, reads go straight to the wrapped graph. Listeners must
+ * not mutate the graph through this object, since a full buffer would wait for them forever.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class ChangeFeedGraph<E> extends ForwardingGraph<E> implements AutoCloseable {
+    /**
+     * Handle of a subscribed listener.
+     */
+    public interface Subscription extends AutoCloseable {
+        /**
+         * Delivers the changes published so far and stops the listener.
+         */
+        @Override
+        void close();
+    }
+
+    private final ChangeFeedOptions options;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final int mask;
+    private final GraphOperation[] operations;
+    private final Object[] sources;
+    private final Object[] targets;
+    private final double[] weights;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Condition space = lock.newCondition();
+    private Subscriber<?>[] subscribers = new Subscriber<?>[0];
+    private long published;
+    private boolean closed;
+
+    private long batches;
+    private long delivered;
+    private long largestBatch;
+    private long backpressureWaits;
+    private long listenerFailures;
+
+    /**
+     * Constructor for ChangeFeedGraph class with the default options.
+     * @param graph the graph to be wrapped.
+     */
+    public ChangeFeedGraph(Graph<E> graph) {
+        this(graph, ChangeFeedOptions.defaults());
+    }
+
+    /**
+     * Constructor for ChangeFeedGraph class.
+     * @param graph the graph to be wrapped.
+     * @param options the buffer and batching settings.
+     */
+    public ChangeFeedGraph(Graph<E> graph, ChangeFeedOptions options) {
+        super(graph);
+        this.options = options;
+        this.maxBatchSize = options.getMaxBatchSize();
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(options.getLingerMicros());
+        int capacity = Integer.highestOneBit(options.getBufferCapacity() - 1) << 1;
+        capacity = Math.max(1, capacity);
+        this.mask = capacity - 1;
+        this.operations = new GraphOperation[capacity];
+        this.sources = new Object[capacity];
+        this.targets = new Object[capacity];
+        this.weights = new double[capacity];
+    }
+
+    /**
+     * Subscribes a listener to the changes made from now on.
+     * @param listener receives the batches of changes.
+     * @return the handle that unsubscribes the listener.
+     * @throws IllegalStateException if the feed is closed.
+     */
+    public Subscription subscribe(ChangeListener<E> listener) {
+        if (listener == null)
+            throw new NullPointerException("listener");
+        lock.lock();
+        try {
+            if (closed)
+                throw new IllegalStateException("The change feed is closed");
+            Subscriber<E> subscriber = new Subscriber<>(this, listener, published);
+            subscribers = Arrays.copyOf(subscribers, subscribers.length + 1);
+            subscribers[subscribers.length - 1] = subscriber;
+            subscriber.thread = Thread.ofVirtual().name("graph-change-feed").start(() -> deliverLoop(subscriber));
+            return subscriber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.addVertex(obj))
+                return false;
+            publish(GraphOperation.ADD_VERTEX, obj, null, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.addEdge(src, dest))
+                return false;
+            publish(GraphOperation.ADD_EDGE, src, dest, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.addEdge(src, dest, weight))
+                return false;
+            publish(GraphOperation.ADD_EDGE, src, dest, weight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.addArc(src, dest))
+                return false;
+            publish(GraphOperation.ADD_ARC, src, dest, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.addArc(src, dest, weight))
+                return false;
+            publish(GraphOperation.ADD_ARC, src, dest, weight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.removeVertex(obj))
+                return false;
+            publish(GraphOperation.REMOVE_VERTEX, obj, null, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.removeArc(src, dest))
+                return false;
+            publish(GraphOperation.REMOVE_ARC, src, dest, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.removeEdge(src, dest))
+                return false;
+            publish(GraphOperation.REMOVE_EDGE, src, dest, Double.NaN);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.updateArc(src, dest, weight))
+                return false;
+            publish(GraphOperation.UPDATE_ARC, src, dest, weight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        lock.lock();
+        try {
+            awaitSpace();
+            if (!delegate.updateEdge(src, dest, weight))
+                return false;
+            publish(GraphOperation.UPDATE_EDGE, src, dest, weight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the buffer has a free slot. Called before the mutation, so the lock is held from
+     * the mutation to its publication and changes come out in the order they were made.
+     */
+    private void awaitSpace() {
+        if (published - slowestCursor() <= mask)
+            return;
+        backpressureWaits++;
+        while (published - slowestCursor() > mask)
+            space.awaitUninterruptibly();
+    }
+
+    private long slowestCursor() {
+        long slowest = published;
+        for (Subscriber<?> subscriber : subscribers)
+            slowest = Math.min(slowest, subscriber.cursor);
+        return slowest;
+    }
+
+    /**
+     * Writes a change into the next slot and wakes the listeners that were idle or now have a full batch.
+     */
+    private void publish(GraphOperation operation, E src, E dest, double weight) {
+        int slot = (int) published & mask;
+        operations[slot] = operation;
+        sources[slot] = src;
+        targets[slot] = dest;
+        weights[slot] = weight;
+        published++;
+        for (Subscriber<?> subscriber : subscribers) {
+            long backlog = published - subscriber.cursor;
+            if (backlog == 1 || backlog == maxBatchSize) {
+                available.signalAll();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Body of a listener's thread: waits for changes, lingers for a full batch, and hands the batch
+     * to the listener without holding the lock.
+     */
+    private void deliverLoop(Subscriber<E> subscriber) {
+        lock.lock();
+        try {
+            while (true) {
+                while (subscriber.cursor == published && subscriber.cursor < subscriber.end)
+                    available.awaitUninterruptibly();
+                if (subscriber.cursor >= subscriber.end)
+                    return;
+                long remaining = lingerNanos;
+                while (remaining > 0 && published - subscriber.cursor < maxBatchSize
+                        && subscriber.end == Long.MAX_VALUE) {
+                    try {
+                        remaining = available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        remaining = 0;
+                    }
+                }
+                long first = subscriber.cursor;
+                int size = (int) Math.min(maxBatchSize, Math.min(published, subscriber.end) - first);
+                subscriber.batch.reset(first, size);
+                boolean failed = false;
+                lock.unlock();
+                try {
+                    subscriber.listener.onChanges(subscriber.batch);
+                } catch (RuntimeException e) {
+                    failed = true;
+                } finally {
+                    lock.lock();
+                }
+                subscriber.cursor = first + size;
+                batches++;
+                delivered += size;
+                largestBatch = Math.max(largestBatch, size);
+                if (failed)
+                    listenerFailures++;
+                space.signalAll();
+            }
+        } finally {
+            remove(subscriber);
+            space.signalAll();
+            lock.unlock();
+        }
+    }
+
+    private void remove(Subscriber<E> subscriber) {
+        Subscriber<?>[] remaining = new Subscriber<?>[subscribers.length - 1];
+        int count = 0;
+        for (Subscriber<?> other : subscribers) {
+            if (other != subscriber)
+                remaining[count++] = other;
+        }
+        subscribers = remaining;
+    }
+
+    /**
+     * Gets the counters of the changes published and delivered so far.
+     * @return a snapshot of the counters.
+     */
+    public ChangeFeedStats getStats() {
+        lock.lock();
+        try {
+            return new ChangeFeedStats(published, batches, delivered, largestBatch, backpressureWaits,
+                    listenerFailures, subscribers.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the settings of this feed.
+     */
+    public ChangeFeedOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Delivers the changes published so far to every listener and stops them. The graph can still be
+     * mutated afterwards, but nothing else is published.
+     */
+    @Override
+    public void close() {
+        Subscriber<?>[] open;
+        lock.lock();
+        try {
+            closed = true;
+            open = subscribers;
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber<?> subscriber : open)
+            subscriber.close();
+    }
+
+    /**
+     * Stops a listener after the changes published so far, waiting for its thread unless called from it.
+     */
+    private void unsubscribe(Subscriber<E> subscriber) {
+        lock.lock();
+        try {
+            if (subscriber.end == Long.MAX_VALUE)
+                subscriber.end = published;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (Thread.currentThread() == subscriber.thread)
+            return;
+        try {
+            subscriber.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A listener with its position in the buffer, guarded by the lock of its feed.
+     */
+    private static final class Subscriber<E> implements Subscription {
+        private final ChangeFeedGraph<E> feed;
+        private final ChangeListener<E> listener;
+        private final ChangeBatch<E> batch;
+        private long cursor;
+        private long end = Long.MAX_VALUE;
+        private Thread thread;
+
+        Subscriber(ChangeFeedGraph<E> feed, ChangeListener<E> listener, long cursor) {
+            this.feed = feed;
+            this.listener = listener;
+            this.batch = new ChangeBatch<>(feed.operations, feed.sources, feed.targets, feed.weights);
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void close() {
+            feed.unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package TheGraph;
+
+/**
+ * Settings of a ChangeFeedGraph.
+ * Instances are immutable, every with method returns a modified copy.
+ */
+public final class ChangeFeedOptions {
+    private final int bufferCapacity;
+    private final int maxBatchSize;
+    private final long lingerMicros;
+
+    private ChangeFeedOptions(int bufferCapacity, int maxBatchSize, long lingerMicros) {
+        this.bufferCapacity = bufferCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMicros = lingerMicros;
+    }
+
+    /**
+     * Gets the default options: a buffer of 8 192 changes, batches of up to 512 changes and no linger time.
+     * @return the default options.
+     */
+    public static ChangeFeedOptions defaults() {
+        return new ChangeFeedOptions(8192, 512, 0);
+    }
+
+    /**
+     * @param bufferCapacity the most changes published and not yet delivered to every listener; mutations
+     *                       block beyond it. It is rounded up to a power of two.
+     * @return a copy of these options with the given capacity.
+     */
+    public ChangeFeedOptions withBufferCapacity(int bufferCapacity) {
+        if (bufferCapacity <= 0 || bufferCapacity > 1 << 30)
+            throw new IllegalArgumentException("bufferCapacity must be between 1 and 2^30");
+        return new ChangeFeedOptions(bufferCapacity, maxBatchSize, lingerMicros);
+    }
+
+    /**
+     * @param maxBatchSize the most changes handed to a listener in one call.
+     * @return a copy of these options with the given batch size.
+     */
+    public ChangeFeedOptions withMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("maxBatchSize <= 0");
+        return new ChangeFeedOptions(bufferCapacity, maxBatchSize, lingerMicros);
+    }
+
+    /**
+     * @param lingerMicros the time a listener's thread waits after the first pending change for a full batch.
+     * @return a copy of these options with the given linger time.
+     */
+    public ChangeFeedOptions withLingerMicros(long lingerMicros) {
+        if (lingerMicros < 0)
+            throw new IllegalArgumentException("lingerMicros < 0");
+        return new ChangeFeedOptions(bufferCapacity, maxBatchSize, lingerMicros);
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getLingerMicros() {
+        return lingerMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFeedOptions{" +
+                "bufferCapacity=" + bufferCapacity +
+                ", maxBatchSize=" + maxBatchSize +
+                ", lingerMicros=" + lingerMicros +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package TheGraph;
+
+/**
+ * Point-in-time counters of a ChangeFeedGraph.
+ */
+public final class ChangeFeedStats {
+    private final long published;
+    private final long batches;
+    private final long delivered;
+    private final long largestBatch;
+    private final long backpressureWaits;
+    private final long listenerFailures;
+    private final int subscribers;
+
+    ChangeFeedStats(long published, long batches, long delivered, long largestBatch, long backpressureWaits,
+                    long listenerFailures, int subscribers) {
+        this.published = published;
+        this.batches = batches;
+        this.delivered = delivered;
+        this.largestBatch = largestBatch;
+        this.backpressureWaits = backpressureWaits;
+        this.listenerFailures = listenerFailures;
+        this.subscribers = subscribers;
+    }
+
+    /**
+     * @return the changes published so far.
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * @return the batches handed to listeners so far, adding up every listener.
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the changes handed to listeners so far, adding up every listener.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * @return the most changes handed to a listener in a single batch.
+     */
+    public long getLargestBatch() {
+        return largestBatch;
+    }
+
+    /**
+     * @return the times a mutation had to wait because the buffer was full.
+     */
+    public long getBackpressureWaits() {
+        return backpressureWaits;
+    }
+
+    /**
+     * @return the batches whose listener threw an exception.
+     */
+    public long getListenerFailures() {
+        return listenerFailures;
+    }
+
+    /**
+     * @return the listeners subscribed right now.
+     */
+    public int getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * Gets the average number of changes in a batch.
+     * @return the average batch size, 0 if no batch was delivered yet.
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) delivered / batches;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFeedStats{" +
+                "published=" + published +
+                ", batches=" + batches +
+                ", delivered=" + delivered +
+                ", largestBatch=" + largestBatch +
+                ", backpressureWaits=" + backpressureWaits +
+                ", listenerFailures=" + listenerFailures +
+                ", subscribers=" + subscribers +
+                String.format(", averageBatchSize=%.2f", averageBatchSize()) +
+                '}';
+    }
+}
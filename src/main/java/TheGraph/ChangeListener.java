@@ -0,0 +1,16 @@
+package TheGraph;
+
+/**
+ * Receives the changes published by a ChangeFeedGraph, in batches and in the order they were made.
+ * Each listener is called from its own thread, one batch at a time.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+@FunctionalInterface
+public interface ChangeListener<E> {
+    /**
+     * Handles a batch of changes. The batch is only valid during the call: its slots are reused
+     * for later changes once it returns, so anything kept must be copied out.
+     * @param changes the changes, never empty.
+     */
+    void onChanges(ChangeBatch<E> changes);
+}
@@ -0,0 +1,80 @@
+package TheGraph;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a community detection: the community of every vertex and the modularity of the partition.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public final class Communities<E> {
+    /**
+     * Counters of one level of the Louvain method: local moving followed by aggregation.
+     * @param communities the communities left at the end of the level.
+     * @param modularity the modularity of the partition at the end of the level.
+     * @param passes the local moving passes over every vertex.
+     * @param moves the vertices that changed community, added over every pass.
+     * @param elapsedNanos the time the level took, aggregation included.
+     */
+    public record Level(int communities, double modularity, int passes, long moves, long elapsedNanos) {
+    }
+
+    private final Map<E, Integer> communityOf;
+    private final int count;
+    private final double modularity;
+    private final List<Level> levels;
+
+    Communities(Map<E, Integer> communityOf, int count, double modularity, List<Level> levels) {
+        this.communityOf = Collections.unmodifiableMap(communityOf);
+        this.count = count;
+        this.modularity = modularity;
+        this.levels = Collections.unmodifiableList(levels);
+    }
+
+    /**
+     * @return the community of every vertex, numbered from 0.
+     */
+    public Map<E, Integer> getCommunityOf() {
+        return communityOf;
+    }
+
+    /**
+     * Gets the community of a vertex.
+     * @param vtx the element in the vertex.
+     * @return the community, -1 if the vertex wasn't in the graph.
+     */
+    public int communityOf(E vtx) {
+        return communityOf.getOrDefault(vtx, -1);
+    }
+
+    /**
+     * @return the number of communities.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return the modularity of the partition over the original graph.
+     */
+    public double getModularity() {
+        return modularity;
+    }
+
+    /**
+     * @return the counters of every level, in order.
+     */
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    @Override
+    public String toString() {
+        return "Communities{" +
+                "count=" + count +
+                String.format(", modularity=%.4f", modularity) +
+                ", levels=" + levels +
+                '}';
+    }
+}
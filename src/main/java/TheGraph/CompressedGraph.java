@@ -0,0 +1,587 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+/**
+ * Read-only graph with compressed adjacency lists, built from another graph.
+ * The neighbour ids of each vertex are sorted and stored in one byte array as variable-length codes
+ * (7 bits per byte, the high bit marks that another byte follows):
+ * [degree][number of intervals][intervals][residuals]. Runs of at least MIN_INTERVAL consecutive ids
+ * are stored as intervals (gap from the previous interval, length), the remaining ids as residuals
+ * coded as the gap from the previous one; the first id of each part is coded relative to the vertex
+ * id itself, so the gaps stay small on graphs whose linked vertices have close ids (see VertexOrdering).
+ * Weights, if any, are kept uncompressed in decoding order. Neighbours are decoded on the fly, so
+ * lookups cost a scan of the list and traversals a few byte operations per arc.
+ * Every mutator throws UnsupportedOperationException.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class CompressedGraph<E> extends Graph<E> implements Traversable<E> {
+    /**
+     * Shortest run of consecutive ids stored as an interval.
+     */
+    public static final int MIN_INTERVAL = 3;
+
+    private final VertexDictionary<E> dictionary;
+    private final byte[] data;
+    private final int[] offsets;
+    private final long[] arcStarts;
+    private final double[] weights;
+    private final long arcCount;
+
+    /**
+     * Constructor for CompressedGraph class. It copies the vertices in id order and compresses their arcs.
+     * @param source the graph to be compressed, it is not modified.
+     */
+    public CompressedGraph(Graph<E> source) {
+        super(source.isWeighted);
+        IntGraph<E> ints = source.asIntGraph();
+        int[] order = VertexOrdering.current(ints);
+        int n = order.length;
+        int[] newId = new int[ints.idBound()];
+        this.dictionary = new VertexDictionary<>();
+        for (int i = 0; i < n; i++) {
+            newId[order[i]] = i;
+            dictionary.add(ints.keyOf(order[i]));
+        }
+
+        ByteWriter out = new ByteWriter();
+        this.offsets = new int[n + 1];
+        this.arcStarts = new long[n + 1];
+        double[] weightBuffer = isWeighted ? new double[16] : null;
+        long arcs = 0;
+        int[] targets = new int[16];
+        double[] arcWeights = new double[16];
+        for (int v = 0; v < n; v++) {
+            offsets[v] = out.size();
+            arcStarts[v] = arcs;
+            int degree = ints.degree(order[v]);
+            if (targets.length < degree) {
+                targets = new int[degree];
+                arcWeights = new double[degree];
+            }
+            int[] t = targets;
+            double[] w = arcWeights;
+            int[] count = {0};
+            ints.forEachNeighbor(order[v], (dest, weight) -> {
+                t[count[0]] = newId[dest];
+                w[count[0]] = weight;
+                count[0]++;
+            });
+            sortArcs(t, w, degree);
+            double[] decodingOrder = encode(out, v, t, w, degree);
+            if (isWeighted) {
+                if (weightBuffer.length < arcs + degree)
+                    weightBuffer = Arrays.copyOf(weightBuffer, (int) Math.max(arcs + degree, weightBuffer.length * 2L));
+                System.arraycopy(decodingOrder, 0, weightBuffer, (int) arcs, degree);
+            }
+            arcs += degree;
+        }
+        offsets[n] = out.size();
+        arcStarts[n] = arcs;
+        this.data = out.toArray();
+        this.weights = isWeighted ? Arrays.copyOf(weightBuffer, (int) arcs) : null;
+        this.arcCount = arcs;
+    }
+
+    // Encoding
+
+    /**
+     * Growable byte buffer writing variable-length codes.
+     */
+    private static final class ByteWriter {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void writeVarInt(int value) {
+            if (size + 5 > bytes.length)
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void sortArcs(int[] targets, double[] weights, int degree) {
+        for (int i = 1; i < degree; i++) {
+            if (targets[i - 1] <= targets[i])
+                continue;
+            // Lists that are already sorted never get here; the others are sorted with their weights.
+            long[] packed = new long[degree];
+            for (int j = 0; j < degree; j++)
+                packed[j] = ((long) targets[j] << 32) | j;
+            Arrays.sort(packed);
+            int[] sortedTargets = new int[degree];
+            double[] sortedWeights = new double[degree];
+            for (int j = 0; j < degree; j++) {
+                sortedTargets[j] = (int) (packed[j] >>> 32);
+                sortedWeights[j] = weights[(int) packed[j]];
+            }
+            System.arraycopy(sortedTargets, 0, targets, 0, degree);
+            System.arraycopy(sortedWeights, 0, weights, 0, degree);
+            return;
+        }
+    }
+
+    /**
+     * Writes the sorted neighbours of a vertex.
+     * @return the weights in the order the neighbours are decoded: intervals first, then residuals.
+     */
+    private static double[] encode(ByteWriter out, int vertex, int[] targets, double[] weights, int degree) {
+        out.writeVarInt(degree);
+        if (degree == 0)
+            return weights;
+        boolean[] inInterval = new boolean[degree];
+        int[] intervalStart = new int[degree];
+        int[] intervalLength = new int[degree];
+        int intervals = 0;
+        for (int i = 0; i < degree; ) {
+            int j = i + 1;
+            while (j < degree && targets[j] == targets[j - 1] + 1)
+                j++;
+            if (j - i >= MIN_INTERVAL) {
+                intervalStart[intervals] = i;
+                intervalLength[intervals++] = j - i;
+                for (int k = i; k < j; k++)
+                    inInterval[k] = true;
+            }
+            i = j;
+        }
+        double[] decodingOrder = new double[degree];
+        int written = 0;
+        out.writeVarInt(intervals);
+        int previousEnd = vertex;
+        for (int k = 0; k < intervals; k++) {
+            int left = targets[intervalStart[k]];
+            out.writeVarInt(k == 0 ? zigzag(left - vertex) : left - previousEnd - 2);
+            out.writeVarInt(intervalLength[k] - MIN_INTERVAL);
+            previousEnd = left + intervalLength[k] - 1;
+            for (int i = 0; i < intervalLength[k]; i++)
+                decodingOrder[written++] = weights[intervalStart[k] + i];
+        }
+        int previous = -1;
+        for (int i = 0; i < degree; i++) {
+            if (inInterval[i])
+                continue;
+            out.writeVarInt(previous == -1 ? zigzag(targets[i] - vertex) : targets[i] - previous - 1);
+            previous = targets[i];
+            decodingOrder[written++] = weights[i];
+        }
+        return decodingOrder;
+    }
+
+    // Decoding
+
+    /**
+     * Decodes the neighbours of a vertex: intervals first, then residuals, each part in increasing order.
+     */
+    private final class NeighborIterator implements PrimitiveIterator.OfInt {
+        private final int vertex;
+        private int position;
+        private int remaining;
+        private int intervalsLeft;
+        private int intervalNext;
+        private int intervalLeft;
+        private int previousEnd;
+        private boolean firstInterval = true;
+        private int previousResidual = -1;
+
+        NeighborIterator(int vertex) {
+            this.vertex = vertex;
+            this.position = offsets[vertex];
+            this.remaining = readVarInt();
+            if (remaining > 0)
+                this.intervalsLeft = readVarInt();
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (remaining == 0)
+                throw new NoSuchElementException();
+            remaining--;
+            if (intervalLeft == 0 && intervalsLeft > 0) {
+                int gap = readVarInt();
+                intervalNext = firstInterval ? vertex + unzigzag(gap) : previousEnd + 2 + gap;
+                firstInterval = false;
+                intervalLeft = readVarInt() + MIN_INTERVAL;
+                intervalsLeft--;
+            }
+            if (intervalLeft > 0) {
+                intervalLeft--;
+                previousEnd = intervalNext;
+                return intervalNext++;
+            }
+            int gap = readVarInt();
+            previousResidual = previousResidual == -1 ? vertex + unzigzag(gap) : previousResidual + 1 + gap;
+            return previousResidual;
+        }
+    }
+
+    private PrimitiveIterator.OfInt neighborsOf(int id) {
+        return new NeighborIterator(id);
+    }
+
+    /**
+     * Finds the position of the arc to a vertex in decoding order.
+     * @return the index of the arc among the arcs of src, -1 if there is no arc.
+     */
+    private int slotOf(int src, int dest) {
+        PrimitiveIterator.OfInt it = neighborsOf(src);
+        for (int slot = 0; it.hasNext(); slot++) {
+            if (it.nextInt() == dest)
+                return slot;
+        }
+        return -1;
+    }
+
+    private void checkId(int id) {
+        if (!dictionary.contains(id))
+            throw new IllegalArgumentException("No vertex with id " + id);
+    }
+
+    /**
+     * @return the number of arcs.
+     */
+    public long arcCount() {
+        return arcCount;
+    }
+
+    /**
+     * @return the bytes taken by the compressed adjacency lists and their offsets, without weights or keys.
+     */
+    public long compressedBytes() {
+        return data.length + 4L * offsets.length;
+    }
+
+    /**
+     * Gets the average size of an arc in the compressed lists, offsets included.
+     * @return the bits per arc, 0 if the graph has no arcs.
+     */
+    public double bitsPerArc() {
+        return arcCount == 0 ? 0 : compressedBytes() * 8.0 / arcCount;
+    }
+
+    /**
+     * Estimates the heap used by the graph from its arrays: the compressed lists, their offsets and
+     * the arc starts are the adjacency, the uncompressed weights are counted apart.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        long adjacency = MemoryFootprint.array(data.length, 1) + MemoryFootprint.array(offsets.length, 4)
+                + MemoryFootprint.array(arcStarts.length, 8);
+        return new MemoryFootprint(getClass().getSimpleName(), (long) dictionary.size() * bytesPerKey,
+                dictionary.footprintBytes(), adjacency, weights == null ? 0 : MemoryFootprint.array(weights.length, 8));
+    }
+
+    // Read-only
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("CompressedGraph is read-only");
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    // Queries
+
+    @Override
+    public int vertexCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Get the weight of the arc between two vertices.
+     * @param src the source vertex of the arc.
+     * @param dest the destination vertex of the arc.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or the arc doesn't exist.
+     */
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (!isWeighted || s == -1 || d == -1)
+            return null;
+        int slot = slotOf(s, d);
+        return slot == -1 ? null : weights[(int) arcStarts[s] + slot];
+    }
+
+    /**
+     * Get the weight of the edge between two vertices.
+     * @param src one vertex of the edge.
+     * @param dest the other vertex of the edge.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or there are not arcs both ways.
+     */
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        Double weight = getArcWeight(src, dest);
+        if (weight == null || getArcWeight(dest, src) == null)
+            return null;
+        return weight;
+    }
+
+    /**
+     * Establishes the route starting from src vertex in depth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void DFS(E src) {
+        int start = dictionary.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("DFS:");
+        int n = dictionary.idBound();
+        boolean[] visited = new boolean[n];
+        PrimitiveIterator.OfInt[] stack = new PrimitiveIterator.OfInt[n];
+        int top = 0;
+        stack[0] = neighborsOf(start);
+        visited[start] = true;
+        System.out.print(src + " -> ");
+        while (top >= 0) {
+            if (!stack[top].hasNext()) {
+                stack[top--] = null;
+                continue;
+            }
+            int neighbour = stack[top].nextInt();
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                System.out.print(dictionary.keyOf(neighbour) + " -> ");
+                stack[++top] = neighborsOf(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Establishes the route starting from src vertex in breadth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void BFS(E src) {
+        int start = dictionary.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("\nBFS");
+        boolean[] visited = new boolean[dictionary.idBound()];
+        int[] queue = new int[dictionary.idBound()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = true;
+        while (head < tail) {
+            int current = queue[head++];
+            System.out.print(dictionary.keyOf(current) + " -> ");
+            PrimitiveIterator.OfInt it = neighborsOf(current);
+            while (it.hasNext()) {
+                int neighbour = it.nextInt();
+                if (!visited[neighbour]) {
+                    visited[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a view of the graph that works with the ids of the vertices, decoding the lists on the fly.
+     * Its addArc methods throw UnsupportedOperationException.
+     * @return the int view, backed by this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            return dictionary.idOf(key);
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return dictionary.keyOf(id);
+        }
+
+        @Override
+        public int idBound() {
+            return dictionary.idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            return dictionary.contains(src) && slotOf(src, dest) != -1;
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            if (!dictionary.contains(src))
+                return Double.NaN;
+            int slot = slotOf(src, dest);
+            if (slot == -1)
+                return Double.NaN;
+            return isWeighted ? weights[(int) arcStarts[src] + slot] : 1.0;
+        }
+
+        @Override
+        public int degree(int id) {
+            checkId(id);
+            return (int) (arcStarts[id + 1] - arcStarts[id]);
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            checkId(id);
+            return neighborsOf(id);
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            checkId(id);
+            PrimitiveIterator.OfInt it = neighborsOf(id);
+            int arc = (int) arcStarts[id];
+            while (it.hasNext())
+                action.accept(it.nextInt(), isWeighted ? weights[arc++] : 1.0);
+        }
+    };
+
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        dictionary.forEachKey(action);
+    }
+
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        for (int v = 0; v < dictionary.idBound(); v++) {
+            E key = dictionary.keyOf(v);
+            PrimitiveIterator.OfInt it = neighborsOf(v);
+            int arc = (int) arcStarts[v];
+            while (it.hasNext()) {
+                E dest = dictionary.keyOf(it.nextInt());
+                action.accept(key, dest, isWeighted ? weights[arc++] : null);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        st.append("Lista de Adyacencia:\n");
+        for (int v = 0; v < dictionary.idBound(); v++) {
+            st.append(dictionary.keyOf(v));
+            st.append(" -> ");
+            PrimitiveIterator.OfInt it = neighborsOf(v);
+            int arc = (int) arcStarts[v];
+            while (it.hasNext()) {
+                st.append(dictionary.keyOf(it.nextInt()));
+                if (isWeighted)
+                    st.append(String.format(" (%.2f)", weights[arc++]));
+                if (it.hasNext())
+                    st.append(", ");
+            }
+            st.append("\n");
+        }
+        return st.toString();
+    }
+}
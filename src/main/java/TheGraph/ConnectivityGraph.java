@@ -0,0 +1,432 @@
+package TheGraph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Graph that keeps track of its connected components while it is mutated, so connected(E, E)
+ * doesn't need a traversal. Arcs are taken as undirected links: two vertices are connected when
+ * there is a path between them ignoring the direction of the arcs (weak connectivity).
+ * In INSERT_ONLY mode the components live in a union-find, and a removal rebuilds it on the next call.
+ * In FULLY_DYNAMIC mode every vertex carries the label of its component and a spanning forest is kept:
+ * removing a link outside the forest costs O(1), and removing a forest link searches the smaller of the
+ * two halves for a replacement link, relabelling that half if there is none. Queries compare two labels.
+ * Mutations made on the wrapped graph directly are detected with its modification counter and
+ * rebuild the structure.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class ConnectivityGraph<E> extends ForwardingGraph<E> {
+    /**
+     * How the components are maintained.
+     */
+    public enum Mode {
+        /**
+         * Union-find, for graphs that mostly grow.
+         */
+        INSERT_ONLY,
+        /**
+         * Spanning forest with replacement search, for graphs with frequent removals.
+         */
+        FULLY_DYNAMIC
+    }
+
+    private static final class Node<E> {
+        final E key;
+        Node<E> parent = this;
+        int rank;
+        int label;
+        final HashMap<Node<E>, Integer> links = new HashMap<>();
+        final HashSet<Node<E>> forest = new HashSet<>();
+
+        Node(E key) {
+            this.key = key;
+        }
+    }
+
+    private final Mode mode;
+    private final HashMap<E, Node<E>> nodes = new HashMap<>();
+    private final HashMap<Integer, Integer> labelSizes = new HashMap<>();
+    private long version;
+    private int nextLabel;
+    private int components;
+    private long rebuilds;
+    private long replacementSearches;
+
+    /**
+     * Constructor for ConnectivityGraph class. The components of the wrapped graph are computed right away.
+     * @param delegate the graph whose components are tracked.
+     * @param mode how the components are maintained.
+     */
+    public ConnectivityGraph(Graph<E> delegate, Mode mode) {
+        super(delegate);
+        this.mode = mode;
+        rebuild();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks whether two vertices are connected, ignoring the direction of the arcs.
+     * @param a the element in one vertex.
+     * @param b the element in the other vertex.
+     * @return true if there is a path between the two vertices.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public boolean connected(E a, E b) {
+        ensureFresh();
+        Node<E> x = nodeOf(a);
+        Node<E> y = nodeOf(b);
+        if (mode == Mode.INSERT_ONLY)
+            return find(x) == find(y);
+        return x.label == y.label;
+    }
+
+    /**
+     * @return the number of connected components.
+     */
+    public int componentCount() {
+        ensureFresh();
+        return components;
+    }
+
+    /**
+     * @return the number of times the structure was rebuilt from the graph, the first build included.
+     */
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * @return the number of removed forest links that needed a replacement search.
+     */
+    public long getReplacementSearches() {
+        return replacementSearches;
+    }
+
+    private Node<E> nodeOf(E key) {
+        Node<E> node = key == null ? null : nodes.get(key);
+        if (node == null)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return node;
+    }
+
+    private void ensureFresh() {
+        if (delegate.modCount() != version)
+            rebuild();
+    }
+
+    /**
+     * Recomputes the components from the wrapped graph.
+     */
+    private void rebuild() {
+        nodes.clear();
+        labelSizes.clear();
+        components = 0;
+        delegate.forEachVertex(this::vertexAdded);
+        delegate.forEachArc((src, dest, weight) -> link(src, dest));
+        version = delegate.modCount();
+        rebuilds++;
+    }
+
+    private boolean hasArc(E src, E dest) {
+        IntGraph<E> ints = delegate.asIntGraph();
+        int s = ints.idOf(src);
+        int d = ints.idOf(dest);
+        return s != -1 && d != -1 && ints.hasArc(s, d);
+    }
+
+    /**
+     * Brings the structure up to date after a call on the wrapped graph.
+     * A version of -1 marks a structure that can't follow the call and waits for a rebuild.
+     * @param stale true if the structure was already out of date before the call.
+     * @param changed true if the call changed the graph.
+     */
+    private void synced(boolean stale, boolean changed) {
+        if (stale)
+            rebuild();
+        else if (changed && version != -1)
+            version = delegate.modCount();
+    }
+
+    // Mutators
+
+    @Override
+    public boolean addVertex(E obj) {
+        boolean stale = delegate.modCount() != version;
+        boolean added = delegate.addVertex(obj);
+        if (added && !stale)
+            vertexAdded(obj);
+        synced(stale, added);
+        return added;
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        return arcsChanged(src, dest, true, () -> delegate.addEdge(src, dest));
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        return arcsChanged(src, dest, true, () -> delegate.addEdge(src, dest, weight));
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        return arcsChanged(src, dest, false, () -> delegate.addArc(src, dest));
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        return arcsChanged(src, dest, false, () -> delegate.addArc(src, dest, weight));
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        return arcsChanged(src, dest, false, () -> delegate.removeArc(src, dest));
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        return arcsChanged(src, dest, true, () -> delegate.removeEdge(src, dest));
+    }
+
+    /**
+     * Updates the weight of an arc. The links don't change, only the version follows the wrapped graph.
+     */
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        boolean stale = delegate.modCount() != version;
+        boolean updated = delegate.updateArc(src, dest, weight);
+        synced(stale, updated);
+        return updated;
+    }
+
+    /**
+     * Updates the weight of an edge. The links don't change, only the version follows the wrapped graph.
+     */
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        boolean stale = delegate.modCount() != version;
+        boolean updated = delegate.updateEdge(src, dest, weight);
+        synced(stale, updated);
+        return updated;
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        boolean stale = delegate.modCount() != version;
+        boolean removed = delegate.removeVertex(obj);
+        if (removed && !stale)
+            vertexRemoved(obj);
+        synced(stale, removed);
+        return removed;
+    }
+
+    /**
+     * Runs an arc mutation on the wrapped graph and links or unlinks the arcs it added or removed.
+     * @param both true if the mutation may touch the arc from dest to src too.
+     */
+    private boolean arcsChanged(E src, E dest, boolean both, BooleanSupplier call) {
+        boolean stale = delegate.modCount() != version;
+        boolean forward = !stale && hasArc(src, dest);
+        boolean backward = !stale && both && hasArc(dest, src);
+        boolean changed = call.getAsBoolean();
+        if (changed && !stale) {
+            arcChanged(src, dest, forward);
+            if (both)
+                arcChanged(dest, src, backward);
+        }
+        synced(stale, changed);
+        return changed;
+    }
+
+    private void arcChanged(E src, E dest, boolean before) {
+        boolean after = hasArc(src, dest);
+        if (before == after)
+            return;
+        if (after)
+            link(src, dest);
+        else
+            unlink(src, dest);
+    }
+
+    // Maintenance
+
+    private void vertexAdded(E key) {
+        Node<E> node = new Node<>(key);
+        node.label = nextLabel++;
+        labelSizes.put(node.label, 1);
+        nodes.put(key, node);
+        components++;
+    }
+
+    private void vertexRemoved(E key) {
+        Node<E> node = nodes.get(key);
+        if (mode == Mode.INSERT_ONLY) {
+            // A union-find can't split, the next query rebuilds it.
+            version = -1;
+            return;
+        }
+        for (Node<E> other : new ArrayList<>(node.links.keySet())) {
+            node.links.put(other, 1);
+            unlink(node, other);
+        }
+        nodes.remove(key);
+        labelSizes.remove(node.label);
+        components--;
+    }
+
+    private void link(E src, E dest) {
+        if (src.equals(dest))
+            return;
+        Node<E> a = nodes.get(src);
+        Node<E> b = nodes.get(dest);
+        if (mode == Mode.INSERT_ONLY) {
+            union(a, b);
+            return;
+        }
+        int count = a.links.merge(b, 1, Integer::sum);
+        b.links.put(a, count);
+        if (count > 1 || a.label == b.label)
+            return;
+        a.forest.add(b);
+        b.forest.add(a);
+        // Relabel the smaller component, so a vertex is relabelled O(log n) times while the graph grows.
+        if (labelSizes.get(a.label) < labelSizes.get(b.label))
+            relabel(a, b.label);
+        else
+            relabel(b, a.label);
+        components--;
+    }
+
+    private void unlink(E src, E dest) {
+        if (src.equals(dest))
+            return;
+        if (mode == Mode.INSERT_ONLY) {
+            version = -1;
+            return;
+        }
+        unlink(nodes.get(src), nodes.get(dest));
+    }
+
+    private void unlink(Node<E> a, Node<E> b) {
+        int count = a.links.get(b) - 1;
+        if (count > 0) {
+            a.links.put(b, count);
+            b.links.put(a, count);
+            return;
+        }
+        a.links.remove(b);
+        b.links.remove(a);
+        if (!a.forest.remove(b))
+            return;
+        b.forest.remove(a);
+        replacementSearches++;
+
+        List<Node<E>> smaller = smallerHalf(a, b);
+        HashSet<Node<E>> half = new HashSet<>(smaller);
+        for (Node<E> x : smaller) {
+            for (Node<E> y : x.links.keySet()) {
+                if (!half.contains(y)) {
+                    x.forest.add(y);
+                    y.forest.add(x);
+                    return;
+                }
+            }
+        }
+        int oldLabel = a.label;
+        int label = nextLabel++;
+        for (Node<E> x : smaller)
+            x.label = label;
+        labelSizes.put(label, smaller.size());
+        labelSizes.merge(oldLabel, -smaller.size(), Integer::sum);
+        components++;
+    }
+
+    /**
+     * Walks the two trees left by a removed forest link in lockstep and stops as soon as one is exhausted,
+     * so the cost is bounded by the size of the smaller one.
+     * @return the vertices of the smaller tree.
+     */
+    private List<Node<E>> smallerHalf(Node<E> a, Node<E> b) {
+        List<Node<E>> seenA = new ArrayList<>();
+        List<Node<E>> seenB = new ArrayList<>();
+        HashSet<Node<E>> visitedA = new HashSet<>();
+        HashSet<Node<E>> visitedB = new HashSet<>();
+        ArrayDeque<Node<E>> queueA = new ArrayDeque<>();
+        ArrayDeque<Node<E>> queueB = new ArrayDeque<>();
+        visit(a, seenA, visitedA, queueA);
+        visit(b, seenB, visitedB, queueB);
+        while (true) {
+            if (queueA.isEmpty())
+                return seenA;
+            if (queueB.isEmpty())
+                return seenB;
+            for (Node<E> next : queueA.poll().forest) {
+                if (!visitedA.contains(next))
+                    visit(next, seenA, visitedA, queueA);
+            }
+            for (Node<E> next : queueB.poll().forest) {
+                if (!visitedB.contains(next))
+                    visit(next, seenB, visitedB, queueB);
+            }
+        }
+    }
+
+    private static <E> void visit(Node<E> node, List<Node<E>> seen, HashSet<Node<E>> visited,
+                                  ArrayDeque<Node<E>> queue) {
+        visited.add(node);
+        seen.add(node);
+        queue.add(node);
+    }
+
+    private void relabel(Node<E> start, int label) {
+        int oldLabel = start.label;
+        ArrayDeque<Node<E>> queue = new ArrayDeque<>();
+        start.label = label;
+        queue.add(start);
+        int moved = 0;
+        while (!queue.isEmpty()) {
+            Node<E> node = queue.poll();
+            moved++;
+            for (Node<E> next : node.forest) {
+                if (next.label == oldLabel) {
+                    next.label = label;
+                    queue.add(next);
+                }
+            }
+        }
+        labelSizes.remove(oldLabel);
+        labelSizes.merge(label, moved, Integer::sum);
+    }
+
+    private Node<E> find(Node<E> node) {
+        while (node.parent != node) {
+            node.parent = node.parent.parent;
+            node = node.parent;
+        }
+        return node;
+    }
+
+    private void union(Node<E> a, Node<E> b) {
+        Node<E> x = find(a);
+        Node<E> y = find(b);
+        if (x == y)
+            return;
+        if (x.rank < y.rank) {
+            Node<E> swap = x;
+            x = y;
+            y = swap;
+        }
+        y.parent = x;
+        if (x.rank == y.rank)
+            x.rank++;
+        components--;
+    }
+}
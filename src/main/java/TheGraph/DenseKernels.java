@@ -0,0 +1,80 @@
+package TheGraph;
+
+/**
+ * Data-parallel operations on the primitive rows of a dense adjacency matrix, used by DenseMatrix.
+ * Two implementations give the same results up to floating-point rounding: a scalar one, and one on
+ * the incubating Vector API that processes as many lanes as the CPU's widest vector registers hold. The vector one needs the
+ * JVM to run with --add-modules jdk.incubator.vector; best() falls back to the scalar one without it.
+ * Adjacency rows are bitsets, one bit per column, packed in longs.
+ */
+public interface DenseKernels {
+    /**
+     * ORs a row into an accumulator: acc |= row. Frontier expansion adds the rows of the frontier.
+     * @param acc the accumulator, modified.
+     * @param row the row to add, at least as long as acc.
+     */
+    void or(long[] acc, long[] row);
+
+    /**
+     * Clears the bits of a mask: out = bits & ~mask. Frontier expansion drops the visited vertices.
+     * @param bits the bits to keep.
+     * @param mask the bits to clear.
+     * @param out receives the result, it may be bits itself.
+     */
+    void andNot(long[] bits, long[] mask, long[] out);
+
+    /**
+     * Counts the set bits of a row, the out-degree of its vertex.
+     * @param bits the row.
+     * @return the number of bits set.
+     */
+    long popCount(long[] bits);
+
+    /**
+     * Relaxes distances through a vertex in the (min, +) semiring: dist[j] = min(dist[j], base + row[j]).
+     * @param dist the distances, modified.
+     * @param base the distance of the vertex.
+     * @param row the weights of the arcs leaving the vertex, infinity where there is no arc.
+     * @return true if any distance went down.
+     */
+    boolean relaxMinPlus(double[] dist, double base, double[] row);
+
+    /**
+     * Multiplies a square matrix by a vector: y = matrix * x.
+     * @param matrix the matrix, by rows.
+     * @param x the vector.
+     * @param y receives the product.
+     */
+    void multiply(double[][] matrix, double[] x, double[] y);
+
+    /**
+     * @return the implementation with plain loops.
+     */
+    static DenseKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * @return the implementation on the Vector API.
+     * @throws UnsupportedOperationException if the jdk.incubator.vector module isn't loaded.
+     */
+    static DenseKernels vectorized() {
+        if (!isVectorAvailable())
+            throw new UnsupportedOperationException("Run with --add-modules jdk.incubator.vector");
+        return VectorKernels.INSTANCE;
+    }
+
+    /**
+     * @return the vector implementation if its module is loaded, the scalar one otherwise.
+     */
+    static DenseKernels best() {
+        return isVectorAvailable() ? VectorKernels.INSTANCE : ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * @return true if the jdk.incubator.vector module is loaded.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,283 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Primitive copy of the adjacency matrix of a graph, for dense graphs such as MarioGraph whose
+ * matrix keeps one boxed cell per pair. Every row is a bitset of longs, and the weight rows for
+ * shortest paths and the transition matrix for PageRank are built on first use, so the algorithms
+ * below run as whole-row DenseKernels operations instead of one cell at a time.
+ * Vertices get dense indexes from 0 to size() - 1 in id order; results are arrays by index.
+ * It is a snapshot: later changes to the graph are not seen.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public final class DenseMatrix<E> {
+    private final DenseKernels kernels;
+    private final Object[] keys;
+    private final HashMap<E, Integer> indexByKey;
+    private final long[][] rows;
+    private final int words;
+    /**
+     * Columns and weights of the arcs of each row, kept only for weighted graphs so weights() reads the snapshot.
+     */
+    private final int[][] arcColumns;
+    private final double[][] arcWeights;
+    private double[][] weights;
+    private double[][] transition;
+
+    /**
+     * Constructor for DenseMatrix class with the best kernels available.
+     * @param graph the graph to be copied.
+     */
+    public DenseMatrix(Graph<E> graph) {
+        this(graph, DenseKernels.best());
+    }
+
+    /**
+     * Constructor for DenseMatrix class. It copies the keys and the arcs into bitset rows,
+     * and the arc weights too if the graph is weighted.
+     * @param graph the graph to be copied.
+     * @param kernels the implementation of the row operations.
+     */
+    public DenseMatrix(Graph<E> graph, DenseKernels kernels) {
+        IntGraph<E> ints = graph.asIntGraph();
+        this.kernels = kernels;
+        int[] ids = VertexOrdering.current(ints);
+        int[] indexOf = new int[ints.idBound()];
+        this.keys = new Object[ids.length];
+        this.indexByKey = new HashMap<>(Math.max(16, (int) (ids.length / 0.75f) + 1));
+        for (int i = 0; i < ids.length; i++) {
+            indexOf[ids[i]] = i;
+            E key = ints.keyOf(ids[i]);
+            keys[i] = key;
+            indexByKey.put(key, i);
+        }
+        boolean weighted = ints.isWeighted();
+        this.words = (ids.length + 63) >>> 6;
+        this.rows = new long[ids.length][words];
+        this.arcColumns = weighted ? new int[ids.length][] : null;
+        this.arcWeights = weighted ? new double[ids.length][] : null;
+        for (int i = 0; i < keys.length; i++) {
+            long[] row = rows[i];
+            int[] columns = weighted ? new int[ints.degree(ids[i])] : null;
+            double[] values = weighted ? new double[columns.length] : null;
+            int[] count = {0};
+            ints.forEachNeighbor(ids[i], (dest, weight) -> {
+                int j = indexOf[dest];
+                row[j >>> 6] |= 1L << j;
+                if (columns != null) {
+                    columns[count[0]] = j;
+                    values[count[0]++] = weight;
+                }
+            });
+            if (weighted) {
+                arcColumns[i] = columns;
+                arcWeights[i] = values;
+            }
+        }
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the dense index of a vertex.
+     * @param key the element in the vertex.
+     * @return the index, -1 if the vertex wasn't in the graph.
+     */
+    public int indexOf(E key) {
+        Integer index = key == null ? null : indexByKey.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index the dense index of a vertex.
+     * @return the element in the vertex.
+     */
+    @SuppressWarnings("unchecked")
+    public E keyOf(int index) {
+        return (E) keys[index];
+    }
+
+    /**
+     * @return the kernels running the row operations.
+     */
+    public DenseKernels getKernels() {
+        return kernels;
+    }
+
+    /**
+     * Gets the out-degree of every vertex, counting the bits of each row.
+     * @return the degrees by index.
+     */
+    public int[] outDegrees() {
+        int[] degrees = new int[keys.length];
+        for (int i = 0; i < keys.length; i++)
+            degrees[i] = (int) kernels.popCount(rows[i]);
+        return degrees;
+    }
+
+    /**
+     * Gets the number of hops from a vertex to every other with a level-synchronous breadth-first search:
+     * each level ORs the rows of the frontier and clears the visited bits.
+     * @param src the element in the source vertex.
+     * @return the hops by index, -1 for the vertices that can't be reached.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    public int[] hops(E src) {
+        int source = checkedIndex(src);
+        int[] hops = new int[keys.length];
+        Arrays.fill(hops, -1);
+        long[] visited = new long[words];
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+        hops[source] = 0;
+        visited[source >>> 6] |= 1L << source;
+        frontier[source >>> 6] |= 1L << source;
+        for (int level = 1; ; level++) {
+            Arrays.fill(next, 0);
+            for (int w = 0; w < words; w++) {
+                long word = frontier[w];
+                while (word != 0) {
+                    kernels.or(next, rows[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                    word &= word - 1;
+                }
+            }
+            kernels.andNot(next, visited, next);
+            if (kernels.popCount(next) == 0)
+                return hops;
+            kernels.or(visited, next);
+            for (int w = 0; w < words; w++) {
+                long word = next[w];
+                while (word != 0) {
+                    hops[(w << 6) + Long.numberOfTrailingZeros(word)] = level;
+                    word &= word - 1;
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Gets the length of the shortest path from a vertex to every other with Dijkstra's algorithm for
+     * dense graphs: each settled vertex relaxes its whole weight row in the (min, +) semiring.
+     * Unweighted arcs count as 1. The weights must not be negative.
+     * @param src the element in the source vertex.
+     * @return the distances by index, infinity for the vertices that can't be reached.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    public double[] distances(E src) {
+        int source = checkedIndex(src);
+        double[][] weightRows = weights();
+        double[] dist = new double[keys.length];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        boolean[] settled = new boolean[keys.length];
+        while (true) {
+            int closest = -1;
+            for (int i = 0; i < dist.length; i++) {
+                if (!settled[i] && dist[i] != Double.POSITIVE_INFINITY && (closest == -1 || dist[i] < dist[closest]))
+                    closest = i;
+            }
+            if (closest == -1)
+                return dist;
+            settled[closest] = true;
+            kernels.relaxMinPlus(dist, dist[closest], weightRows[closest]);
+        }
+    }
+
+    /**
+     * Ranks the vertices with PageRank by power iteration, one matrix-vector product per iteration.
+     * The rank of vertices without arcs is spread evenly over every vertex.
+     * @param damping the probability of following an arc instead of jumping anywhere, usually 0.85.
+     * @param iterations the number of iterations.
+     * @return the ranks by index, adding up to 1.
+     */
+    public double[] pageRank(double damping, int iterations) {
+        int n = keys.length;
+        if (n == 0)
+            return new double[0];
+        double[][] matrix = transition();
+        int[] degree = outDegrees();
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double dangling = 0;
+            for (int j = 0; j < n; j++) {
+                if (degree[j] == 0)
+                    dangling += rank[j];
+            }
+            kernels.multiply(matrix, rank, next);
+            double jump = (1 - damping) / n + damping * dangling / n;
+            for (int i = 0; i < n; i++)
+                next[i] = damping * next[i] + jump;
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+        }
+        return rank;
+    }
+
+    private int checkedIndex(E key) {
+        int index = indexOf(key);
+        if (index == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return index;
+    }
+
+    /**
+     * Builds the weight rows from the copied arcs, infinity where there is no arc and 1 for the arcs of unweighted graphs.
+     */
+    private double[][] weights() {
+        if (weights == null) {
+            double[][] built = new double[keys.length][keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                double[] row = built[i];
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+                if (arcColumns != null) {
+                    for (int k = 0; k < arcColumns[i].length; k++)
+                        row[arcColumns[i][k]] = arcWeights[i][k];
+                    continue;
+                }
+                for (int w = 0; w < words; w++) {
+                    long word = rows[i][w];
+                    while (word != 0) {
+                        row[(w << 6) + Long.numberOfTrailingZeros(word)] = 1.0;
+                        word &= word - 1;
+                    }
+                }
+            }
+            weights = built;
+        }
+        return weights;
+    }
+
+    /**
+     * Builds the transposed transition matrix: cell [i][j] is 1 / outdegree(j) if there is an arc from j to i.
+     */
+    private double[][] transition() {
+        if (transition == null) {
+            int[] degree = outDegrees();
+            double[][] built = new double[keys.length][keys.length];
+            for (int j = 0; j < keys.length; j++) {
+                for (int w = 0; w < words; w++) {
+                    long word = rows[j][w];
+                    while (word != 0) {
+                        built[(w << 6) + Long.numberOfTrailingZeros(word)][j] = 1.0 / degree[j];
+                        word &= word - 1;
+                    }
+                }
+            }
+            transition = built;
+        }
+        return transition;
+    }
+}
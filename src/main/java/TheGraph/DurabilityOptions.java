@@ -0,0 +1,108 @@
+package TheGraph;
+
+/**
+ * Settings of the mutation log used by DurableGraph.
+ * Instances are immutable, every with method returns a modified copy.
+ */
+public final class DurabilityOptions {
+    /**
+     * Indicates when a mutation returns to its caller.
+     */
+    public enum CommitMode {
+        /**
+         * The mutation returns once the batch holding it has been forced to disk.
+         */
+        SYNC,
+        /**
+         * The mutation returns right away, it is forced to disk with the next batch.
+         */
+        ASYNC
+    }
+
+    private final CommitMode commitMode;
+    private final long lingerMillis;
+    private final int batchBytes;
+    private final long checkpointEveryRecords;
+
+    private DurabilityOptions(CommitMode commitMode, long lingerMillis, int batchBytes, long checkpointEveryRecords) {
+        this.commitMode = commitMode;
+        this.lingerMillis = lingerMillis;
+        this.batchBytes = batchBytes;
+        this.checkpointEveryRecords = checkpointEveryRecords;
+    }
+
+    /**
+     * Gets the default options: synchronous group commit, 5 ms linger, 64 KiB batches
+     * and a checkpoint every 100 000 logged mutations.
+     * @return the default options.
+     */
+    public static DurabilityOptions defaults() {
+        return new DurabilityOptions(CommitMode.SYNC, 5, 64 * 1024, 100_000);
+    }
+
+    /**
+     * @param commitMode when a mutation returns to its caller.
+     * @return a copy of these options with the given commit mode.
+     */
+    public DurabilityOptions withCommitMode(CommitMode commitMode) {
+        if (commitMode == null)
+            throw new IllegalArgumentException("commitMode");
+        return new DurabilityOptions(commitMode, lingerMillis, batchBytes, checkpointEveryRecords);
+    }
+
+    /**
+     * @param lingerMillis the longest time a record waits in memory before its batch is forced.
+     * @return a copy of these options with the given linger time.
+     */
+    public DurabilityOptions withLingerMillis(long lingerMillis) {
+        if (lingerMillis < 0)
+            throw new IllegalArgumentException("lingerMillis < 0");
+        return new DurabilityOptions(commitMode, lingerMillis, batchBytes, checkpointEveryRecords);
+    }
+
+    /**
+     * @param batchBytes the buffered bytes that force a batch without waiting for the linger time.
+     * @return a copy of these options with the given batch size.
+     */
+    public DurabilityOptions withBatchBytes(int batchBytes) {
+        if (batchBytes <= 0)
+            throw new IllegalArgumentException("batchBytes <= 0");
+        return new DurabilityOptions(commitMode, lingerMillis, batchBytes, checkpointEveryRecords);
+    }
+
+    /**
+     * @param checkpointEveryRecords the logged mutations between two automatic checkpoints, 0 disables them.
+     * @return a copy of these options with the given checkpoint interval.
+     */
+    public DurabilityOptions withCheckpointEveryRecords(long checkpointEveryRecords) {
+        if (checkpointEveryRecords < 0)
+            throw new IllegalArgumentException("checkpointEveryRecords < 0");
+        return new DurabilityOptions(commitMode, lingerMillis, batchBytes, checkpointEveryRecords);
+    }
+
+    public CommitMode getCommitMode() {
+        return commitMode;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public int getBatchBytes() {
+        return batchBytes;
+    }
+
+    public long getCheckpointEveryRecords() {
+        return checkpointEveryRecords;
+    }
+
+    @Override
+    public String toString() {
+        return "DurabilityOptions{" +
+                "commitMode=" + commitMode +
+                ", lingerMillis=" + lingerMillis +
+                ", batchBytes=" + batchBytes +
+                ", checkpointEveryRecords=" + checkpointEveryRecords +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package TheGraph;
+
+/**
+ * Point-in-time counters of a DurableGraph.
+ */
+public final class DurabilityStats {
+    private final long loggedRecords;
+    private final long logicalBytes;
+    private final long logBytesWritten;
+    private final long snapshotBytesWritten;
+    private final long fsyncCount;
+    private final long checkpoints;
+    private final long elapsedNanos;
+
+    DurabilityStats(long loggedRecords, long logicalBytes, long logBytesWritten, long snapshotBytesWritten,
+                    long fsyncCount, long checkpoints, long elapsedNanos) {
+        this.loggedRecords = loggedRecords;
+        this.logicalBytes = logicalBytes;
+        this.logBytesWritten = logBytesWritten;
+        this.snapshotBytesWritten = snapshotBytesWritten;
+        this.fsyncCount = fsyncCount;
+        this.checkpoints = checkpoints;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the mutations appended to the log since the graph was opened.
+     */
+    public long getLoggedRecords() {
+        return loggedRecords;
+    }
+
+    /**
+     * @return the bytes needed to describe the logged mutations, without framing.
+     */
+    public long getLogicalBytes() {
+        return logicalBytes;
+    }
+
+    /**
+     * @return the bytes written to log segments, framing included.
+     */
+    public long getLogBytesWritten() {
+        return logBytesWritten;
+    }
+
+    /**
+     * @return the bytes written to snapshot files.
+     */
+    public long getSnapshotBytesWritten() {
+        return snapshotBytesWritten;
+    }
+
+    /**
+     * @return the number of times a log segment or snapshot was forced to disk.
+     */
+    public long getFsyncCount() {
+        return fsyncCount;
+    }
+
+    /**
+     * @return the number of checkpoints taken since the graph was opened.
+     */
+    public long getCheckpoints() {
+        return checkpoints;
+    }
+
+    /**
+     * Gets the bytes written to disk for every logical byte mutated.
+     * @return the write amplification, 0 if nothing was logged yet.
+     */
+    public double writeAmplification() {
+        if (logicalBytes == 0)
+            return 0;
+        return (double) (logBytesWritten + snapshotBytesWritten) / logicalBytes;
+    }
+
+    /**
+     * Gets the average fsync rate since the graph was opened.
+     * @return the fsyncs per second.
+     */
+    public double fsyncsPerSecond() {
+        if (elapsedNanos <= 0)
+            return 0;
+        return fsyncCount * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "DurabilityStats{" +
+                "loggedRecords=" + loggedRecords +
+                ", logicalBytes=" + logicalBytes +
+                ", logBytesWritten=" + logBytesWritten +
+                ", snapshotBytesWritten=" + snapshotBytesWritten +
+                ", fsyncCount=" + fsyncCount +
+                ", checkpoints=" + checkpoints +
+                String.format(", writeAmplification=%.2f, fsyncsPerSecond=%.2f", writeAmplification(), fsyncsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,506 @@
+package TheGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Graph that survives a crash by logging every mutation before applying it.
+ * Mutations are appended to a write-ahead log that is forced to disk in batches (group commit),
+ * and reach the wrapped graph only once their record is in the log.
+ * A checkpoint writes a snapshot of the whole graph and drops the log segments it covers,
+ * and opening the graph again loads the last snapshot and replays the log written after it.
+ * Mutations are serialized on this object, reads go straight to the wrapped graph.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class DurableGraph<E> extends ForwardingGraph<E> implements AutoCloseable {
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_ARC = 3;
+    private static final byte ADD_WEIGHTED_ARC = 4;
+    private static final byte ADD_EDGE = 5;
+    private static final byte ADD_WEIGHTED_EDGE = 6;
+    private static final byte REMOVE_ARC = 7;
+    private static final byte REMOVE_EDGE = 8;
+    private static final byte UPDATE_ARC = 9;
+    private static final byte UPDATE_EDGE = 10;
+
+    private static final int SNAPSHOT_MAGIC = 0x47534E50;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path dir;
+    private final KeyCodec<E> codec;
+    private final DurabilityOptions options;
+    private final MutationLog log;
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(64);
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+    private final long openedAt = System.nanoTime();
+
+    private long recordsSinceCheckpoint;
+    private long appendedRecords;
+    private long appliedRecords;
+    private boolean checkpointing;
+    private long loggedRecords;
+    private long logicalBytes;
+    private long snapshotBytesWritten;
+    private long checkpoints;
+
+    private DurableGraph(Graph<E> graph, Path dir, KeyCodec<E> codec, DurabilityOptions options, long firstLsn)
+            throws IOException {
+        super(graph);
+        this.dir = dir;
+        this.codec = codec;
+        this.options = options;
+        this.log = new MutationLog(dir, firstLsn, options);
+    }
+
+    /**
+     * Opens a durable graph stored in a directory, recovering its state if the directory has one.
+     * The last snapshot is loaded into the given graph and every logged mutation after it is replayed.
+     * @param dir the directory holding the snapshots and log segments, created if missing.
+     * @param graph an empty graph that will hold the recovered state.
+     * @param codec writes and reads the vertex keys.
+     * @param options the log settings.
+     * @param <E> the type of the elements stored in the vertices of the graph
+     * @return the durable graph, ready to receive mutations.
+     * @throws IOException if the directory can't be read or written.
+     */
+    public static <E> DurableGraph<E> open(Path dir, Graph<E> graph, KeyCodec<E> codec, DurabilityOptions options)
+            throws IOException {
+        if (graph == null || codec == null || options == null)
+            throw new IllegalArgumentException("graph, codec and options must not be null");
+        if (graph.vertexCount() != 0)
+            throw new IllegalArgumentException("The graph to recover into must be empty");
+        Files.createDirectories(dir);
+        long snapshotLsn = loadLatestSnapshot(dir, graph, codec);
+        long lastLsn = MutationLog.replay(dir, snapshotLsn,
+                (lsn, payload) -> apply(graph, codec, payload));
+        return new DurableGraph<>(graph, dir, codec, options, lastLsn + 1);
+    }
+
+    /**
+     * Opens a durable graph with the default options.
+     * @param dir the directory holding the snapshots and log segments, created if missing.
+     * @param graph an empty graph that will hold the recovered state.
+     * @param codec writes and reads the vertex keys.
+     * @param <E> the type of the elements stored in the vertices of the graph
+     * @return the durable graph, ready to receive mutations.
+     * @throws IOException if the directory can't be read or written.
+     */
+    public static <E> DurableGraph<E> open(Path dir, Graph<E> graph, KeyCodec<E> codec) throws IOException {
+        return open(dir, graph, codec, DurabilityOptions.defaults());
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        return mutate(ADD_VERTEX, obj, null, 0, () -> delegate.addVertex(obj));
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        return mutate(ADD_EDGE, src, dest, 0, () -> delegate.addEdge(src, dest));
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        return mutate(ADD_WEIGHTED_EDGE, src, dest, weight, () -> delegate.addEdge(src, dest, weight));
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        return mutate(ADD_ARC, src, dest, 0, () -> delegate.addArc(src, dest));
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        return mutate(ADD_WEIGHTED_ARC, src, dest, weight, () -> delegate.addArc(src, dest, weight));
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        return mutate(REMOVE_VERTEX, obj, null, 0, () -> delegate.removeVertex(obj));
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        return mutate(REMOVE_ARC, src, dest, 0, () -> delegate.removeArc(src, dest));
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        return mutate(REMOVE_EDGE, src, dest, 0, () -> delegate.removeEdge(src, dest));
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        return mutate(UPDATE_ARC, src, dest, weight, () -> delegate.updateArc(src, dest, weight));
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        return mutate(UPDATE_EDGE, src, dest, weight, () -> delegate.updateEdge(src, dest, weight));
+    }
+
+    /**
+     * Logs a mutation and then applies it to the wrapped graph, so the log is always ahead of the graph.
+     * The record is appended under the lock and, in SYNC mode, the caller waits for its batch outside the lock,
+     * so concurrent writers still share one fsync; the mutations are then applied in the order they were logged.
+     * A mutation whose record can't be written is not applied. A mutation that turns out to change nothing
+     * keeps its record, replaying it changes nothing either since records are replayed in the same order.
+     * Null keys can't be encoded nor stored, so those calls go to the wrapped graph without a record.
+     * @param mutation applies the mutation to the wrapped graph.
+     * @return the result of the mutation.
+     */
+    private boolean mutate(byte op, E src, E dest, double weight, BooleanSupplier mutation) {
+        if (src == null || (dest == null && op != ADD_VERTEX && op != REMOVE_VERTEX))
+            return mutation.getAsBoolean();
+        long lsn;
+        long ticket;
+        synchronized (this) {
+            awaitUntil(() -> !checkpointing);
+            lsn = logRecord(op, src, dest, weight);
+            ticket = appendedRecords++;
+        }
+        RuntimeException failure = null;
+        if (options.getCommitMode() == DurabilityOptions.CommitMode.SYNC) {
+            try {
+                log.awaitDurable(lsn);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        boolean changed;
+        synchronized (this) {
+            awaitUntil(() -> appliedRecords == ticket);
+            try {
+                changed = failure == null && mutation.getAsBoolean();
+            } finally {
+                appliedRecords++;
+                notifyAll();
+            }
+        }
+        if (failure != null)
+            throw failure;
+        if (options.getCheckpointEveryRecords() > 0)
+            checkpointIfDue();
+        return changed;
+    }
+
+    /**
+     * Encodes a mutation and appends it to the log. The record is encoded before its sequence number
+     * is reserved, so a key the codec rejects leaves no gap in the log.
+     * @return the sequence number of the record.
+     */
+    private long logRecord(byte op, E src, E dest, double weight) {
+        try {
+            recordBytes.reset();
+            record.writeLong(0);
+            record.writeByte(op);
+            codec.write(record, src);
+            if (dest != null)
+                codec.write(record, dest);
+            if (op == ADD_WEIGHTED_ARC || op == ADD_WEIGHTED_EDGE || op == UPDATE_ARC || op == UPDATE_EDGE)
+                record.writeDouble(weight);
+            record.flush();
+            byte[] payload = recordBytes.toByteArray();
+            long lsn = log.nextLsn();
+            ByteBuffer.wrap(payload).putLong(0, lsn);
+            log.append(lsn, payload, payload.length);
+            loggedRecords++;
+            logicalBytes += payload.length - Long.BYTES;
+            recordsSinceCheckpoint++;
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Takes a checkpoint when the configured number of records has been logged since the last one.
+     */
+    private synchronized void checkpointIfDue() {
+        awaitUntil(() -> !checkpointing);
+        if (recordsSinceCheckpoint >= options.getCheckpointEveryRecords())
+            checkpoint();
+    }
+
+    /**
+     * Waits on this object until a condition holds. Interrupts are kept for later,
+     * a writer whose record is already in the log must still apply it.
+     */
+    private void awaitUntil(BooleanSupplier condition) {
+        boolean interrupted = false;
+        while (!condition.getAsBoolean()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Applies a logged mutation to a graph during recovery.
+     */
+    private static <E> void apply(Graph<E> graph, KeyCodec<E> codec, ByteBuffer payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(payload));
+        byte op = in.readByte();
+        E src = codec.read(in);
+        switch (op) {
+            case ADD_VERTEX -> graph.addVertex(src);
+            case REMOVE_VERTEX -> graph.removeVertex(src);
+            case ADD_ARC -> graph.addArc(src, codec.read(in));
+            case ADD_WEIGHTED_ARC -> graph.addArc(src, codec.read(in), in.readDouble());
+            case ADD_EDGE -> graph.addEdge(src, codec.read(in));
+            case ADD_WEIGHTED_EDGE -> graph.addEdge(src, codec.read(in), in.readDouble());
+            case REMOVE_ARC -> graph.removeArc(src, codec.read(in));
+            case REMOVE_EDGE -> graph.removeEdge(src, codec.read(in));
+            case UPDATE_ARC -> graph.updateArc(src, codec.read(in), in.readDouble());
+            case UPDATE_EDGE -> graph.updateEdge(src, codec.read(in), in.readDouble());
+            default -> throw new IOException("Unknown mutation code " + op);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the whole graph and deletes the log segments and snapshots it replaces.
+     * New mutations are blocked while the snapshot is written, and the ones already logged are applied first
+     * so the snapshot holds every record it covers.
+     * @throws UncheckedIOException if the snapshot can't be written, the previous one is kept.
+     */
+    public synchronized void checkpoint() {
+        awaitUntil(() -> !checkpointing);
+        checkpointing = true;
+        try {
+            awaitUntil(() -> appliedRecords == appendedRecords);
+            long snapshotLsn = log.lastLsn();
+            List<Path> covered = log.rotate();
+            Path target = dir.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, snapshotLsn, SNAPSHOT_SUFFIX));
+            Path tmp = dir.resolve(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                CheckedOutputStream checked = new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                writeSnapshot(out, snapshotLsn);
+                out.flush();
+                new DataOutputStream(Channels.newOutputStream(channel)).writeLong(checked.getChecksum().getValue());
+                channel.force(true);
+                snapshotBytesWritten += channel.size();
+            }
+            log.countFsync();
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory();
+            for (Path segment : covered)
+                Files.deleteIfExists(segment);
+            for (Path snapshot : listSnapshots(dir)) {
+                if (!snapshot.equals(target))
+                    Files.deleteIfExists(snapshot);
+            }
+            recordsSinceCheckpoint = 0;
+            checkpoints++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            checkpointing = false;
+            notifyAll();
+        }
+    }
+
+    private void writeSnapshot(DataOutputStream out, long snapshotLsn) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(snapshotLsn);
+        out.writeBoolean(isWeighted);
+        out.writeInt(delegate.vertexCount());
+        IOException[] failure = new IOException[1];
+        delegate.forEachVertex(key -> {
+            try {
+                if (failure[0] == null)
+                    codec.write(out, key);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        delegate.forEachArc((src, dest, weight) -> {
+            try {
+                if (failure[0] != null)
+                    return;
+                out.writeBoolean(true);
+                codec.write(out, src);
+                codec.write(out, dest);
+                if (isWeighted)
+                    out.writeDouble(weight);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null)
+            throw failure[0];
+        out.writeBoolean(false);
+    }
+
+    /**
+     * Loads the newest valid snapshot of the directory into the graph.
+     * @return the sequence number covered by the snapshot, 0 if there is none.
+     */
+    private static <E> long loadLatestSnapshot(Path dir, Graph<E> graph, KeyCodec<E> codec) throws IOException {
+        List<Path> snapshots = listSnapshots(dir);
+        if (snapshots.isEmpty())
+            return 0;
+        Path path = snapshots.get(snapshots.size() - 1);
+        long size = Files.size(path);
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            CheckedInputStream checked = new CheckedInputStream(new LimitedInputStream(file, size - Long.BYTES), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC)
+                throw new IOException("Not a graph snapshot: " + path);
+            long lsn = in.readLong();
+            boolean weighted = in.readBoolean();
+            if (weighted != graph.isWeighted)
+                throw new IllegalArgumentException("The snapshot weightedness doesn't match the graph");
+            int vertices = in.readInt();
+            for (int i = 0; i < vertices; i++)
+                graph.addVertex(codec.read(in));
+            while (in.readBoolean()) {
+                E src = codec.read(in);
+                E dest = codec.read(in);
+                if (weighted)
+                    graph.addArc(src, dest, in.readDouble());
+                else
+                    graph.addArc(src, dest);
+            }
+            long expected = checked.getChecksum().getValue();
+            if (new DataInputStream(file).readLong() != expected)
+                throw new IOException("Corrupt graph snapshot: " + path);
+            return lsn;
+        }
+    }
+
+    private static List<Path> listSnapshots(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return new ArrayList<>(files
+                    .filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && p.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms can't open directories, the rename is still atomic there.
+        }
+    }
+
+    /**
+     * Blocks until every mutation made so far is on disk. Useful in ASYNC commit mode.
+     */
+    public void sync() {
+        log.sync();
+    }
+
+    /**
+     * Gets the counters of the log and the checkpoints.
+     * @return the current statistics.
+     */
+    public synchronized DurabilityStats getStats() {
+        return new DurabilityStats(loggedRecords, logicalBytes, log.getLogBytesWritten(), snapshotBytesWritten,
+                log.getFsyncCount(), checkpoints, System.nanoTime() - openedAt);
+    }
+
+    /**
+     * Forces the pending mutations to disk and closes the log. The wrapped graph stays usable in memory.
+     * @throws IOException if the last batch can't be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Reads the remaining bytes of a buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining())
+                return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /**
+     * Reads at most a given number of bytes, so the trailing checksum stays out of the CRC.
+     */
+    private static class LimitedInputStream extends InputStream {
+        private final InputStream in;
+        private long left;
+
+        LimitedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.left = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (left <= 0)
+                return -1;
+            int b = in.read();
+            if (b >= 0)
+                left--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (left <= 0)
+                return -1;
+            int n = in.read(b, off, (int) Math.min(len, left));
+            if (n > 0)
+                left -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package TheGraph;
+
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+/**
+ * Graph that forwards every call to another graph.
+ * Decorators extend this class and override only the methods they need to intercept.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class ForwardingGraph<E> extends Graph<E> implements Traversable<E> {
+    /**
+     * The graph every call is forwarded to.
+     */
+    final Graph<E> delegate;
+
+    /**
+     * Constructor for ForwardingGraph class.
+     * @param delegate the graph that will receive every call, it must not be null.
+     */
+    public ForwardingGraph(Graph<E> delegate) {
+        super(delegate.isWeighted);
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the graph every call is forwarded to.
+     * @return the wrapped graph.
+     */
+    public Graph<E> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the modification counter of the wrapped graph, which sees every mutation made through this one.
+     * @return the number of successful mutations of the wrapped graph.
+     */
+    @Override
+    public long modCount() {
+        return delegate.modCount();
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        return delegate.addVertex(obj);
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        return delegate.addEdge(src, dest);
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        return delegate.addEdge(src, dest, weight);
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        return delegate.addArc(src, dest);
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        return delegate.addArc(src, dest, weight);
+    }
+
+    @Override
+    public int vertexCount() {
+        return delegate.vertexCount();
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        return delegate.removeVertex(obj);
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        return delegate.removeArc(src, dest);
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        return delegate.removeEdge(src, dest);
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        return delegate.updateArc(src, dest, weight);
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        return delegate.updateEdge(src, dest, weight);
+    }
+
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        return delegate.getArcWeight(src, dest);
+    }
+
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        return delegate.getEdgeWeight(src, dest);
+    }
+
+    /**
+     * Gets the footprint of the wrapped graph, which holds the data.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint of the wrapped graph.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        return delegate.memoryFootprint(bytesPerKey);
+    }
+
+    /**
+     * Gets the int view of the wrapped graph. Reads go to the wrapped view, while arcs added
+     * through it go through this graph, so decorators see them like any other mutation.
+     * @return the int view of this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        IntGraph<E> ints = delegate.asIntGraph();
+        return new IntGraph<>() {
+            @Override
+            public int idOf(E key) {
+                return ints.idOf(key);
+            }
+
+            @Override
+            public E keyOf(int id) {
+                return ints.keyOf(id);
+            }
+
+            @Override
+            public int idBound() {
+                return ints.idBound();
+            }
+
+            @Override
+            public boolean isWeighted() {
+                return ints.isWeighted();
+            }
+
+            @Override
+            public boolean addArc(int src, int dest) {
+                E srcKey = ints.keyOf(src);
+                E destKey = ints.keyOf(dest);
+                return srcKey != null && destKey != null && ForwardingGraph.this.addArc(srcKey, destKey);
+            }
+
+            @Override
+            public boolean addArc(int src, int dest, double weight) {
+                E srcKey = ints.keyOf(src);
+                E destKey = ints.keyOf(dest);
+                return srcKey != null && destKey != null && ForwardingGraph.this.addArc(srcKey, destKey, weight);
+            }
+
+            @Override
+            public boolean hasArc(int src, int dest) {
+                return ints.hasArc(src, dest);
+            }
+
+            @Override
+            public double arcWeight(int src, int dest) {
+                return ints.arcWeight(src, dest);
+            }
+
+            @Override
+            public int degree(int id) {
+                return ints.degree(id);
+            }
+
+            @Override
+            public PrimitiveIterator.OfInt neighbors(int id) {
+                return ints.neighbors(id);
+            }
+
+            @Override
+            public void forEachNeighbor(int id, NeighborConsumer action) {
+                ints.forEachNeighbor(id, action);
+            }
+        };
+    }
+
+    /**
+     * Gets the wrapped graph as a Traversable.
+     * @throws UnsupportedOperationException if the wrapped graph can't be traversed.
+     */
+    @SuppressWarnings("unchecked")
+    private Traversable<E> traversable() {
+        if (delegate instanceof Traversable<?> traversable)
+            return (Traversable<E>) traversable;
+        throw new UnsupportedOperationException(delegate.getClass().getSimpleName() + " has no DFS/BFS");
+    }
+
+    @Override
+    public void DFS(E src) {
+        traversable().DFS(src);
+    }
+
+    @Override
+    public void BFS(E src) {
+        traversable().BFS(src);
+    }
+
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        delegate.forEachVertex(action);
+    }
+
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        delegate.forEachArc(action);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -2,6 +2,13 @@ package TheGraph;
 import exceptions.NullObjectReceivedException;
 import exceptions.WrongGraphMethodException;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for a Graph data structure.
  * @param <E> the type of elements stored in the vertices of the graph.
@@ -12,6 +19,11 @@ public abstract class Graph<E> {
      */
     boolean isWeighted;
 
+    /**
+     * Number of successful mutations, bumped by every implementation.
+     */
+    private volatile long modCount;
+
     /**
      * Constructs a new Graph that can be weighted or unweighted
      * @param isWeighted indicates whether the graph is weighted or not.
@@ -20,6 +32,23 @@ public abstract class Graph<E> {
         this.isWeighted = isWeighted;
     }
 
+    /**
+     * Gets the modification counter of the graph. It changes after every successful mutation
+     * (added or removed vertices and arcs, updated weights), so a result computed at one value
+     * is still valid while the counter keeps that value.
+     * @return the number of successful mutations so far.
+     */
+    public long modCount() {
+        return modCount;
+    }
+
+    /**
+     * Bumps the modification counter. Implementations call it after every successful mutation.
+     */
+    void modified() {
+        modCount++;
+    }
+
     /**
      * Adds a new vertex to the graph.
      * @param obj the element to be stored in the new vertex and the key to be accesed.
@@ -74,6 +103,22 @@ public abstract class Graph<E> {
      */
     public abstract boolean removeVertex(E obj);
 
+    /**
+     * Removes several vertices and all their incident edges/arcs from the graph.
+     * This default removes them one at a time; graphs whose removals scan their storage
+     * override it to purge every removed vertex in a single pass.
+     * @param vertices the elements stored in the vertices to be removed; the missing ones are skipped.
+     * @return the number of vertices removed.
+     */
+    public int removeVertices(Collection<E> vertices) {
+        int removed = 0;
+        for (E vtx : vertices) {
+            if (removeVertex(vtx))
+                removed++;
+        }
+        return removed;
+    }
+
     /**
      * Removes a directed arc from the graph.
      * @param src the source vertex of the arc to be removed.
@@ -82,6 +127,22 @@ public abstract class Graph<E> {
      */
     public abstract boolean removeArc (E src, E dest);
 
+    /**
+     * Removes several directed arcs from the graph. The weights of the arcs received are ignored.
+     * This default removes them one at a time; graphs whose removals shift their storage
+     * override it to compact every touched list once.
+     * @param arcs the arcs to be removed; the missing ones are skipped.
+     * @return the number of arcs removed.
+     */
+    public int removeArcs(Collection<Arc<E>> arcs) {
+        int removed = 0;
+        for (Arc<E> arc : arcs) {
+            if (removeArc(arc.src(), arc.dest()))
+                removed++;
+        }
+        return removed;
+    }
+
     /**
      * Removes an undirected edge from the graph.
      * @param src one of the vertices incident to the edge to be removed.
@@ -124,6 +185,170 @@ public abstract class Graph<E> {
      */
     public abstract Double  getEdgeWeight(E src, E dest);
 
+    /**
+     * Gets a view of the graph that works with the dense int ids of the vertices.
+     * Changes made through the view are changes to this graph.
+     * @return the int view of the graph.
+     */
+    public abstract IntGraph<E> asIntGraph();
+
+    /**
+     * Gets a lazy stream over the vertex keys of the graph.
+     * The stream reads the graph as it goes, so the graph must not change until it is consumed.
+     * It splits by ranges of vertex ids, so parallel() streams work without copying the graph.
+     * @return the stream of vertex keys.
+     */
+    public Stream<E> vertices() {
+        return StreamSupport.stream(GraphSpliterators.vertices(asIntGraph(), vertexCount()), false);
+    }
+
+    /**
+     * Gets a lazy stream over the destinations of the arcs that leave a vertex.
+     * @param key the vertex whose neighbours are returned.
+     * @return the stream of neighbour keys.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    public Stream<E> neighbors(E key) {
+        IntGraph<E> ints = asIntGraph();
+        int id = ints.idOf(key);
+        if (id == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return StreamSupport.stream(GraphSpliterators.neighbors(ints, id), false);
+    }
+
+    /**
+     * Gets a lazy stream over the sources of the arcs that reach a vertex.
+     * Every vertex is checked for an arc to key, so the whole stream costs a scan of the graph.
+     * @param key the vertex whose in-neighbours are returned.
+     * @return the stream of in-neighbour keys.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    public Stream<E> inNeighbors(E key) {
+        IntGraph<E> ints = asIntGraph();
+        int id = ints.idOf(key);
+        if (id == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return StreamSupport.stream(GraphSpliterators.inNeighbors(ints, id), false);
+    }
+
+    /**
+     * Gets a lazy stream over every arc of the graph. An undirected edge appears as its two arcs.
+     * @return the stream of arcs, grouped by source vertex.
+     */
+    public Stream<Arc<E>> edges() {
+        return StreamSupport.stream(GraphSpliterators.arcs(asIntGraph()), false);
+    }
+
+    /**
+     * Gets a read-only view of the subgraph induced by some vertices: those vertices and the arcs between them.
+     * Nothing is copied, see GraphView.
+     * @param vertices the elements of the vertices kept; the ones not in the graph are ignored.
+     * @return the view, backed by this graph.
+     */
+    public GraphView<E> inducedSubgraph(Set<E> vertices) {
+        if (vertices == null)
+            throw new NullPointerException("vertices");
+        return new GraphView<>(this, vertices, null, false);
+    }
+
+    /**
+     * Gets a read-only view of the graph keeping only the arcs that pass a test.
+     * Nothing is copied, see GraphView. The test runs on every arc read through the view.
+     * @param predicate the test; the weight of the arcs it receives is null if the graph is unweighted.
+     * @return the view, backed by this graph.
+     */
+    public GraphView<E> filterEdges(Predicate<Arc<E>> predicate) {
+        if (predicate == null)
+            throw new NullPointerException("predicate");
+        IntGraph<E> ints = asIntGraph();
+        boolean weighted = isWeighted;
+        return new GraphView<>(this, null,
+                (src, dest, weight) -> predicate.test(new Arc<>(ints.keyOf(src), ints.keyOf(dest), weighted ? weight : null)),
+                false);
+    }
+
+    /**
+     * Gets a read-only view of the graph keeping only the arcs that pass a test on their ids and weight.
+     * Nothing is copied, see GraphView. The test runs on every arc read through the view without building an Arc.
+     * @param predicate the test; it receives the ids of the int view of this graph and a weight of 1.0 if the graph is unweighted.
+     * @return the view, backed by this graph.
+     */
+    public GraphView<E> filterEdges(IntGraph.ArcPredicate predicate) {
+        if (predicate == null)
+            throw new NullPointerException("predicate");
+        return new GraphView<>(this, null, predicate, false);
+    }
+
+    /**
+     * Gets a read-only view of the graph with every arc reversed.
+     * Nothing is copied but a transposed index, built on the first traversal, see GraphView.
+     * @return the view, backed by this graph.
+     */
+    public GraphView<E> reverse() {
+        return new GraphView<>(this, null, null, true);
+    }
+
+    /**
+     * Estimates the heap used by the graph, by component, with keys of MemoryFootprint.DEFAULT_KEY_BYTES.
+     * @return the estimated footprint.
+     */
+    public MemoryFootprint memoryFootprint() {
+        return memoryFootprint(MemoryFootprint.DEFAULT_KEY_BYTES);
+    }
+
+    /**
+     * Estimates the heap used by the graph, by component, measured from its own structures.
+     * The key objects can't be measured, so their size is given.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    public abstract MemoryFootprint memoryFootprint(int bytesPerKey);
+
+    /**
+     * Receives every arc of the graph when it is traversed with forEachArc.
+     * @param <E> the type of elements stored in the vertices of the graph.
+     */
+    @FunctionalInterface
+    protected interface ArcConsumer<E> {
+        /**
+         * Receives one arc.
+         * @param src the source vertex of the arc.
+         * @param dest the destination vertex of the arc.
+         * @param weight the weight of the arc, null if the graph is unweighted.
+         */
+        void accept(E src, E dest, Double weight);
+    }
+
+    /**
+     * Visits every vertex key of the graph, in id order through the int view.
+     * Subclasses may override it with a walk of their own storage.
+     * @param action the action to perform on each key.
+     */
+    protected void forEachVertex(Consumer<? super E> action) {
+        IntGraph<E> ints = asIntGraph();
+        for (int id = 0; id < ints.idBound(); id++) {
+            E key = ints.keyOf(id);
+            if (key != null)
+                action.accept(key);
+        }
+    }
+
+    /**
+     * Visits every directed arc of the graph, through the int view. An undirected edge is visited as its two arcs.
+     * Subclasses may override it with a walk of their own storage.
+     * @param action the action to perform on each arc.
+     */
+    protected void forEachArc(ArcConsumer<E> action) {
+        IntGraph<E> ints = asIntGraph();
+        boolean weighted = ints.isWeighted();
+        for (int id = 0; id < ints.idBound(); id++) {
+            E src = ints.keyOf(id);
+            if (src == null)
+                continue;
+            ints.forEachNeighbor(id, (dest, weight) -> action.accept(src, ints.keyOf(dest), weighted ? weight : null));
+        }
+    }
+
     @Override
     public String toString() {
         return "Graph{" +
@@ -0,0 +1,68 @@
+package TheGraph;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Call counters and latency histograms of every GraphOperation.
+ */
+public final class GraphMetrics {
+    private final Map<GraphOperation, LatencyHistogram> histograms = new EnumMap<>(GraphOperation.class);
+
+    /**
+     * Constructor for GraphMetrics class, with every counter at zero.
+     */
+    public GraphMetrics() {
+        for (GraphOperation op : GraphOperation.values())
+            histograms.put(op, new LatencyHistogram());
+    }
+
+    /**
+     * Records one call of an operation.
+     * @param op the operation called.
+     * @param nanos the time it took in nanoseconds.
+     */
+    public void record(GraphOperation op, long nanos) {
+        histograms.get(op).record(nanos);
+    }
+
+    /**
+     * Gets the number of calls of an operation.
+     * @param op the operation.
+     * @return the calls recorded.
+     */
+    public long calls(GraphOperation op) {
+        return histograms.get(op).count();
+    }
+
+    /**
+     * Gets the latency histogram of an operation.
+     * @param op the operation.
+     * @return the live histogram of the operation.
+     */
+    public LatencyHistogram latency(GraphOperation op) {
+        return histograms.get(op);
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values())
+            histogram.reset();
+    }
+
+    /**
+     * Prints one line per operation that was called at least once.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<GraphOperation, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().count() == 0)
+                continue;
+            sb.append(String.format("%-16s %s%n", entry.getKey(), entry.getValue()));
+        }
+        return sb.toString();
+    }
+}
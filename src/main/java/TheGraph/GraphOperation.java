@@ -0,0 +1,20 @@
+package TheGraph;
+
+/**
+ * Operations of the Graph API measured by InstrumentedGraph. The mutations are also the changes
+ * published by ChangeFeedGraph.
+ */
+public enum GraphOperation {
+    ADD_VERTEX,
+    ADD_EDGE,
+    ADD_ARC,
+    REMOVE_VERTEX,
+    REMOVE_ARC,
+    REMOVE_EDGE,
+    UPDATE_ARC,
+    UPDATE_EDGE,
+    GET_ARC_WEIGHT,
+    GET_EDGE_WEIGHT,
+    DFS,
+    BFS
+}
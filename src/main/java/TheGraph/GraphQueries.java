@@ -0,0 +1,117 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Point-to-point queries computed over the int view of a graph.
+ */
+public final class GraphQueries {
+    private GraphQueries() {
+    }
+
+    /**
+     * Checks whether there is a directed path from one vertex to another, with a breadth-first search.
+     * @param graph the graph to search.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return true if dest can be reached from src, a vertex always reaches itself.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public static <E> boolean isReachable(Graph<E> graph, E src, E dest) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int from = idOf(ints, src);
+        int to = idOf(ints, dest);
+        if (from == to)
+            return true;
+        boolean[] seen = new boolean[ints.idBound()];
+        int[] queue = new int[ints.idBound()];
+        int head = 0;
+        int tail = 0;
+        seen[from] = true;
+        queue[tail++] = from;
+        while (head < tail) {
+            var neighbors = ints.neighbors(queue[head++]);
+            while (neighbors.hasNext()) {
+                int next = neighbors.nextInt();
+                if (next == to)
+                    return true;
+                if (!seen[next]) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the length of the shortest directed path between two vertices with Dijkstra's algorithm.
+     * Unweighted arcs count as 1, so on unweighted graphs it is the number of hops.
+     * The weights must not be negative.
+     * @param graph the graph to search.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the length of the shortest path, null if dest can't be reached from src.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public static <E> Double shortestDistance(Graph<E> graph, E src, E dest) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int from = idOf(ints, src);
+        int to = idOf(ints, dest);
+        double distance = dijkstra(ints, from, to)[to];
+        return distance == Double.POSITIVE_INFINITY ? null : distance;
+    }
+
+    /**
+     * Gets the length of the shortest directed path from one vertex to every other with Dijkstra's algorithm.
+     * Unweighted arcs count as 1. The weights must not be negative.
+     * @param graph the int view of the graph to search.
+     * @param src the id of the source vertex.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the distances indexed by vertex id, infinity for the vertices that can't be reached.
+     * @throws IllegalArgumentException if no vertex has the source id.
+     */
+    public static <E> double[] shortestDistances(IntGraph<E> graph, int src) {
+        if (src < 0 || src >= graph.idBound() || graph.keyOf(src) == null)
+            throw new IllegalArgumentException("No vertex with id " + src);
+        return dijkstra(graph, src, -1);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm, stopping once the target is settled.
+     * @param to the id of the target, or -1 to settle every vertex.
+     */
+    private static <E> double[] dijkstra(IntGraph<E> ints, int from, int to) {
+        double[] dist = new double[ints.idBound()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[from] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[]{0, from});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int id = (int) top[1];
+            if (top[0] > dist[id])
+                continue;
+            if (id == to)
+                break;
+            ints.forEachNeighbor(id, (next, weight) -> {
+                double candidate = top[0] + weight;
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    queue.add(new double[]{candidate, next});
+                }
+            });
+        }
+        return dist;
+    }
+
+    private static <E> int idOf(IntGraph<E> ints, E key) {
+        int id = key == null ? -1 : ints.idOf(key);
+        if (id == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return id;
+    }
+}
@@ -0,0 +1,57 @@
+package TheGraph;
+
+/**
+ * Shape of a graph at a point in time, as measured by InstrumentedGraph.sizes().
+ */
+public final class GraphSizes {
+    private final int vertices;
+    private final long arcs;
+    private final int maxDegree;
+    private final double fillRatio;
+
+    GraphSizes(int vertices, long arcs, int maxDegree, double fillRatio) {
+        this.vertices = vertices;
+        this.arcs = arcs;
+        this.maxDegree = maxDegree;
+        this.fillRatio = fillRatio;
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the number of arcs, an undirected edge counts as two.
+     */
+    public long getArcs() {
+        return arcs;
+    }
+
+    /**
+     * @return the highest out-degree of a vertex.
+     */
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * Gets the share of the adjacency matrix cells holding an arc, for matrix-backed graphs.
+     * @return the fill ratio between 0 and 1, NaN if the graph has no matrix.
+     */
+    public double getFillRatio() {
+        return fillRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphSizes{" +
+                "vertices=" + vertices +
+                ", arcs=" + arcs +
+                ", maxDegree=" + maxDegree +
+                ", fillRatio=" + fillRatio +
+                '}';
+    }
+}
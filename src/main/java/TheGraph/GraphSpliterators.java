@@ -0,0 +1,327 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterators behind the stream views of Graph.
+ * They read the graph through its int view and split by ranges of vertex ids, so parallel
+ * streams share the work without copying the graph. The graph must not change while they are used.
+ */
+final class GraphSpliterators {
+    private GraphSpliterators() {
+    }
+
+    /**
+     * Spliterator over a range of vertex ids that splits the range in halves.
+     * @param <T> the type of the elements returned.
+     */
+    private abstract static class IdRangeSpliterator<T> implements Spliterator<T> {
+        final IntGraph<?> graph;
+        int next;
+        final int end;
+
+        IdRangeSpliterator(IntGraph<?> graph, int next, int end) {
+            this.graph = graph;
+            this.next = next;
+            this.end = end;
+        }
+
+        /**
+         * Creates the spliterator of the lower half of a split, the prefix trySplit hands out.
+         */
+        abstract IdRangeSpliterator<T> split(int from, int to);
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (next + end) >>> 1;
+            if (mid <= next)
+                return null;
+            IdRangeSpliterator<T> prefix = split(next, mid);
+            next = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+    }
+
+    /**
+     * Creates a spliterator over the keys of every vertex.
+     * It is sized when the ids have no holes, which is the case until a vertex is removed.
+     */
+    static <E> Spliterator<E> vertices(IntGraph<E> graph, int vertexCount) {
+        boolean dense = vertexCount == graph.idBound();
+        return new VertexSpliterator<>(graph, 0, graph.idBound(), dense);
+    }
+
+    private static final class VertexSpliterator<E> extends IdRangeSpliterator<E> {
+        private final boolean dense;
+
+        VertexSpliterator(IntGraph<E> graph, int next, int end, boolean dense) {
+            super(graph, next, end);
+            this.dense = dense;
+        }
+
+        @SuppressWarnings("unchecked")
+        private E key(int id) {
+            return ((IntGraph<E>) graph).keyOf(id);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        IdRangeSpliterator<E> split(int from, int to) {
+            return new VertexSpliterator<>((IntGraph<E>) graph, from, to, dense);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            while (next < end) {
+                E key = key(next++);
+                if (key != null) {
+                    action.accept(key);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (; next < end; next++) {
+                E key = key(next);
+                if (key != null)
+                    action.accept(key);
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            int sized = dense ? SIZED | SUBSIZED : 0;
+            return ORDERED | DISTINCT | NONNULL | sized;
+        }
+    }
+
+    /**
+     * Creates a spliterator over the sources of the arcs that reach a vertex, found by asking every vertex for the arc.
+     */
+    static <E> Spliterator<E> inNeighbors(IntGraph<E> graph, int dest) {
+        return new InNeighborSpliterator<>(graph, dest, 0, graph.idBound());
+    }
+
+    private static final class InNeighborSpliterator<E> extends IdRangeSpliterator<E> {
+        private final int dest;
+
+        InNeighborSpliterator(IntGraph<E> graph, int dest, int next, int end) {
+            super(graph, next, end);
+            this.dest = dest;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        IdRangeSpliterator<E> split(int from, int to) {
+            return new InNeighborSpliterator<>((IntGraph<E>) graph, dest, from, to);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            while (next < end) {
+                int src = next++;
+                E key = ((IntGraph<E>) graph).keyOf(src);
+                if (key != null && graph.hasArc(src, dest)) {
+                    action.accept(key);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL;
+        }
+    }
+
+    /**
+     * Creates a spliterator over the out-neighbours of a vertex.
+     */
+    static <E> Spliterator<E> neighbors(IntGraph<E> graph, int src) {
+        return new NeighborSpliterator<>(graph, graph.neighbors(src), graph.degree(src));
+    }
+
+    /**
+     * Spliterator over the neighbour iterator of one vertex. Splitting hands a batch of ids to the prefix,
+     * which is enough for the degrees of a single vertex.
+     */
+    private static final class NeighborSpliterator<E> implements Spliterator<E> {
+        private final IntGraph<E> graph;
+        private final PrimitiveIterator.OfInt ids;
+        private long left;
+
+        NeighborSpliterator(IntGraph<E> graph, PrimitiveIterator.OfInt ids, long left) {
+            this.graph = graph;
+            this.ids = ids;
+            this.left = left;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (!ids.hasNext())
+                return false;
+            left--;
+            action.accept(graph.keyOf(ids.nextInt()));
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (left < 2)
+                return null;
+            int batch = (int) (left / 2);
+            int[] prefix = new int[batch];
+            for (int i = 0; i < batch; i++)
+                prefix[i] = ids.nextInt();
+            left -= batch;
+            return new NeighborSpliterator<>(graph, Arrays.stream(prefix).iterator(), batch);
+        }
+
+        @Override
+        public long estimateSize() {
+            return left;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * Creates a spliterator over every arc of the graph, grouped by source vertex.
+     */
+    static <E> Spliterator<Arc<E>> arcs(IntGraph<E> graph) {
+        return new ArcSpliterator<>(graph, 0, graph.idBound(), averageDegree(graph));
+    }
+
+    /**
+     * Number of vertex ids sampled to estimate the average degree.
+     */
+    private static final int DEGREE_SAMPLES = 64;
+
+    /**
+     * Estimates the arcs per vertex id from the degrees of evenly spaced ids, holes counting as 0.
+     */
+    private static double averageDegree(IntGraph<?> graph) {
+        int bound = graph.idBound();
+        if (bound == 0)
+            return 0;
+        int step = Math.max(1, bound / DEGREE_SAMPLES);
+        long arcs = 0;
+        int sampled = 0;
+        for (int id = 0; id < bound; id += step, sampled++) {
+            if (graph.keyOf(id) != null)
+                arcs += graph.degree(id);
+        }
+        return (double) arcs / sampled;
+    }
+
+    /**
+     * Spliterator over the arcs of a range of sources. tryAdvance copies the arcs of one source at a time,
+     * weights included, from a single forEachNeighbor call, so no arc needs a weight lookup of its own.
+     * The size is estimated from a sample of degrees and is not exact, so the spliterator isn't SIZED.
+     */
+    private static final class ArcSpliterator<E> extends IdRangeSpliterator<Arc<E>> {
+        private final double averageDegree;
+        private int[] dests = new int[16];
+        private double[] weights = new double[16];
+        private int count;
+        private int position;
+        private E currentSrc;
+
+        ArcSpliterator(IntGraph<E> graph, int next, int end, double averageDegree) {
+            super(graph, next, end);
+            this.averageDegree = averageDegree;
+        }
+
+        @SuppressWarnings("unchecked")
+        private IntGraph<E> ints() {
+            return (IntGraph<E>) graph;
+        }
+
+        @Override
+        IdRangeSpliterator<Arc<E>> split(int from, int to) {
+            return new ArcSpliterator<>(ints(), from, to, averageDegree);
+        }
+
+        @Override
+        public Spliterator<Arc<E>> trySplit() {
+            // The arcs of the vertex being read stay with this spliterator.
+            return position < count ? null : super.trySplit();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Arc<E>> action) {
+            while (position == count) {
+                if (next >= end)
+                    return false;
+                load(next++);
+            }
+            action.accept(arc(position++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Arc<E>> action) {
+            while (position < count)
+                action.accept(arc(position++));
+            IntGraph<E> ints = ints();
+            boolean weighted = ints.isWeighted();
+            for (; next < end; next++) {
+                E src = ints.keyOf(next);
+                if (src == null)
+                    continue;
+                ints.forEachNeighbor(next, (dest, weight) ->
+                        action.accept(new Arc<>(src, ints.keyOf(dest), weighted ? weight : null)));
+            }
+        }
+
+        /**
+         * Copies the arcs of a source into the buffers, which are left empty if the id is a hole.
+         */
+        private void load(int src) {
+            count = 0;
+            position = 0;
+            currentSrc = ints().keyOf(src);
+            if (currentSrc == null)
+                return;
+            ints().forEachNeighbor(src, (dest, weight) -> {
+                if (count == dests.length) {
+                    dests = Arrays.copyOf(dests, count * 2);
+                    weights = Arrays.copyOf(weights, count * 2);
+                }
+                dests[count] = dest;
+                weights[count++] = weight;
+            });
+        }
+
+        private Arc<E> arc(int index) {
+            IntGraph<E> ints = ints();
+            return new Arc<>(currentSrc, ints.keyOf(dests[index]), ints.isWeighted() ? weights[index] : null);
+        }
+
+        @Override
+        public long estimateSize() {
+            return (count - position) + (long) Math.ceil((end - next) * averageDegree);
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+}
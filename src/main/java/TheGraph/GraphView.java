@@ -0,0 +1,558 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of another graph: an induced subgraph, a graph with some arcs filtered out, or the
+ * graph with every arc reversed. It is made with Graph.inducedSubgraph, filterEdges and reverse, and
+ * views of views stack.
+ * Nothing is copied: the view keeps the ids of its parent and answers every query from the parent's
+ * storage, hiding the vertices outside a bitset mask over the ids and the arcs the predicate rejects.
+ * Changes to the parent show through; the parent's int view is fetched again and the mask rebuilt from
+ * the chosen elements when the parent's modCount moves. Reversed views can't list in-neighbours from the
+ * parent's out-lists, so the first traversal builds a transposed index of source ids, with their weights
+ * only if the graph is weighted, rebuilt the same way. Arc filters test ids and weights; an Arc is only built for predicates on Arc.
+ * Every mutator throws UnsupportedOperationException.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class GraphView<E> extends Graph<E> implements Traversable<E> {
+    private record Mask(long version, BitSet ids, int count) {
+    }
+
+    /**
+     * Int view of the parent as of a modification count; a graph may hand out a new one after it changes.
+     */
+    private record ParentInts<E>(long version, IntGraph<E> ints) {
+    }
+
+    /**
+     * In-arcs of every vertex of the parent; weights is null if the graph is unweighted.
+     */
+    private record Transpose(long version, int[] offsets, int[] sources, double[] weights) {
+        double weight(int e) {
+            return weights == null ? 1.0 : weights[e];
+        }
+    }
+
+    private final Graph<E> parent;
+    private volatile ParentInts<E> parentInts;
+    private final Set<E> vertices;
+    private final IntGraph.ArcPredicate arcFilter;
+    private final boolean reversed;
+    private volatile Mask mask;
+    private volatile Transpose transpose;
+
+    /**
+     * Constructor for GraphView class.
+     * @param parent the graph seen through the view.
+     * @param vertices the elements of the vertices kept, null to keep them all.
+     * @param arcFilter the test an arc must pass to be kept, on ids of the parent oriented as seen by the view,
+     * null to keep them all.
+     * @param reversed whether every arc is seen the other way around.
+     */
+    GraphView(Graph<E> parent, Set<E> vertices, IntGraph.ArcPredicate arcFilter, boolean reversed) {
+        super(parent.isWeighted);
+        this.parent = parent;
+        this.vertices = vertices == null ? null : new HashSet<>(vertices);
+        this.arcFilter = arcFilter;
+        this.reversed = reversed;
+    }
+
+    /**
+     * @return the graph seen through this view.
+     */
+    public Graph<E> getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the modification counter of the parent, views can't be changed themselves.
+     */
+    @Override
+    public long modCount() {
+        return parent.modCount();
+    }
+
+    /**
+     * Gets the int view of the parent, fetched again whenever the parent's modCount moves.
+     */
+    private IntGraph<E> parentInts() {
+        ParentInts<E> current = parentInts;
+        long version = parent.modCount();
+        if (current == null || current.version() != version) {
+            current = new ParentInts<>(version, parent.asIntGraph());
+            parentInts = current;
+        }
+        return current.ints();
+    }
+
+    private Mask mask() {
+        Mask current = mask;
+        long version = parent.modCount();
+        if (current == null || current.version() != version) {
+            IntGraph<E> ints = parentInts();
+            BitSet ids = new BitSet(ints.idBound());
+            for (E key : vertices) {
+                int id = key == null ? -1 : ints.idOf(key);
+                if (id != -1)
+                    ids.set(id);
+            }
+            current = new Mask(version, ids, ids.cardinality());
+            mask = current;
+        }
+        return current;
+    }
+
+    private Transpose transpose() {
+        Transpose current = transpose;
+        long version = parent.modCount();
+        if (current == null || current.version() != version) {
+            IntGraph<E> ints = parentInts();
+            int bound = ints.idBound();
+            int[] offsets = new int[bound + 1];
+            for (int id = 0; id < bound; id++) {
+                if (ints.keyOf(id) != null)
+                    ints.forEachNeighbor(id, (dest, weight) -> offsets[dest + 1]++);
+            }
+            for (int id = 0; id < bound; id++)
+                offsets[id + 1] += offsets[id];
+            int[] fill = Arrays.copyOf(offsets, bound);
+            int[] sources = new int[offsets[bound]];
+            double[] weights = isWeighted ? new double[offsets[bound]] : null;
+            for (int id = 0; id < bound; id++) {
+                if (ints.keyOf(id) == null)
+                    continue;
+                int src = id;
+                ints.forEachNeighbor(id, (dest, weight) -> {
+                    if (weights != null)
+                        weights[fill[dest]] = weight;
+                    sources[fill[dest]++] = src;
+                });
+            }
+            current = new Transpose(version, offsets, sources, weights);
+            transpose = current;
+        }
+        return current;
+    }
+
+    /**
+     * Checks whether an id belongs to a vertex of the view.
+     */
+    private boolean contains(int id) {
+        IntGraph<E> ints = parentInts();
+        if (id < 0 || id >= ints.idBound() || ints.keyOf(id) == null)
+            return false;
+        return vertices == null || mask().ids().get(id);
+    }
+
+    /**
+     * Checks whether an arc of the parent, already oriented as seen by the view, is kept.
+     */
+    private boolean accepts(int src, int dest, double weight) {
+        return contains(dest) && (arcFilter == null || arcFilter.test(src, dest, weight));
+    }
+
+    private void checkId(int id) {
+        if (!contains(id))
+            throw new IllegalArgumentException("No vertex with id " + id);
+    }
+
+    // Read-only
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("GraphView is read-only");
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        throw readOnly();
+    }
+
+    // Queries
+
+    @Override
+    public int vertexCount() {
+        return vertices == null ? parent.vertexCount() : mask().count();
+    }
+
+    /**
+     * Get the weight of the arc between two vertices.
+     * @param src the source vertex of the arc.
+     * @param dest the destination vertex of the arc.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or the arc isn't in the view.
+     */
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        int s = intView.idOf(src);
+        int d = intView.idOf(dest);
+        if (!isWeighted || s == -1 || d == -1)
+            return null;
+        double weight = intView.arcWeight(s, d);
+        return Double.isNaN(weight) ? null : weight;
+    }
+
+    /**
+     * Get the weight of the edge between two vertices.
+     * @param src one vertex of the edge.
+     * @param dest the other vertex of the edge.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or there are not arcs both ways.
+     */
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        Double weight = getArcWeight(src, dest);
+        if (weight == null || getArcWeight(dest, src) == null)
+            return null;
+        return weight;
+    }
+
+    /**
+     * Establishes the route starting from src vertex in depth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void DFS(E src) {
+        int start = intView.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("DFS:");
+        int n = intView.idBound();
+        boolean[] visited = new boolean[n];
+        PrimitiveIterator.OfInt[] stack = new PrimitiveIterator.OfInt[n];
+        int top = 0;
+        stack[0] = intView.neighbors(start);
+        visited[start] = true;
+        System.out.print(src + " -> ");
+        while (top >= 0) {
+            if (!stack[top].hasNext()) {
+                stack[top--] = null;
+                continue;
+            }
+            int neighbour = stack[top].nextInt();
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                System.out.print(intView.keyOf(neighbour) + " -> ");
+                stack[++top] = intView.neighbors(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Establishes the route starting from src vertex in breadth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void BFS(E src) {
+        int start = intView.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("\nBFS");
+        boolean[] visited = new boolean[intView.idBound()];
+        int[] queue = new int[intView.idBound()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = true;
+        while (head < tail) {
+            int current = queue[head++];
+            System.out.print(intView.keyOf(current) + " -> ");
+            PrimitiveIterator.OfInt it = intView.neighbors(current);
+            while (it.hasNext()) {
+                int neighbour = it.nextInt();
+                if (!visited[neighbour]) {
+                    visited[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimates the heap used by the parent graph, which holds every vertex and arc the view shows.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint of the parent.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        return parent.memoryFootprint(bytesPerKey);
+    }
+
+    /**
+     * Gets a view of the graph that works with the ids of the parent. Ids of hidden vertices have no key.
+     * Its addArc methods throw UnsupportedOperationException.
+     * @return the int view, backed by the parent.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            int id = key == null ? -1 : parentInts().idOf(key);
+            return contains(id) ? id : -1;
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return contains(id) ? parentInts().keyOf(id) : null;
+        }
+
+        @Override
+        public int idBound() {
+            return parentInts().idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            return !Double.isNaN(arcWeight(src, dest));
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            if (!contains(src))
+                return Double.NaN;
+            double weight = reversed ? parentInts().arcWeight(dest, src) : parentInts().arcWeight(src, dest);
+            if (Double.isNaN(weight) || !accepts(src, dest, weight))
+                return Double.NaN;
+            return weight;
+        }
+
+        @Override
+        public int degree(int id) {
+            checkId(id);
+            if (vertices == null && arcFilter == null && !reversed)
+                return parentInts().degree(id);
+            int[] count = {0};
+            forEachNeighbor(id, (dest, weight) -> count[0]++);
+            return count[0];
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            checkId(id);
+            if (reversed)
+                return new TransposeNeighbors(id, transpose());
+            if (vertices == null && arcFilter == null)
+                return parentInts().neighbors(id);
+            if (arcFilter == null || !isWeighted)
+                return new ParentNeighbors(id, parentInts().neighbors(id));
+            // The parent's iterator has no weights and arcWeight may scan the list,
+            // so the arcs the filter keeps are collected in one forEachNeighbor pass.
+            int[][] buffer = {new int[8]};
+            int[] size = {0};
+            forEachNeighbor(id, (dest, weight) -> {
+                if (size[0] == buffer[0].length)
+                    buffer[0] = Arrays.copyOf(buffer[0], size[0] * 2);
+                buffer[0][size[0]++] = dest;
+            });
+            return Arrays.stream(buffer[0], 0, size[0]).iterator();
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            checkId(id);
+            if (!reversed) {
+                parentInts().forEachNeighbor(id, (dest, weight) -> {
+                    if (accepts(id, dest, weight))
+                        action.accept(dest, weight);
+                });
+                return;
+            }
+            Transpose t = transpose();
+            for (int e = t.offsets()[id]; e < t.offsets()[id + 1]; e++) {
+                int src = t.sources()[e];
+                double weight = t.weight(e);
+                if (accepts(id, src, weight))
+                    action.accept(src, weight);
+            }
+        }
+    };
+
+    /**
+     * Neighbour iterator that finds the next arc kept by the view only when asked for it.
+     */
+    private abstract class FilteredNeighbors implements PrimitiveIterator.OfInt {
+        final int src;
+        private int next = -2;
+
+        FilteredNeighbors(int src) {
+            this.src = src;
+        }
+
+        /**
+         * @return the next neighbour the view keeps, -1 if there are no more.
+         */
+        abstract int advance();
+
+        @Override
+        public boolean hasNext() {
+            if (next == -2)
+                next = advance();
+            return next != -1;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            int current = next;
+            next = -2;
+            return current;
+        }
+    }
+
+    /**
+     * Out-neighbours read from the parent's iterator, for views whose filter doesn't need real weights.
+     */
+    private final class ParentNeighbors extends FilteredNeighbors {
+        private final PrimitiveIterator.OfInt it;
+
+        ParentNeighbors(int src, PrimitiveIterator.OfInt it) {
+            super(src);
+            this.it = it;
+        }
+
+        @Override
+        int advance() {
+            while (it.hasNext()) {
+                int candidate = it.nextInt();
+                if (accepts(src, candidate, 1.0))
+                    return candidate;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * In-neighbours of the parent read from the transposed index, for reversed views.
+     */
+    private final class TransposeNeighbors extends FilteredNeighbors {
+        private final Transpose transpose;
+        private int e;
+        private final int end;
+
+        TransposeNeighbors(int src, Transpose transpose) {
+            super(src);
+            this.transpose = transpose;
+            this.e = transpose.offsets()[src];
+            this.end = transpose.offsets()[src + 1];
+        }
+
+        @Override
+        int advance() {
+            while (e < end) {
+                int candidate = transpose.sources()[e];
+                double weight = transpose.weight(e++);
+                if (accepts(src, candidate, weight))
+                    return candidate;
+            }
+            return -1;
+        }
+    }
+
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        for (int id = 0; id < intView.idBound(); id++) {
+            E key = intView.keyOf(id);
+            if (key != null)
+                action.accept(key);
+        }
+    }
+
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        for (int id = 0; id < intView.idBound(); id++) {
+            E key = intView.keyOf(id);
+            if (key == null)
+                continue;
+            intView.forEachNeighbor(id, (dest, weight) ->
+                    action.accept(key, intView.keyOf(dest), isWeighted ? weight : null));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        st.append("Lista de Adyacencia:\n");
+        forEachVertex(key -> {
+            st.append(key);
+            st.append(" ->");
+            intView.forEachNeighbor(intView.idOf(key), (dest, weight) -> {
+                st.append(' ').append(intView.keyOf(dest));
+                if (isWeighted)
+                    st.append(String.format(" (%.2f)", weight));
+            });
+            st.append("\n");
+        });
+        return st.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package TheGraph;
+
+/**
+ * Graph that measures the calls made to another graph.
+ * Every operation is counted and timed into a GraphMetrics, and DFS/BFS runs slower than the
+ * threshold of TraversalEvent are committed to JDK Flight Recorder when a recording is active.
+ * Measuring can be switched off at any time, then each call costs one extra volatile read.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class InstrumentedGraph<E> extends ForwardingGraph<E> {
+    private final GraphMetrics metrics;
+    private volatile boolean enabled;
+
+    /**
+     * Constructor for InstrumentedGraph class, measuring from the start.
+     * @param delegate the graph to be measured.
+     */
+    public InstrumentedGraph(Graph<E> delegate) {
+        this(delegate, new GraphMetrics());
+    }
+
+    /**
+     * Constructor for InstrumentedGraph class recording into existing metrics, so several graphs can share them.
+     * @param delegate the graph to be measured.
+     * @param metrics the metrics the calls are recorded into.
+     */
+    public InstrumentedGraph(Graph<E> delegate, GraphMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+        this.enabled = true;
+    }
+
+    /**
+     * Switches the measurements on or off.
+     * @param enabled true to measure the calls.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the counters and histograms of the calls.
+     */
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void record(GraphOperation op, long start) {
+        metrics.record(op, System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean addVertex(E obj) {
+        if (!enabled)
+            return delegate.addVertex(obj);
+        long start = System.nanoTime();
+        boolean result = delegate.addVertex(obj);
+        record(GraphOperation.ADD_VERTEX, start);
+        return result;
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest) {
+        if (!enabled)
+            return delegate.addEdge(src, dest);
+        long start = System.nanoTime();
+        boolean result = delegate.addEdge(src, dest);
+        record(GraphOperation.ADD_EDGE, start);
+        return result;
+    }
+
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        if (!enabled)
+            return delegate.addEdge(src, dest, weight);
+        long start = System.nanoTime();
+        boolean result = delegate.addEdge(src, dest, weight);
+        record(GraphOperation.ADD_EDGE, start);
+        return result;
+    }
+
+    @Override
+    public boolean addArc(E src, E dest) {
+        if (!enabled)
+            return delegate.addArc(src, dest);
+        long start = System.nanoTime();
+        boolean result = delegate.addArc(src, dest);
+        record(GraphOperation.ADD_ARC, start);
+        return result;
+    }
+
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        if (!enabled)
+            return delegate.addArc(src, dest, weight);
+        long start = System.nanoTime();
+        boolean result = delegate.addArc(src, dest, weight);
+        record(GraphOperation.ADD_ARC, start);
+        return result;
+    }
+
+    @Override
+    public boolean removeVertex(E obj) {
+        if (!enabled)
+            return delegate.removeVertex(obj);
+        long start = System.nanoTime();
+        boolean result = delegate.removeVertex(obj);
+        record(GraphOperation.REMOVE_VERTEX, start);
+        return result;
+    }
+
+    @Override
+    public boolean removeArc(E src, E dest) {
+        if (!enabled)
+            return delegate.removeArc(src, dest);
+        long start = System.nanoTime();
+        boolean result = delegate.removeArc(src, dest);
+        record(GraphOperation.REMOVE_ARC, start);
+        return result;
+    }
+
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        if (!enabled)
+            return delegate.removeEdge(src, dest);
+        long start = System.nanoTime();
+        boolean result = delegate.removeEdge(src, dest);
+        record(GraphOperation.REMOVE_EDGE, start);
+        return result;
+    }
+
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        if (!enabled)
+            return delegate.updateArc(src, dest, weight);
+        long start = System.nanoTime();
+        boolean result = delegate.updateArc(src, dest, weight);
+        record(GraphOperation.UPDATE_ARC, start);
+        return result;
+    }
+
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        if (!enabled)
+            return delegate.updateEdge(src, dest, weight);
+        long start = System.nanoTime();
+        boolean result = delegate.updateEdge(src, dest, weight);
+        record(GraphOperation.UPDATE_EDGE, start);
+        return result;
+    }
+
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        if (!enabled)
+            return delegate.getArcWeight(src, dest);
+        long start = System.nanoTime();
+        Double result = delegate.getArcWeight(src, dest);
+        record(GraphOperation.GET_ARC_WEIGHT, start);
+        return result;
+    }
+
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        if (!enabled)
+            return delegate.getEdgeWeight(src, dest);
+        long start = System.nanoTime();
+        Double result = delegate.getEdgeWeight(src, dest);
+        record(GraphOperation.GET_EDGE_WEIGHT, start);
+        return result;
+    }
+
+    @Override
+    public void DFS(E src) {
+        if (!enabled) {
+            super.DFS(src);
+            return;
+        }
+        TraversalEvent event = new TraversalEvent();
+        event.begin();
+        long start = System.nanoTime();
+        super.DFS(src);
+        record(GraphOperation.DFS, start);
+        commit(event, GraphOperation.DFS, src);
+    }
+
+    @Override
+    public void BFS(E src) {
+        if (!enabled) {
+            super.BFS(src);
+            return;
+        }
+        TraversalEvent event = new TraversalEvent();
+        event.begin();
+        long start = System.nanoTime();
+        super.BFS(src);
+        record(GraphOperation.BFS, start);
+        commit(event, GraphOperation.BFS, src);
+    }
+
+    private void commit(TraversalEvent event, GraphOperation op, E src) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = op.name();
+            event.source = String.valueOf(src);
+            event.vertices = delegate.vertexCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Measures the current shape of the graph by visiting the degree of every vertex.
+     * It takes time proportional to the number of vertices, or to the matrix size for MarioGraph.
+     * @return the vertices, arcs, highest degree and, for MarioGraph, the share of matrix cells in use.
+     */
+    public GraphSizes sizes() {
+        IntGraph<E> ints = delegate.asIntGraph();
+        long arcs = 0;
+        int maxDegree = 0;
+        for (int id = 0; id < ints.idBound(); id++) {
+            if (ints.keyOf(id) == null)
+                continue;
+            int degree = ints.degree(id);
+            arcs += degree;
+            maxDegree = Math.max(maxDegree, degree);
+        }
+        double fillRatio = Double.NaN;
+        if (delegate instanceof MarioGraph<E> mario) {
+            long cells = (long) mario.capacity() * mario.capacity();
+            fillRatio = cells == 0 ? 0 : (double) arcs / cells;
+        }
+        return new GraphSizes(delegate.vertexCount(), arcs, maxDegree, fillRatio);
+    }
+}
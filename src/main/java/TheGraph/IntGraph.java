@@ -0,0 +1,122 @@
+package TheGraph;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * View of a graph through the dense int ids of its vertices.
+ * Hot loops can work with ids and primitive iterators, mapping back to keys only when they need to.
+ * Ids come from a VertexDictionary, so they are lower than idBound() but may have holes where a vertex was removed.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public interface IntGraph<E> {
+    /**
+     * Receives the neighbours of a vertex when they are traversed with forEachNeighbor.
+     */
+    @FunctionalInterface
+    interface NeighborConsumer {
+        /**
+         * Receives one arc.
+         * @param dest the id of the destination vertex.
+         * @param weight the weight of the arc, 1.0 if the graph is unweighted.
+         */
+        void accept(int dest, double weight);
+    }
+
+    /**
+     * Tests an arc by the ids of its vertices and its weight, without building an Arc.
+     */
+    @FunctionalInterface
+    interface ArcPredicate {
+        /**
+         * Tests one arc.
+         * @param src the id of the source vertex.
+         * @param dest the id of the destination vertex.
+         * @param weight the weight of the arc, 1.0 if the graph is unweighted.
+         * @return true to keep the arc.
+         */
+        boolean test(int src, int dest, double weight);
+    }
+
+    /**
+     * Gets the id of a vertex.
+     * @param key the key of the vertex.
+     * @return the id of the vertex, -1 if it doesn't exist.
+     */
+    int idOf(E key);
+
+    /**
+     * Gets the key of a vertex.
+     * @param id the id of the vertex.
+     * @return the key of the vertex, null if no vertex has that id.
+     */
+    E keyOf(int id);
+
+    /**
+     * Gets a bound for the ids: every vertex id is lower than it.
+     * @return the exclusive upper bound of the ids.
+     */
+    int idBound();
+
+    /**
+     * Indicates whether the graph is weighted or not.
+     * @return true if the arcs have weights.
+     */
+    boolean isWeighted();
+
+    /**
+     * Adds an unweighted arc between two vertices.
+     * @param src the id of the source vertex.
+     * @param dest the id of the destination vertex.
+     * @return true if the arc was added, false if the graph is weighted, an id doesn't exist or the arc already exists.
+     */
+    boolean addArc(int src, int dest);
+
+    /**
+     * Adds a weighted arc between two vertices.
+     * @param src the id of the source vertex.
+     * @param dest the id of the destination vertex.
+     * @param weight the weight of the arc.
+     * @return true if the arc was added, false if the graph is unweighted, an id doesn't exist or the arc already exists.
+     */
+    boolean addArc(int src, int dest, double weight);
+
+    /**
+     * Checks whether there is an arc between two vertices.
+     * @param src the id of the source vertex.
+     * @param dest the id of the destination vertex.
+     * @return true if the arc exists, false if it doesn't or an id doesn't exist.
+     */
+    boolean hasArc(int src, int dest);
+
+    /**
+     * Gets the weight of an arc.
+     * @param src the id of the source vertex.
+     * @param dest the id of the destination vertex.
+     * @return the weight of the arc, 1.0 if the graph is unweighted, NaN if the arc doesn't exist.
+     */
+    double arcWeight(int src, int dest);
+
+    /**
+     * Gets the out-degree of a vertex.
+     * @param id the id of the vertex.
+     * @return the number of arcs leaving the vertex.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    int degree(int id);
+
+    /**
+     * Iterates over the ids of the out-neighbours of a vertex, without boxing them.
+     * @param id the id of the vertex.
+     * @return an iterator over the neighbour ids.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    PrimitiveIterator.OfInt neighbors(int id);
+
+    /**
+     * Visits every arc leaving a vertex together with its weight.
+     * @param id the id of the vertex.
+     * @param action receives each neighbour id and arc weight.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    void forEachNeighbor(int id, NeighborConsumer action);
+}
@@ -0,0 +1,72 @@
+package TheGraph;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads vertex keys in binary form, used by the graphs that persist their vertices.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public interface KeyCodec<E> {
+    /**
+     * Codec for String keys, stored as modified UTF-8.
+     */
+    KeyCodec<String> STRING = new KeyCodec<>() {
+        @Override
+        public void write(DataOutput out, String key) throws IOException {
+            out.writeUTF(key);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    /**
+     * Codec for Integer keys, stored in four bytes.
+     */
+    KeyCodec<Integer> INTEGER = new KeyCodec<>() {
+        @Override
+        public void write(DataOutput out, Integer key) throws IOException {
+            out.writeInt(key);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /**
+     * Codec for Long keys, stored in eight bytes.
+     */
+    KeyCodec<Long> LONG = new KeyCodec<>() {
+        @Override
+        public void write(DataOutput out, Long key) throws IOException {
+            out.writeLong(key);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    /**
+     * Writes a key.
+     * @param out the output the key is written to.
+     * @param key the key to be written, never null.
+     * @throws IOException if the output fails.
+     */
+    void write(DataOutput out, E key) throws IOException;
+
+    /**
+     * Reads a key previously written with write.
+     * @param in the input the key is read from.
+     * @return the key read.
+     * @throws IOException if the input fails or is truncated.
+     */
+    E read(DataInput in) throws IOException;
+}
@@ -0,0 +1,370 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Community detection with the Louvain method, maximising modularity.
+ * The arcs are taken as undirected weighted links (an arc and its reverse add up), so graphs built
+ * with addEdge(E, E, double) are used as they are; unweighted arcs weigh 1.
+ * Each level moves vertices to the neighbouring community with the best modularity gain until
+ * the gain of a pass is negligible, then merges every community into a single vertex and repeats
+ * on the coarsened graph. The moving passes run in parallel on the common fork/join pool: threads
+ * read each other's moves as they happen, and the community totals are recomputed exactly after
+ * every pass so the races can't accumulate.
+ */
+public final class Louvain {
+    private static final double DEFAULT_MIN_GAIN = 1e-7;
+    private static final int DEFAULT_MAX_PASSES = 32;
+
+    private Louvain() {
+    }
+
+    /**
+     * Undirected weighted graph in compressed sparse row form. Every link appears in the rows of both
+     * ends; a self-loop appears once in its row.
+     */
+    private static final class Csr {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        final double[] strength;
+        final double total;
+
+        Csr(int n, int[] offsets, int[] targets, double[] weights) {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.strength = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                for (int e = offsets[i]; e < offsets[i + 1]; e++)
+                    strength[i] += weights[e];
+                sum += strength[i];
+            }
+            this.total = sum;
+        }
+    }
+
+    /**
+     * Open addressing map from community to weight, reused between vertices by one thread.
+     */
+    private static final class WeightTable {
+        int[] keys = new int[16];
+        double[] values = new double[16];
+        int[] used = new int[16];
+        int size;
+
+        WeightTable() {
+            Arrays.fill(keys, -1);
+        }
+
+        void reset(int expected) {
+            for (int i = 0; i < size; i++)
+                keys[used[i]] = -1;
+            size = 0;
+            if (keys.length < expected * 2) {
+                int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+                keys = new int[capacity];
+                values = new double[capacity];
+                used = new int[capacity];
+                Arrays.fill(keys, -1);
+            }
+        }
+
+        void add(int key, double value) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != -1 && keys[slot] != key)
+                slot = (slot + 1) & mask;
+            if (keys[slot] == -1) {
+                keys[slot] = key;
+                values[slot] = 0;
+                used[size++] = slot;
+            }
+            values[slot] += value;
+        }
+
+        double get(int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != -1) {
+                if (keys[slot] == key)
+                    return values[slot];
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Detects communities with the default settings: passes stop below a modularity gain of 1e-7,
+     * with at most 32 passes per level.
+     * @param graph the graph to be partitioned.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the community of every vertex and the modularity.
+     */
+    public static <E> Communities<E> detect(Graph<E> graph) {
+        return detect(graph, DEFAULT_MIN_GAIN, DEFAULT_MAX_PASSES);
+    }
+
+    /**
+     * Detects communities.
+     * @param graph the graph to be partitioned.
+     * @param minGain the modularity gain below which a level stops moving vertices.
+     * @param maxPasses the most passes over the vertices in one level.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the community of every vertex and the modularity.
+     */
+    public static <E> Communities<E> detect(Graph<E> graph, double minGain, int maxPasses) {
+        if (maxPasses <= 0)
+            throw new IllegalArgumentException("maxPasses must be positive: " + maxPasses);
+        IntGraph<E> ints = graph.asIntGraph();
+        int[] ids = VertexOrdering.current(ints);
+        Csr original = symmetric(ints, ids);
+        int n = original.n;
+        int[] membership = new int[n];
+        for (int i = 0; i < n; i++)
+            membership[i] = i;
+
+        List<Communities.Level> levels = new ArrayList<>();
+        Csr current = original;
+        while (current.total > 0) {
+            long start = System.nanoTime();
+            int[] community = new int[current.n];
+            for (int i = 0; i < current.n; i++)
+                community[i] = i;
+            int[] passes = new int[1];
+            long moves = localMoving(current, community, minGain, maxPasses, passes);
+            if (moves == 0)
+                break;
+            int[] renumbered = new int[current.n];
+            Arrays.fill(renumbered, -1);
+            int count = 0;
+            for (int i = 0; i < current.n; i++) {
+                if (renumbered[community[i]] == -1)
+                    renumbered[community[i]] = count++;
+            }
+            for (int i = 0; i < current.n; i++)
+                community[i] = renumbered[community[i]];
+            for (int v = 0; v < n; v++)
+                membership[v] = community[membership[v]];
+            boolean coarsened = count < current.n;
+            current = aggregate(current, community, count);
+            levels.add(new Communities.Level(count, modularity(original, membership), passes[0], moves,
+                    System.nanoTime() - start));
+            if (!coarsened)
+                break;
+        }
+
+        Map<E, Integer> communityOf = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++)
+            communityOf.put(ints.keyOf(ids[i]), membership[i]);
+        return new Communities<>(communityOf, current.n, modularity(original, membership), levels);
+    }
+
+    /**
+     * Builds the undirected view of a graph, adding every arc to the rows of both its ends.
+     */
+    private static <E> Csr symmetric(IntGraph<E> ints, int[] ids) {
+        int n = ids.length;
+        int[] dense = new int[ints.idBound()];
+        for (int i = 0; i < n; i++)
+            dense[ids[i]] = i;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int from = i;
+            ints.forEachNeighbor(ids[i], (dest, weight) -> {
+                offsets[from + 1]++;
+                offsets[dense[dest] + 1]++;
+            });
+        }
+        for (int i = 0; i < n; i++)
+            offsets[i + 1] += offsets[i];
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int from = i;
+            ints.forEachNeighbor(ids[i], (dest, weight) -> {
+                int to = dense[dest];
+                targets[fill[from]] = to;
+                weights[fill[from]++] = weight;
+                targets[fill[to]] = from;
+                weights[fill[to]++] = weight;
+            });
+        }
+        return new Csr(n, offsets, targets, weights);
+    }
+
+    /**
+     * Moves vertices between communities until a pass gains less than minGain.
+     * @param passes receives the number of passes in its first slot.
+     * @return the number of moves made.
+     */
+    private static long localMoving(Csr g, int[] community, double minGain, int maxPasses, int[] passes) {
+        AtomicLongArray totals = new AtomicLongArray(g.n);
+        int chunks = Math.max(1, Math.min(g.n, ForkJoinPool.getCommonPoolParallelism() * 4));
+        int chunkSize = (g.n + chunks - 1) / chunks;
+        // One task per pool thread, each owning its table and taking the next chunk until none are left.
+        WeightTable[] tables = new WeightTable[Math.min(chunks, ForkJoinPool.getCommonPoolParallelism())];
+        for (int t = 0; t < tables.length; t++)
+            tables[t] = new WeightTable();
+        double quality = modularity(g, community);
+        long moves = 0;
+        while (passes[0] < maxPasses) {
+            passes[0]++;
+            recomputeTotals(g, community, totals);
+            LongAdder passMoves = new LongAdder();
+            AtomicInteger nextChunk = new AtomicInteger();
+            IntStream.range(0, tables.length).parallel().forEach(task -> {
+                WeightTable table = tables[task];
+                for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                    int end = Math.min(g.n, (chunk + 1) * chunkSize);
+                    for (int i = chunk * chunkSize; i < end; i++) {
+                        if (moveVertex(g, i, community, totals, table))
+                            passMoves.increment();
+                    }
+                }
+            });
+            moves += passMoves.sum();
+            double next = modularity(g, community);
+            if (passMoves.sum() == 0 || next - quality < minGain)
+                break;
+            quality = next;
+        }
+        return moves;
+    }
+
+    /**
+     * Moves a vertex to the neighbouring community with the best modularity gain, if it beats staying.
+     * The gain of joining community c is proportional to k(i, c) - tot(c) * k(i) / 2m.
+     * @return true if the vertex changed community.
+     */
+    private static boolean moveVertex(Csr g, int i, int[] community, AtomicLongArray totals, WeightTable table) {
+        int own = community[i];
+        double strength = g.strength[i];
+        table.reset(g.offsets[i + 1] - g.offsets[i] + 1);
+        for (int e = g.offsets[i]; e < g.offsets[i + 1]; e++) {
+            int j = g.targets[e];
+            if (j != i)
+                table.add(community[j], g.weights[e]);
+        }
+        double best = table.get(own) - (total(totals, own) - strength) * strength / g.total;
+        int bestCommunity = own;
+        for (int k = 0; k < table.size; k++) {
+            int slot = table.used[k];
+            int candidate = table.keys[slot];
+            if (candidate == own)
+                continue;
+            double gain = table.values[slot] - total(totals, candidate) * strength / g.total;
+            if (gain > best || (gain == best && candidate < bestCommunity && bestCommunity != own)) {
+                best = gain;
+                bestCommunity = candidate;
+            }
+        }
+        if (bestCommunity == own)
+            return false;
+        addTotal(totals, own, -strength);
+        addTotal(totals, bestCommunity, strength);
+        community[i] = bestCommunity;
+        return true;
+    }
+
+    private static double total(AtomicLongArray totals, int c) {
+        return Double.longBitsToDouble(totals.get(c));
+    }
+
+    private static void addTotal(AtomicLongArray totals, int c, double delta) {
+        long bits;
+        do {
+            bits = totals.get(c);
+        } while (!totals.compareAndSet(c, bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + delta)));
+    }
+
+    private static void recomputeTotals(Csr g, int[] community, AtomicLongArray totals) {
+        double[] sums = new double[g.n];
+        for (int i = 0; i < g.n; i++)
+            sums[community[i]] += g.strength[i];
+        for (int c = 0; c < g.n; c++)
+            totals.set(c, Double.doubleToRawLongBits(sums[c]));
+    }
+
+    /**
+     * Merges every community into one vertex; links inside a community become its self-loop.
+     */
+    private static Csr aggregate(Csr g, int[] community, int count) {
+        int[] memberStart = new int[count + 1];
+        for (int i = 0; i < g.n; i++)
+            memberStart[community[i] + 1]++;
+        for (int c = 0; c < count; c++)
+            memberStart[c + 1] += memberStart[c];
+        int[] members = new int[g.n];
+        int[] fill = Arrays.copyOf(memberStart, count);
+        for (int i = 0; i < g.n; i++)
+            members[fill[community[i]]++] = i;
+
+        int[] offsets = new int[count + 1];
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        int size = 0;
+        WeightTable table = new WeightTable();
+        for (int c = 0; c < count; c++) {
+            int links = 0;
+            for (int m = memberStart[c]; m < memberStart[c + 1]; m++)
+                links += g.offsets[members[m] + 1] - g.offsets[members[m]];
+            table.reset(links + 1);
+            for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                int i = members[m];
+                for (int e = g.offsets[i]; e < g.offsets[i + 1]; e++)
+                    table.add(community[g.targets[e]], g.weights[e]);
+            }
+            if (size + table.size > targets.length) {
+                int capacity = Math.max(targets.length * 2, size + table.size);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            for (int k = 0; k < table.size; k++) {
+                int slot = table.used[k];
+                targets[size] = table.keys[slot];
+                weights[size++] = table.values[slot];
+            }
+            offsets[c + 1] = size;
+        }
+        return new Csr(count, offsets, Arrays.copyOf(targets, size), Arrays.copyOf(weights, size));
+    }
+
+    /**
+     * Gets the modularity of a partition: the share of the link weight inside communities minus the
+     * share expected if links were placed at random keeping the strength of every vertex.
+     */
+    private static double modularity(Csr g, int[] community) {
+        if (g.total == 0)
+            return 0;
+        double[] inside = new double[g.n];
+        double[] totals = new double[g.n];
+        for (int i = 0; i < g.n; i++) {
+            totals[community[i]] += g.strength[i];
+            for (int e = g.offsets[i]; e < g.offsets[i + 1]; e++) {
+                if (community[g.targets[e]] == community[i])
+                    inside[community[i]] += g.weights[e];
+            }
+        }
+        double q = 0;
+        for (int c = 0; c < g.n; c++) {
+            if (totals[c] > 0)
+                q += inside[c] / g.total - (totals[c] / g.total) * (totals[c] / g.total);
+        }
+        return q;
+    }
+}
@@ -3,15 +3,30 @@ import exceptions.NullObjectReceivedException;
 import exceptions.WrongGraphMethodException;
 
 import java.util.*;
+import java.util.function.Consumer;
 /**
  * Class implementing a graph with adjacency lists.
  * @param <E> the type of the elements stored in the vertices of the graph
  */
-public class LuigiGraph<E> extends Graph<E>{
+public class LuigiGraph<E> extends Graph<E> implements Traversable<E> {
     /**
-     * The vertexMap will map the value to its vertex
+     * The dictionary will map the value to the id of its vertex
      */
-    private final Map<E, Vertex> vertexMap;
+    private final VertexDictionary<E> dictionary;
+    /**
+     * The vertices by id, null where a vertex was removed
+     */
+    private final ArrayList<Vertex> vertexById;
+    /**
+     * Ids of the removed vertices that arcs may still point to. Their keys are retired in the
+     * dictionary, so the ids aren't reused until compact purges those arcs and frees them.
+     */
+    private int[] tombstones = new int[8];
+    private int tombstoneCount;
+    /**
+     * Fraction of tombstones over all the ids that triggers a compaction, 0 to compact on every removal.
+     */
+    private double compactionThreshold;
 
     /**
      * Constructor for LuigiGraph class.
@@ -19,35 +34,97 @@ public class LuigiGraph<E> extends Graph<E>{
      */
     public LuigiGraph(boolean isWeighted) {
         super(isWeighted);
-        this.vertexMap = new HashMap<>();
+        this.dictionary = new VertexDictionary<>();
+        this.vertexById = new ArrayList<>();
     }
 
-    /**
-     * Private class representing a pair of vertices and their weight in the graph.
-     */
-    private class Pair {
-        Vertex v;
-        Double weight;
-        public Pair(Vertex v, Double weight)
-        {
-            this.v = v;
-            this.weight = weight;
-        }
-    }
     /**
      * Private class representing a vertex in the graph
-     * It has a list of all the pairs (Vertex, weight) that are related to it.
+     * Its neighbours are stored as parallel arrays: the ids of the destination vertices and,
+     * if the graph is weighted, the weight of each arc. Only the first degree slots are used.
      */
     private class Vertex {
         E key;
+        int id;
         boolean visited;
-        List<Pair> neighbours;
-        public Vertex(E key){
+        int[] adj;
+        double[] weights;
+        int degree;
+        public Vertex(E key, int id){
             this.key = key;
-            this.neighbours = new ArrayList<>();
+            this.id = id;
+            this.adj = EMPTY_ADJ;
+            this.weights = isWeighted ? EMPTY_WEIGHTS : null;
+        }
+
+        /**
+         * Finds the slot of the arc to a vertex.
+         * @param dest the id of the destination vertex.
+         * @return the slot of the arc, -1 if there is no arc to dest.
+         */
+        int indexOf(int dest){
+            for (int i = 0; i < degree; i++){
+                if (adj[i] == dest)
+                    return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Appends an arc, growing the arrays by half when they are full.
+         * @param dest the id of the destination vertex.
+         * @param weight the weight of the arc, ignored if the graph is unweighted.
+         */
+        void add(int dest, double weight){
+            if (degree == adj.length){
+                int capacity = Math.max(4, degree + (degree >> 1));
+                adj = Arrays.copyOf(adj, capacity);
+                if (weights != null)
+                    weights = Arrays.copyOf(weights, capacity);
+            }
+            adj[degree] = dest;
+            if (weights != null)
+                weights[degree] = weight;
+            degree++;
+        }
+
+        /**
+         * Removes the arc in a slot, shifting the following arcs so they keep their order.
+         * @param slot the slot of the arc to be removed.
+         */
+        void removeAt(int slot){
+            int tail = degree - slot - 1;
+            if (tail > 0){
+                System.arraycopy(adj, slot + 1, adj, slot, tail);
+                if (weights != null)
+                    System.arraycopy(weights, slot + 1, weights, slot, tail);
+            }
+            degree--;
+        }
+
+        /**
+         * Gets the weight of the arc in a slot.
+         * @param slot the slot of the arc.
+         * @return the weight of the arc, null if the graph is unweighted.
+         */
+        Double weightAt(int slot){
+            return weights == null ? null : weights[slot];
         }
     }
 
+    private static final int[] EMPTY_ADJ = new int[0];
+    private static final double[] EMPTY_WEIGHTS = new double[0];
+
+    /**
+     * Gets the vertex of a key.
+     * @param key the element stored in the vertex.
+     * @return the vertex, null if the key is null or doesn't exist.
+     */
+    private Vertex vertexOf(E key) {
+        int id = dictionary.idOf(key);
+        return id == -1 ? null : vertexById.get(id);
+    }
+
     /**
      * Adds a vertex to the graph.
      * @param vtx the element to be added as a vertex to the graph.
@@ -55,9 +132,14 @@ public class LuigiGraph<E> extends Graph<E>{
      */
     @Override
     public boolean addVertex(E vtx) {
-        if (vertexMap.get(vtx) != null || vtx == null)
+        int id = dictionary.add(vtx);
+        if (id == -1)
             return false;
-        vertexMap.put(vtx, new Vertex(vtx));
+        if (id == vertexById.size())
+            vertexById.add(new Vertex(vtx, id));
+        else
+            vertexById.set(id, new Vertex(vtx, id));
+        modified();
         return true;
     }
 
@@ -71,7 +153,7 @@ public class LuigiGraph<E> extends Graph<E>{
     public boolean addEdge(E src, E dest){
         if (this.isWeighted)
             return false;
-        return addEdgeHelper(src, dest, null);
+        return addEdgeHelper(src, dest, 0);
     }
 
     /**
@@ -94,40 +176,37 @@ public class LuigiGraph<E> extends Graph<E>{
      * If there is only an arc between the two vertices, it will override its weight
      * @param src the element in the source vertex of the edge
      * @param dest the element in the destination vertex of the edge
-     * @param weight the weight of the edge, if the vertex is unweighted its value is null.
+     * @param weight the weight of the edge, ignored if the graph is unweighted.
      * @return true if the edge was added successfully, false if there's already an edge or two arcs.
      */
-    private boolean addEdgeHelper(E src, E dest, Double weight){
-        Vertex srcV = vertexMap.get(src);
-        Vertex destV = vertexMap.get(dest);
+    private boolean addEdgeHelper(E src, E dest, double weight){
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
 
         if (srcV == null || destV == null)
             return false;
 
-        boolean srcDestArc = arcExists(src, dest);
-        boolean destSrcArc = arcExists(dest, src);
+        int srcDestArc = srcV.indexOf(destV.id);
+        int destSrcArc = destV.indexOf(srcV.id);
 
-        if (srcDestArc && destSrcArc)
+        if (srcDestArc != -1 && destSrcArc != -1)
             return false;
 
-        if (srcDestArc && !destSrcArc) {
-            destV.neighbours.add(new Pair(srcV, weight));
-            for (Pair pair: srcV.neighbours){
-                if (pair.v.key.equals(dest))
-                    pair.weight = weight;
-            }
+        if (srcDestArc != -1) {
+            destV.add(srcV.id, weight);
+            if (srcV.weights != null)
+                srcV.weights[srcDestArc] = weight;
         }
-        else if(!srcDestArc && destSrcArc) {
-            srcV.neighbours.add(new Pair(destV, weight));
-            for (Pair pair : destV.neighbours) {
-                if (pair.v.key.equals(dest))
-                    pair.weight = weight;
-            }
+        else if(destSrcArc != -1) {
+            srcV.add(destV.id, weight);
+            if (destV.weights != null)
+                destV.weights[destSrcArc] = weight;
         }
         else {
-            srcV.neighbours.add(new Pair(destV, weight));
-            destV.neighbours.add(new Pair(srcV, weight));
+            srcV.add(destV.id, weight);
+            destV.add(srcV.id, weight);
         }
+        modified();
         return true;
     }
 
@@ -138,13 +217,11 @@ public class LuigiGraph<E> extends Graph<E>{
      * @return true if the arc exist, false otherwise
      */
     private boolean arcExists(E src, E dest){
-        Vertex srcV = this.vertexMap.get(src);
-        for (Pair pair: srcV.neighbours){
-            if (pair.v.key.equals(dest)){
-                return true;
-            }
-        }
-        return false;
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
+        if (srcV == null || destV == null)
+            return false;
+        return srcV.indexOf(destV.id) != -1;
     }
 
     /**
@@ -157,7 +234,7 @@ public class LuigiGraph<E> extends Graph<E>{
     public boolean addArc(E src, E dest){
         if (this.isWeighted)
             return false;
-         return addArcHelper(src, dest, null);
+         return addArcHelper(src, dest, 0);
     }
 
     /**
@@ -178,19 +255,20 @@ public class LuigiGraph<E> extends Graph<E>{
      * Helps the function addArc to add any type of arc from one vertex to another in the graph.
      * @param src the element in the source vertex of the arc.
      * @param dest the element in the destination vertex of the arc.
-     * @param weight the weight of the arc, if the graph is unweighted the value is null.
+     * @param weight the weight of the arc, ignored if the graph is unweighted.
      * @return true if the arc was added successfully, false if the arc already exists.
      */
-    private boolean addArcHelper(E src, E dest, Double weight){
-        Vertex srcV = vertexMap.get(src);
-        Vertex destV = vertexMap.get(dest);
+    private boolean addArcHelper(E src, E dest, double weight){
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
 
         if (srcV == null || destV == null) return false;
 
-        if (arcExists(src, dest))
+        if (srcV.indexOf(destV.id) != -1)
             return false;
 
-        srcV.neighbours.add(new Pair(destV, weight));
+        srcV.add(destV.id, weight);
+        modified();
         return true;
     }
 
@@ -200,26 +278,195 @@ public class LuigiGraph<E> extends Graph<E>{
      */
     @Override
     public int vertexCount() {
-        return vertexMap.size();
+        return dictionary.size();
     }
 
     /**
      * Removes the specified vertex from the graph.
      * If the vertex does not exist in the graph, returns false.
-     * Otherwise, all arcs and edges connected to the vertex are removed as well.
+     * Otherwise, all arcs and edges connected to the vertex are removed as well. The arcs pointing
+     * to it are purged right away, or at the next compaction if a compaction threshold is set.
      * @param vtx the vertex to be removed.
      * @return true if the vertex was successfully removed, false otherwise.
      */
     @Override
     public boolean removeVertex(E vtx) {
-        if (vertexMap.get(vtx) == null)
+        Vertex removed = vertexOf(vtx);
+        if (removed == null)
             return false;
+        tombstone(removed);
+        modified();
+        compactIfNeeded();
+        return true;
+    }
 
-        for (Vertex vertex: vertexMap.values()){
-            vertex.neighbours.removeIf(pair -> pair.v.key.equals(vtx));
+    /**
+     * Removes several vertices and all their arcs. The arcs pointing to them are purged in a
+     * single pass over the adjacency lists, or at the next compaction if a threshold is set.
+     * @param vertices the elements stored in the vertices to be removed; the missing ones are skipped.
+     * @return the number of vertices removed.
+     */
+    @Override
+    public int removeVertices(Collection<E> vertices) {
+        int removed = 0;
+        for (E vtx : vertices) {
+            Vertex vertex = vertexOf(vtx);
+            if (vertex != null) {
+                tombstone(vertex);
+                removed++;
+            }
         }
-        vertexMap.remove(vtx);
-        return true;
+        if (removed > 0) {
+            modified();
+            compactIfNeeded();
+        }
+        return removed;
+    }
+
+    /**
+     * Drops a vertex and its own arcs, keeping its id taken until the arcs to it are purged.
+     */
+    private void tombstone(Vertex vertex) {
+        dictionary.retire(vertex.key);
+        vertexById.set(vertex.id, null);
+        if (tombstoneCount == tombstones.length)
+            tombstones = Arrays.copyOf(tombstones, tombstoneCount * 2);
+        tombstones[tombstoneCount++] = vertex.id;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstoneCount > 0 && tombstoneCount >= compactionThreshold * (dictionary.size() + tombstoneCount))
+            compact();
+    }
+
+    /**
+     * Purges the arcs that point to removed vertices, in one pass over every adjacency list, and
+     * frees the ids of those vertices. The ids of the remaining vertices don't change.
+     */
+    public void compact() {
+        if (tombstoneCount == 0)
+            return;
+        for (Vertex vertex : vertexById) {
+            if (vertex == null)
+                continue;
+            int kept = 0;
+            for (int i = 0; i < vertex.degree; i++) {
+                if (!dictionary.contains(vertex.adj[i]))
+                    continue;
+                vertex.adj[kept] = vertex.adj[i];
+                if (vertex.weights != null)
+                    vertex.weights[kept] = vertex.weights[i];
+                kept++;
+            }
+            vertex.degree = kept;
+        }
+        Arrays.sort(tombstones, 0, tombstoneCount);
+        for (int i = tombstoneCount - 1; i >= 0; i--)
+            dictionary.release(tombstones[i]);
+        tombstoneCount = 0;
+        while (vertexById.size() > dictionary.idBound())
+            vertexById.remove(vertexById.size() - 1);
+    }
+
+    /**
+     * Sets when the arcs pointing to removed vertices are purged. With 0, the default, every removal
+     * purges them at once; above it, removals only drop the vertex and the purge runs once the removed
+     * vertices reach that fraction of all the vertices, removed included. Until then traversals skip
+     * the stale arcs.
+     * @param compactionThreshold the fraction, from 0 (inclusive) to 1 (exclusive).
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        if (!(compactionThreshold >= 0 && compactionThreshold < 1))
+            throw new IllegalArgumentException("compactionThreshold must be in [0, 1): " + compactionThreshold);
+        this.compactionThreshold = compactionThreshold;
+        compactIfNeeded();
+    }
+
+    /**
+     * @return the fraction of removed vertices that triggers a compaction.
+     */
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * @return the number of removed vertices whose incoming arcs are waiting for a compaction.
+     */
+    public int tombstoneCount() {
+        return tombstoneCount;
+    }
+
+    /**
+     * Bytes of a Vertex object: the key, the two arrays, the enclosing graph, the id, the degree and the flag.
+     */
+    private static final long VERTEX_BYTES = MemoryFootprint.align(MemoryFootprint.OBJECT_HEADER
+            + 4 * MemoryFootprint.REFERENCE + 2 * 4 + 1);
+
+    /**
+     * Estimates the heap used by the graph from the actual capacity of every neighbour array.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        long adjacency = 0;
+        long weights = 0;
+        for (Vertex v : vertexById) {
+            if (v == null)
+                continue;
+            adjacency += VERTEX_BYTES + (v.adj.length == 0 ? 0 : MemoryFootprint.array(v.adj.length, 4));
+            if (v.weights != null && v.weights.length > 0)
+                weights += MemoryFootprint.array(v.weights.length, 8);
+        }
+        long index = dictionary.footprintBytes() + MemoryFootprint.arrayList(vertexById.size())
+                + MemoryFootprint.array(tombstones.length, 4);
+        return new MemoryFootprint(getClass().getSimpleName(), (long) dictionary.size() * bytesPerKey,
+                index, adjacency, weights);
+    }
+
+    /**
+     * Predicts the heap a LuigiGraph would use, with the arcs spread evenly over the vertices and
+     * every neighbour array grown one arc at a time.
+     * @param vertices the number of vertices.
+     * @param arcs the number of arcs, an undirected edge counts as two.
+     * @param weighted whether the arcs have weights.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    public static MemoryFootprint estimateFootprint(int vertices, long arcs, boolean weighted, int bytesPerKey) {
+        if (vertices < 0 || arcs < 0)
+            throw new IllegalArgumentException("vertices and arcs must not be negative");
+        if (vertices == 0 && arcs > 0)
+            throw new IllegalArgumentException("Arcs need vertices");
+        long index = VertexDictionary.footprintBytes(vertices, vertices, 8) + MemoryFootprint.arrayList(vertices)
+                + MemoryFootprint.array(8, 4);
+        long adjacency = vertices * VERTEX_BYTES;
+        long weights = 0;
+        if (vertices > 0) {
+            long low = arcs / vertices;
+            long high = arcs % vertices;
+            int lowCapacity = rowCapacity(low);
+            int highCapacity = rowCapacity(low + 1);
+            adjacency += (vertices - high) * rowBytes(lowCapacity, 4) + high * rowBytes(highCapacity, 4);
+            if (weighted)
+                weights = (vertices - high) * rowBytes(lowCapacity, 8) + high * rowBytes(highCapacity, 8);
+        }
+        return new MemoryFootprint(LuigiGraph.class.getSimpleName(), (long) vertices * bytesPerKey,
+                index, adjacency, weights);
+    }
+
+    /**
+     * @return the length of a neighbour array after degree arcs were appended, following Vertex.add.
+     */
+    private static int rowCapacity(long degree) {
+        long capacity = 0;
+        while (capacity < degree)
+            capacity = Math.max(4, capacity + (capacity >> 1));
+        return (int) capacity;
+    }
+
+    private static long rowBytes(int capacity, int elementBytes) {
+        return capacity == 0 ? 0 : MemoryFootprint.array(capacity, elementBytes);
     }
 
     /**
@@ -234,8 +481,59 @@ public class LuigiGraph<E> extends Graph<E>{
         if (src == null || dest == null)
             return false;
 
-        Vertex srcV = this.vertexMap.get(src);
-        return srcV.neighbours.removeIf(pair -> pair.v.key.equals(dest));
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
+        if (srcV == null || destV == null)
+            return false;
+        int slot = srcV.indexOf(destV.id);
+        if (slot == -1)
+            return false;
+        srcV.removeAt(slot);
+        modified();
+        return true;
+    }
+
+    /**
+     * Removes several arcs, compacting each touched adjacency list once instead of shifting it per arc.
+     * @param arcs the arcs to be removed, their weights are ignored; the missing ones are skipped.
+     * @return the number of arcs removed.
+     */
+    @Override
+    public int removeArcs(Collection<Arc<E>> arcs) {
+        long[] pairs = new long[arcs.size()];
+        int count = 0;
+        for (Arc<E> arc : arcs) {
+            int src = dictionary.idOf(arc.src());
+            int dest = dictionary.idOf(arc.dest());
+            if (src != -1 && dest != -1)
+                pairs[count++] = (long) src << 32 | dest;
+        }
+        Arrays.sort(pairs, 0, count);
+        int removed = 0;
+        int from = 0;
+        while (from < count) {
+            int src = (int) (pairs[from] >>> 32);
+            int to = from;
+            while (to < count && (int) (pairs[to] >>> 32) == src)
+                to++;
+            Vertex vertex = vertexById.get(src);
+            int kept = 0;
+            for (int i = 0; i < vertex.degree; i++) {
+                if (Arrays.binarySearch(pairs, from, to, (long) src << 32 | vertex.adj[i]) >= 0) {
+                    removed++;
+                    continue;
+                }
+                vertex.adj[kept] = vertex.adj[i];
+                if (vertex.weights != null)
+                    vertex.weights[kept] = vertex.weights[i];
+                kept++;
+            }
+            vertex.degree = kept;
+            from = to;
+        }
+        if (removed > 0)
+            modified();
+        return removed;
     }
 
     /**
@@ -268,14 +566,16 @@ public class LuigiGraph<E> extends Graph<E>{
         if (src == null || dest == null)
             return false;
 
-        Vertex srcV = this.vertexMap.get(src);
-        for (Pair pair: srcV.neighbours){
-            if (pair.v.key.equals(dest)){
-                pair.weight = weight;
-                return true;
-            }
-        }
-        return false;
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
+        if (srcV == null || destV == null)
+            return false;
+        int slot = srcV.indexOf(destV.id);
+        if (slot == -1)
+            return false;
+        srcV.weights[slot] = weight;
+        modified();
+        return true;
     }
 
     /**
@@ -305,12 +605,14 @@ public class LuigiGraph<E> extends Graph<E>{
         if (src == null || dest == null)
             return null;
 
-        Vertex srcV = this.vertexMap.get(src);
-        for (Pair pair: srcV.neighbours){
-            if (pair.v.key.equals(dest))
-                return pair.weight;
-        }
-        return null;
+        Vertex srcV = vertexOf(src);
+        Vertex destV = vertexOf(dest);
+        if (srcV == null || destV == null)
+            return null;
+        int slot = srcV.indexOf(destV.id);
+        if (slot == -1)
+            return null;
+        return srcV.weightAt(slot);
     }
 
     /**
@@ -336,26 +638,27 @@ public class LuigiGraph<E> extends Graph<E>{
      * If the vertex doesn´t exist, an exception is thrown
      * @param src the source vertex key of the arc.
      */
+    @Override
     public void DFS(E src){ //Find all vertexes from a origin Vertex that can be accessed
-        if (!vertexMap.containsKey(src)) {
+        Vertex startVertex = vertexOf(src);
+        if (startVertex == null) {
             throw new IllegalArgumentException("El vértice no existe en el grafo.");
         }
         System.out.println("DFS:");
-        Vertex startVertex = vertexMap.get(src);
         resetVisited();
-        Pair startPair = new Pair(startVertex, null);
-        recursiveDFS(startPair);
+        recursiveDFS(startVertex);
     }
 
     /**
      * Helper method for DFS
-     * @param pair the neighbor of the current visited vertex
+     * @param vertex the neighbor of the previous visited vertex
      */
-    private void recursiveDFS(Pair pair){
-        pair.v.visited = true;
-        System.out.print(pair.v.key + " -> ");
-        for(Pair neighbor: pair.v.neighbours){
-            if (!neighbor.v.visited) {
+    private void recursiveDFS(Vertex vertex){
+        vertex.visited = true;
+        System.out.print(vertex.key + " -> ");
+        for(int i = 0; i < vertex.degree; i++){
+            Vertex neighbor = vertexById.get(vertex.adj[i]);
+            if (neighbor != null && !neighbor.visited) {
                 recursiveDFS(neighbor);
             }
         }
@@ -367,8 +670,10 @@ public class LuigiGraph<E> extends Graph<E>{
      * @param src the source vertex key of the arc.
      */
 
+    @Override
     public void BFS(E src) {
-        if (!vertexMap.containsKey(src)) {
+        Vertex startVertex = vertexOf(src);
+        if (startVertex == null) {
             throw new IllegalArgumentException("El vértice no existe en el grafo.");
         }
         System.out.println("\nBFS");
@@ -376,7 +681,6 @@ public class LuigiGraph<E> extends Graph<E>{
 
         Queue<Vertex> queue = new LinkedList<>();
 
-        Vertex startVertex = vertexMap.get(src);
         startVertex.visited = true;
         queue.add(startVertex);
 
@@ -385,10 +689,11 @@ public class LuigiGraph<E> extends Graph<E>{
             System.out.print(currentVertex.key + " -> ");
 
             // "Visits the neighbors of the current vertex and adds them to the queue if they have not been visited yet."
-            for (Pair neighbor : currentVertex.neighbours) {
-                if (!neighbor.v.visited) {
-                    neighbor.v.visited = true;
-                    queue.add(neighbor.v);
+            for (int i = 0; i < currentVertex.degree; i++) {
+                Vertex neighbor = vertexById.get(currentVertex.adj[i]);
+                if (neighbor != null && !neighbor.visited) {
+                    neighbor.visited = true;
+                    queue.add(neighbor);
                 }
             }
         }
@@ -398,8 +703,178 @@ public class LuigiGraph<E> extends Graph<E>{
      * Helper method for DFS & BFS to mark as visited every traversed vertex and then remove that mark
      */
     private void resetVisited() {   // Método para reiniciar el estado de visita de todos los vértices
-        for (Vertex vertex : vertexMap.values()) {
-            vertex.visited = false;
+        for (Vertex vertex : vertexById) {
+            if (vertex != null)
+                vertex.visited = false;
+        }
+    }
+
+    /**
+     * Renumbers the vertices with an ordering that keeps linked vertices close, and rewrites the
+     * neighbour arrays with the new ids. Ids freed by removals are dropped, and the order of the
+     * arcs of each vertex is kept.
+     * @param strategy the ordering to apply.
+     * @return the bandwidth and profile before and after.
+     */
+    public ReorderReport reorder(VertexOrdering.Strategy strategy) {
+        long start = System.nanoTime();
+        compact();
+        int[] order = VertexOrdering.order(intView, strategy);
+        long[] measures = VertexOrdering.measure(intView, order);
+        int[] newId = new int[dictionary.idBound()];
+        for (int i = 0; i < order.length; i++)
+            newId[order[i]] = i;
+        ArrayList<Vertex> old = new ArrayList<>(vertexById);
+        vertexById.clear();
+        for (int i = 0; i < order.length; i++) {
+            Vertex vertex = old.get(order[i]);
+            vertex.id = i;
+            for (int slot = 0; slot < vertex.degree; slot++)
+                vertex.adj[slot] = newId[vertex.adj[slot]];
+            vertexById.add(vertex);
+        }
+        dictionary.renumber(order);
+        modified();
+        return new ReorderReport(strategy, measures, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets a view of the graph that works with the ids of the vertices.
+     * @return the int view, backed by this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    /**
+     * Gets the vertex of an id for the int view.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    private Vertex vertexOf(int id) {
+        Vertex vertex = id >= 0 && id < vertexById.size() ? vertexById.get(id) : null;
+        if (vertex == null)
+            throw new IllegalArgumentException("No vertex with id " + id);
+        return vertex;
+    }
+
+    /**
+     * The int view of the graph, mapping ids to the vertices by id.
+     */
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            return dictionary.idOf(key);
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return dictionary.keyOf(id);
+        }
+
+        @Override
+        public int idBound() {
+            return dictionary.idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            return LuigiGraph.this.addArc(dictionary.keyOf(src), dictionary.keyOf(dest));
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            return LuigiGraph.this.addArc(dictionary.keyOf(src), dictionary.keyOf(dest), weight);
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            Vertex vertex = dictionary.contains(src) ? vertexById.get(src) : null;
+            return vertex != null && dictionary.contains(dest) && vertex.indexOf(dest) != -1;
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            Vertex vertex = dictionary.contains(src) && dictionary.contains(dest) ? vertexById.get(src) : null;
+            int slot = vertex == null ? -1 : vertex.indexOf(dest);
+            if (slot == -1)
+                return Double.NaN;
+            return vertex.weights == null ? 1.0 : vertex.weights[slot];
+        }
+
+        @Override
+        public int degree(int id) {
+            Vertex vertex = vertexOf(id);
+            if (tombstoneCount == 0)
+                return vertex.degree;
+            int degree = 0;
+            for (int i = 0; i < vertex.degree; i++) {
+                if (dictionary.contains(vertex.adj[i]))
+                    degree++;
+            }
+            return degree;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            Vertex vertex = vertexOf(id);
+            return new PrimitiveIterator.OfInt() {
+                private int slot;
+
+                @Override
+                public boolean hasNext() {
+                    while (tombstoneCount > 0 && slot < vertex.degree && !dictionary.contains(vertex.adj[slot]))
+                        slot++;
+                    return slot < vertex.degree;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return vertex.adj[slot++];
+                }
+            };
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            Vertex vertex = vertexOf(id);
+            for (int i = 0; i < vertex.degree; i++) {
+                if (tombstoneCount == 0 || dictionary.contains(vertex.adj[i]))
+                    action.accept(vertex.adj[i], vertex.weights == null ? 1.0 : vertex.weights[i]);
+            }
+        }
+    };
+
+    /**
+     * Visits every vertex key of the graph.
+     * @param action the action to perform on each key.
+     */
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        dictionary.forEachKey(action);
+    }
+
+    /**
+     * Visits every arc of the graph, walking each adjacency list.
+     * @param action the action to perform on each arc.
+     */
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        for (Vertex vertex : vertexById) {
+            if (vertex == null)
+                continue;
+            for (int i = 0; i < vertex.degree; i++) {
+                E dest = dictionary.keyOf(vertex.adj[i]);
+                if (dest != null)
+                    action.accept(vertex.key, dest, vertex.weightAt(i));
+            }
         }
     }
 
@@ -411,17 +886,24 @@ public class LuigiGraph<E> extends Graph<E>{
     public String toString() {
         StringBuilder st = new StringBuilder();
         st.append("Lista de Adyacencia:\n");
-        for (Vertex vertex : vertexMap.values()) {
+        for (Vertex vertex : vertexById) {
+            if (vertex == null)
+                continue;
             st.append(vertex.key);
             st.append(" -> ");
-            for (Pair pair : vertex.neighbours) {
-                st.append(pair.v.key);
+            int printed = 0;
+            for (int i = 0; i < vertex.degree; i++) {
+                if (!dictionary.contains(vertex.adj[i]))
+                    continue;
+                printed++;
+                st.append(dictionary.keyOf(vertex.adj[i]));
                 if (this.isWeighted) {
-                    st.append(String.format(" (%.2f)", pair.weight));
+                    st.append(String.format(" (%.2f)", vertex.weights[i]));
                 }
                 st.append(", ");
             }
-            st.setLength(st.length() - 2);
+            if (printed > 0)
+                st.setLength(st.length() - 2);
             st.append("\n");
         }
         return st.toString();
@@ -1,25 +1,28 @@
 package TheGraph;
-import java.net.DatagramPacket;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Queue;
 import java.util.Stack;
+import java.util.function.Consumer;
 
 /**
  * Class implementing a graph with adjacency matrix.
  * @param <E> the type of the elements stored in the vertices of the graph
  */
-public class MarioGraph<E> extends Graph<E>{
+public class MarioGraph<E> extends Graph<E> implements Traversable<E> {
     /**
      * The matrices will store the value of its index/vertex
      */
     private Boolean[][] adjBoolMatrix; //Boolean Adjancecy Matrix
     private Double[][] adjWeightMatrix; //Double Adjancecy Matrix
     /**
-     * The ArrayList will store the vertices. The vertex index in the list is the same
+     * The dictionary will store the vertices. The vertex id in the dictionary is its index
      * in the matrix
      */
-    private ArrayList<E> vertices;
+    private VertexDictionary<E> dictionary;
 
     private boolean[] visited;
 
@@ -45,7 +48,7 @@ public class MarioGraph<E> extends Graph<E>{
                 adjWeightMatrix[i][i] = 0.0;
             }
         }
-        this.vertices = new ArrayList<>();
+        this.dictionary = new VertexDictionary<>();
         visited = new boolean[numVrx];
 
     }
@@ -59,14 +62,14 @@ public class MarioGraph<E> extends Graph<E>{
     @Override
     public boolean addVertex(E vtx) {
         if(super.isWeighted){
-            if(vertices.size() == adjWeightMatrix.length) return false;
+            if(dictionary.size() == adjWeightMatrix.length) return false;
         }
         if(!super.isWeighted){
-            if(vertices.size() == adjBoolMatrix.length) return false;
+            if(dictionary.size() == adjBoolMatrix.length) return false;
         }
-        if(this.vertices.contains(vtx))
+        if (this.dictionary.add(vtx) == -1)
             return false;
-        this.vertices.add(vtx);
+        modified();
         return true;
     }
 
@@ -82,14 +85,15 @@ public class MarioGraph<E> extends Graph<E>{
         if(super.isWeighted) return false;
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
         if(!adjBoolMatrix[ind1][ind2] || !adjBoolMatrix[ind2][ind1]){
             adjBoolMatrix[ind1][ind2] = true;
             adjBoolMatrix[ind2][ind1] = true;
+            modified();
             return true;
         }
         return false;
@@ -106,8 +110,8 @@ public class MarioGraph<E> extends Graph<E>{
     @Override
     public boolean addEdge(E index1, E index2, double weight) {
         if(!super.isWeighted) return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(index1.equals(index2))
             return false;
         if(ind1 == -1 || ind2 == -1){
@@ -116,6 +120,7 @@ public class MarioGraph<E> extends Graph<E>{
         if(adjWeightMatrix[ind1][ind2] == null || adjWeightMatrix[ind2][ind1] == null){
             adjWeightMatrix[ind1][ind2] = weight;
             adjWeightMatrix[ind2][ind1] = weight;
+            modified();
             return true;
         }
         return false;
@@ -134,13 +139,14 @@ public class MarioGraph<E> extends Graph<E>{
         if(!super.isWeighted) return false;
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
         if(adjWeightMatrix[ind1][ind2] == null){
             adjWeightMatrix[ind1][ind2] = weight;
+            modified();
             return true;
         }
         return false;
@@ -158,13 +164,14 @@ public class MarioGraph<E> extends Graph<E>{
         if(super.isWeighted) return false;
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
         if(!adjBoolMatrix[ind1][ind2]){
             adjBoolMatrix[ind1][ind2] = true;
+            modified();
             return true;
         }
         return false;
@@ -176,7 +183,15 @@ public class MarioGraph<E> extends Graph<E>{
      */
     @Override
     public int vertexCount() {
-        return this.vertices.size();
+        return dictionary.size();
+    }
+
+    /**
+     * Gets the number of vertices the matrix was created for.
+     * @return the number of rows (and columns) of the matrix
+     */
+    public int capacity() {
+        return super.isWeighted ? adjWeightMatrix.length : adjBoolMatrix.length;
     }
 
     /**
@@ -189,7 +204,7 @@ public class MarioGraph<E> extends Graph<E>{
     private void swapVertical(Object[][] matrix,int indObj, int lenght){
         for(int i = 0; i < lenght; i++){
             for(int j = indObj; j < lenght - 1; j++){
-                matrix[i][j] = matrix[i][j++];
+                matrix[i][j] = matrix[i][j + 1];
             }
         }
     }
@@ -204,7 +219,7 @@ public class MarioGraph<E> extends Graph<E>{
     private void swapHorizontal(Object[][] matrix,int indObj, int length){
         for(int i = indObj; i < length - 1; i++){
             for(int j = 0; j < length; j++){
-                matrix[i][j] = matrix[i][j++];
+                matrix[i][j] = matrix[i + 1][j];
             }
         }
     }
@@ -225,6 +240,18 @@ public class MarioGraph<E> extends Graph<E>{
         }
     }
 
+    /**
+     * Function used in removeVertex. Same as fillNulls for the unweighted matrix, whose empty cells are false
+     * @param matrix the matrix that will be modificated
+     * @param length the size/lenght of the matrix (total number of vertices)
+     */
+    private void fillFalse(Boolean[][] matrix, int length){
+        for(int i = 0; i < length; i++){
+            matrix[i][length-1] = false;
+            matrix[length-1][i] = false;
+        }
+    }
+
     /**
      * Removes the specified vertex from the graph by sorting the row and column the vertex
      * represent, and then filling them with null values. Indicating there is a new space available
@@ -234,27 +261,96 @@ public class MarioGraph<E> extends Graph<E>{
      */
     @Override
     public boolean removeVertex(E vtx) {
-        if(vertices.contains(vtx)){
-            int ind = vertices.indexOf(vtx);
-            int length = vertices.size();
+        if(dictionary.idOf(vtx) != -1){
+            int ind = dictionary.idOf(vtx);
+            int length = dictionary.size();
             if(super.isWeighted){
                 swapVertical(adjWeightMatrix,ind,length);
                 swapHorizontal(adjWeightMatrix,ind,length);
                 fillNulls(adjWeightMatrix,length);
-                vertices.remove(vtx);
+                adjWeightMatrix[length-1][length-1] = 0.0;
+                dictionary.removeShifting(vtx);
+                modified();
                 return true;
             }
             if(!super.isWeighted){
                 swapVertical(adjBoolMatrix,ind,length);
                 swapHorizontal(adjBoolMatrix,ind,length);
-                fillNulls(adjBoolMatrix,length);
-                vertices.remove(vtx);
+                fillFalse(adjBoolMatrix,length);
+                adjBoolMatrix[length-1][length-1] = true;
+                dictionary.removeShifting(vtx);
+                modified();
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Removes several vertices in one pass over the matrix, instead of shifting its rows and
+     * columns once per vertex. The remaining vertices keep their order and move down to fill the gaps.
+     * @param vertices the elements stored in the vertices to be removed; the missing ones are skipped.
+     * @return the number of vertices removed.
+     */
+    @Override
+    public int removeVertices(Collection<E> vertices) {
+        int length = dictionary.size();
+        boolean[] removed = new boolean[length];
+        int count = 0;
+        for (E vtx : vertices) {
+            int ind = dictionary.idOf(vtx);
+            if (ind != -1 && !removed[ind]) {
+                removed[ind] = true;
+                count++;
+            }
+        }
+        if (count == 0)
+            return 0;
+        int[] survivors = new int[length - count];
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (removed[i])
+                dictionary.retire(dictionary.keyOf(i));
+            else
+                survivors[kept++] = i;
+        }
+        if (super.isWeighted) {
+            compact(adjWeightMatrix, survivors, length);
+            for (int i = kept; i < length; i++)
+                adjWeightMatrix[i][i] = 0.0;
+        } else {
+            compact(adjBoolMatrix, survivors, length);
+            for (int i = 0; i < length; i++)
+                Arrays.fill(adjBoolMatrix[i], i < kept ? kept : 0, length, false);
+            for (int i = kept; i < length; i++)
+                adjBoolMatrix[i][i] = true;
+        }
+        dictionary.renumber(survivors);
+        modified();
+        return count;
+    }
+
+    /**
+     * Function used in removeVertices. Moves the cell [survivors[i]][survivors[j]] to [i][j] in place,
+     * which is safe because survivors[i] >= i, and empties the rows and columns left over.
+     * @param matrix the matrix that will be modificated
+     * @param survivors the indexes of the vertices kept, in increasing order
+     * @param length the size/lenght of the matrix before the removal (total number of vertices)
+     */
+    private static void compact(Object[][] matrix, int[] survivors, int length) {
+        int kept = survivors.length;
+        for (int i = 0; i < kept; i++) {
+            Object[] from = matrix[survivors[i]];
+            Object[] to = matrix[i];
+            for (int j = 0; j < kept; j++)
+                to[j] = from[survivors[j]];
+        }
+        for (int i = 0; i < length; i++) {
+            for (int j = i < kept ? kept : 0; j < length; j++)
+                matrix[i][j] = null;
+        }
+    }
+
     /**
      * Removes the specified arc from the graph.
      * @param index1 the vertex in the row of the matrix to be removed
@@ -266,20 +362,22 @@ public class MarioGraph<E> extends Graph<E>{
     public boolean removeArc(E index1, E index2) {
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
         if(!super.isWeighted){
             if(adjBoolMatrix[ind1][ind2]){
                 adjBoolMatrix[ind1][ind2] = false;
+                modified();
                 return true;
             }
         }
         if(super.isWeighted){
-            if(adjWeightMatrix[ind1][ind2] == null){ //adjWeightMatrix[ind1][ind2] != null ||
+            if(adjWeightMatrix[ind1][ind2] != null){
                 adjWeightMatrix[ind1][ind2] = null;
+                modified();
                 return true;
             }
         }
@@ -297,8 +395,8 @@ public class MarioGraph<E> extends Graph<E>{
     public boolean removeEdge(E index1, E index2) {
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
@@ -306,13 +404,15 @@ public class MarioGraph<E> extends Graph<E>{
             if(adjBoolMatrix[ind1][ind2] && adjBoolMatrix[ind2][ind1]){
                 adjBoolMatrix[ind1][ind2] = false;
                 adjBoolMatrix[ind2][ind1] = false;
+                modified();
                 return true;
             }
         }
         if(super.isWeighted){
-            if((adjWeightMatrix[ind1][ind2].equals(adjWeightMatrix[ind2][ind1])) && (adjWeightMatrix[ind1][ind2] != null)){
+            if((adjWeightMatrix[ind1][ind2] != null) && (adjWeightMatrix[ind1][ind2].equals(adjWeightMatrix[ind2][ind1]))){
                 adjWeightMatrix[ind1][ind2] = null;
                 adjWeightMatrix[ind2][ind1] = null;
+                modified();
                 return true;
             }
         }
@@ -332,13 +432,14 @@ public class MarioGraph<E> extends Graph<E>{
         if(!super.isWeighted) return false;
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
         if(adjWeightMatrix[ind1][ind2] != null){
             adjWeightMatrix[ind1][ind2] = weight;
+            modified();
             return true;
         }
         return false;
@@ -357,14 +458,15 @@ public class MarioGraph<E> extends Graph<E>{
         if(!super.isWeighted) return false;
         if(index1.equals(index2))
             return false;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return false;
         }
-        if((adjWeightMatrix[ind1][ind2].equals(adjWeightMatrix[ind2][ind1])) && (adjWeightMatrix[ind1][ind2] != null)){
+        if((adjWeightMatrix[ind1][ind2] != null) && (adjWeightMatrix[ind1][ind2].equals(adjWeightMatrix[ind2][ind1]))){
             adjWeightMatrix[ind1][ind2] = weight;
             adjWeightMatrix[ind2][ind1] = weight;
+            modified();
             return true;
         }
         return false;
@@ -382,8 +484,8 @@ public class MarioGraph<E> extends Graph<E>{
         if (!super.isWeighted) return null;
         if (index1.equals(index2))
             return null;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if (ind1 == -1 || ind2 == -1) {
             return null;
         }
@@ -402,8 +504,8 @@ public class MarioGraph<E> extends Graph<E>{
         if(!super.isWeighted) return null;
         if(index1.equals(index2))
             return null;
-        int ind1 = this.vertices.indexOf(index1);
-        int ind2 = this.vertices.indexOf(index2);
+        int ind1 = dictionary.idOf(index1);
+        int ind2 = dictionary.idOf(index2);
         if(ind1 == -1 || ind2 == -1){
             return null;
         }
@@ -416,13 +518,15 @@ public class MarioGraph<E> extends Graph<E>{
      * A stack is used to add the path the method establishes (src -> neighbors)
      * @param src the source vertex key of the arc.
      */
+    @Override
     public void DFS(E src) {
-        if (!vertices.contains(src)) {
+        if (dictionary.idOf(src) == -1) {
             throw new IllegalArgumentException("El vértice no existe en el grafo.");
         }
         System.out.println("DFS");
         Stack<E> stack = new Stack<>();
-        int srcIndex = vertices.indexOf(src);
+        int srcIndex = dictionary.idOf(src);
+        visited = new boolean[visited.length];
         visited[srcIndex] = true;
         stack.push(src);
 
@@ -432,16 +536,16 @@ public class MarioGraph<E> extends Graph<E>{
 
             if (this.isWeighted) {
                 for (int i = 0; i < adjWeightMatrix.length; i++) {
-                    if (adjWeightMatrix[vertices.indexOf(current)][i] != null && !visited[i]) {
+                    if (adjWeightMatrix[dictionary.idOf(current)][i] != null && !visited[i]) {
                         visited[i] = true;
-                        stack.push(vertices.get(i));
+                        stack.push(dictionary.keyOf(i));
                     }
                 }
             } else {
                 for (int i = 0; i < adjBoolMatrix.length; i++) {
-                    if (adjBoolMatrix[vertices.indexOf(current)][i] && !visited[i]) {
+                    if (adjBoolMatrix[dictionary.idOf(current)][i] && !visited[i]) {
                         visited[i] = true;
-                        stack.push(vertices.get(i));
+                        stack.push(dictionary.keyOf(i));
                     }
                 }
             }
@@ -455,12 +559,13 @@ public class MarioGraph<E> extends Graph<E>{
      * and poll this one, the process would be completed when queue is empty
      * @param src the source vertex key of the arc.
      */
+    @Override
     public void BFS(E src){
-        if (!vertices.contains(src)) {
+        if (dictionary.idOf(src) == -1) {
             throw new IllegalArgumentException("El vértice no existe en el grafo.");
         }
         System.out.println("BFS");
-        int srcIndex = vertices.indexOf(src);
+        int srcIndex = dictionary.idOf(src);
         visited = new boolean[visited.length];
         visited[srcIndex] = true;
         Queue<Integer> queue = new LinkedList<>();
@@ -468,7 +573,7 @@ public class MarioGraph<E> extends Graph<E>{
 
         while(!queue.isEmpty()){
             int current = queue.poll();
-            System.out.print(vertices.get(current) + " ");
+            System.out.print(dictionary.keyOf(current) + " ");
 
             if(this.isWeighted){
                 for (int i = 0; i < adjWeightMatrix.length; i++) {
@@ -490,6 +595,255 @@ public class MarioGraph<E> extends Graph<E>{
 
     }
 
+    /**
+     * Checks whether the matrix has an arc from one index to another. The diagonal never counts as an arc.
+     * @param i the row of the matrix
+     * @param j the column of the matrix
+     * @return true if there is an arc from i to j.
+     */
+    private boolean hasArc(int i, int j) {
+        if (i == j)
+            return false;
+        return this.isWeighted ? adjWeightMatrix[i][j] != null : adjBoolMatrix[i][j];
+    }
+
+    /**
+     * Checks that an id belongs to a vertex, for the int view.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= dictionary.size())
+            throw new IllegalArgumentException("No vertex with id " + id);
+    }
+
+    /**
+     * Renumbers the vertices with an ordering that keeps linked vertices close, permuting the rows
+     * and columns of the matrix so the arcs gather around the diagonal.
+     * @param strategy the ordering to apply.
+     * @return the bandwidth and profile before and after.
+     */
+    public ReorderReport reorder(VertexOrdering.Strategy strategy) {
+        long start = System.nanoTime();
+        int[] order = VertexOrdering.order(intView, strategy);
+        long[] measures = VertexOrdering.measure(intView, order);
+        if (super.isWeighted)
+            permute(adjWeightMatrix, order);
+        else
+            permute(adjBoolMatrix, order);
+        dictionary.renumber(order);
+        modified();
+        return new ReorderReport(strategy, measures, System.nanoTime() - start);
+    }
+
+    /**
+     * Moves the cell [order[i]][order[j]] of the matrix to [i][j].
+     */
+    private static <T> void permute(T[][] matrix, int[] order) {
+        int n = order.length;
+        Object[][] old = new Object[n][];
+        for (int i = 0; i < n; i++)
+            old[i] = matrix[i].clone();
+        for (int i = 0; i < n; i++) {
+            Object[] row = old[order[i]];
+            for (int j = 0; j < n; j++) {
+                @SuppressWarnings("unchecked")
+                T cell = (T) row[order[j]];
+                matrix[i][j] = cell;
+            }
+        }
+    }
+
+    /**
+     * Gets a view of the graph that works with the ids of the vertices, which are their matrix indexes.
+     * Removing a vertex moves the following vertices one index down, so ids kept from before a removal are stale.
+     * @return the int view, backed by this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    /**
+     * The int view of the graph, reading the rows of the matrix.
+     */
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            return dictionary.idOf(key);
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return dictionary.keyOf(id);
+        }
+
+        @Override
+        public int idBound() {
+            return dictionary.idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            E srcKey = dictionary.keyOf(src);
+            E destKey = dictionary.keyOf(dest);
+            if (srcKey == null || destKey == null)
+                return false;
+            return MarioGraph.this.addArc(srcKey, destKey);
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            E srcKey = dictionary.keyOf(src);
+            E destKey = dictionary.keyOf(dest);
+            if (srcKey == null || destKey == null)
+                return false;
+            return MarioGraph.this.addArc(srcKey, destKey, weight);
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            int size = dictionary.size();
+            return src >= 0 && src < size && dest >= 0 && dest < size && MarioGraph.this.hasArc(src, dest);
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            if (!hasArc(src, dest))
+                return Double.NaN;
+            return isWeighted ? adjWeightMatrix[src][dest] : 1.0;
+        }
+
+        @Override
+        public int degree(int id) {
+            checkId(id);
+            int degree = 0;
+            for (int j = 0; j < dictionary.size(); j++) {
+                if (MarioGraph.this.hasArc(id, j))
+                    degree++;
+            }
+            return degree;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            checkId(id);
+            return new PrimitiveIterator.OfInt() {
+                private int next = advance(0);
+
+                private int advance(int from) {
+                    int size = dictionary.size();
+                    while (from < size && !MarioGraph.this.hasArc(id, from))
+                        from++;
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < dictionary.size();
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    int current = next;
+                    next = advance(current + 1);
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            checkId(id);
+            for (int j = 0; j < dictionary.size(); j++) {
+                if (MarioGraph.this.hasArc(id, j))
+                    action.accept(j, isWeighted ? adjWeightMatrix[id][j] : 1.0);
+            }
+        }
+    };
+
+    /**
+     * Visits every vertex key of the graph in matrix order.
+     * @param action the action to perform on each key.
+     */
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        dictionary.forEachKey(action);
+    }
+
+    /**
+     * Visits every arc of the graph by scanning the occupied part of the matrix.
+     * The diagonal is skipped, since it only marks the vertex itself.
+     * @param action the action to perform on each arc.
+     */
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        int size = dictionary.size();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (hasArc(i, j))
+                    action.accept(dictionary.keyOf(i), dictionary.keyOf(j), this.isWeighted ? adjWeightMatrix[i][j] : null);
+            }
+        }
+    }
+
+    /**
+     * Estimates the heap used by the graph. The matrix takes its whole capacity whatever the
+     * number of vertices; the cells of unweighted graphs point at the shared Boolean constants,
+     * while every cell holding a weight, the diagonal included, is its own boxed Double.
+     * It scans the matrix to count those cells.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        Object[][] matrix = isWeighted ? adjWeightMatrix : adjBoolMatrix;
+        long weights = 0;
+        if (isWeighted) {
+            for (Double[] row : adjWeightMatrix) {
+                for (Double cell : row) {
+                    if (cell != null)
+                        weights += MemoryFootprint.BOXED_DOUBLE;
+                }
+            }
+        }
+        return new MemoryFootprint(getClass().getSimpleName(), (long) dictionary.size() * bytesPerKey,
+                dictionary.footprintBytes() + MemoryFootprint.array(visited.length, 1),
+                matrixBytes(matrix.length), weights);
+    }
+
+    /**
+     * Predicts the heap a MarioGraph would use.
+     * @param vertices the number of vertices, used as the capacity of the matrix.
+     * @param arcs the number of arcs, an undirected edge counts as two.
+     * @param weighted whether the arcs have weights.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint.
+     */
+    public static MemoryFootprint estimateFootprint(int vertices, long arcs, boolean weighted, int bytesPerKey) {
+        if (vertices < 0 || arcs < 0)
+            throw new IllegalArgumentException("vertices and arcs must not be negative");
+        if (arcs > (long) vertices * (vertices - 1))
+            throw new IllegalArgumentException("A matrix of " + vertices + " vertices can't hold " + arcs + " arcs");
+        return new MemoryFootprint(MarioGraph.class.getSimpleName(), (long) vertices * bytesPerKey,
+                VertexDictionary.footprintBytes(vertices, vertices, 8) + MemoryFootprint.array(vertices, 1),
+                matrixBytes(vertices), weighted ? (arcs + vertices) * MemoryFootprint.BOXED_DOUBLE : 0);
+    }
+
+    /**
+     * @return the bytes of a square matrix of references: the array of rows and every row.
+     */
+    private static long matrixBytes(int capacity) {
+        return MemoryFootprint.array(capacity, MemoryFootprint.REFERENCE)
+                + capacity * MemoryFootprint.array(capacity, MemoryFootprint.REFERENCE);
+    }
+
     /**
      * Prints the matrix that shows every vertex of the referred graph
      * If the graph is weighted, weight will be printed as well
@@ -497,18 +851,18 @@ public class MarioGraph<E> extends Graph<E>{
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        int size = vertices.size();
+        int size = dictionary.size();
         if (super.isWeighted) {
             sb.append("  ");
-            for (E vertex : vertices) {
-                sb.append(String.format(" %s   ", vertex.toString()));
+            for (int i = 0; i < size; i++) {
+                sb.append(String.format(" %s   ", dictionary.keyOf(i).toString()));
             }
             sb.append("\n");
             for (int i = 0; i < size; i++) {
-                if (i < vertices.size()) {
-                    sb.append(String.format("%s ", vertices.get(i)));
+                if (i < dictionary.size()) {
+                    sb.append(String.format("%s ", dictionary.keyOf(i)));
                 }
-                if (i > (vertices.size() - 1)) {
+                if (i > (dictionary.size() - 1)) {
                     sb.append("  ");
                 }
                 for (int j = 0; j < size; j++) {
@@ -524,15 +878,15 @@ public class MarioGraph<E> extends Graph<E>{
         }
         if (!super.isWeighted) {
             sb.append("     ");
-            for (E vertex : vertices) {
-                sb.append(String.format("%s ", vertex));
+            for (int i = 0; i < size; i++) {
+                sb.append(String.format("%s ", dictionary.keyOf(i)));
             }
             sb.append("\n");
             for (int i = 0; i < size; i++) {
-                if (i < vertices.size()) {
-                    sb.append(String.format("%s ", vertices.get(i)));
+                if (i < dictionary.size()) {
+                    sb.append(String.format("%s ", dictionary.keyOf(i)));
                 }
-                if (i > (vertices.size() - 1)) {
+                if (i > (dictionary.size() - 1)) {
                     sb.append("      ");
                 }
                 for (int j = 0; j < size; j++) {
@@ -0,0 +1,151 @@
+package TheGraph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estimated heap used by a graph, split by component: the key objects, the index that maps keys to
+ * vertices, the adjacency structure and the arc weights. Graphs report their own with
+ * Graph.memoryFootprint(), and estimate() predicts it for every representation before building one.
+ * Sizes follow a 64-bit HotSpot JVM with compressed oops and class pointers, the default below 32 GB
+ * of heap: 12-byte object headers, 16-byte array headers, 4-byte references and 8-byte alignment.
+ */
+public final class MemoryFootprint {
+    /**
+     * Bytes of a boxed Integer, the size assumed for each key when none is given.
+     */
+    public static final int DEFAULT_KEY_BYTES = 16;
+
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REFERENCE = 4;
+    static final int BOXED = 16;
+    static final int BOXED_DOUBLE = 24;
+
+    private final String representation;
+    private final long keyBytes;
+    private final long indexBytes;
+    private final long adjacencyBytes;
+    private final long weightBytes;
+
+    MemoryFootprint(String representation, long keyBytes, long indexBytes, long adjacencyBytes, long weightBytes) {
+        this.representation = representation;
+        this.keyBytes = keyBytes;
+        this.indexBytes = indexBytes;
+        this.adjacencyBytes = adjacencyBytes;
+        this.weightBytes = weightBytes;
+    }
+
+    /**
+     * Predicts the footprint of every representation for a graph of the given shape.
+     * @param vertices the number of vertices, also the capacity of a MarioGraph.
+     * @param arcs the number of arcs, an undirected edge counts as two.
+     * @param weighted whether the arcs have weights.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the footprints by the simple name of the representation.
+     */
+    public static Map<String, MemoryFootprint> estimate(int vertices, long arcs, boolean weighted, int bytesPerKey) {
+        Map<String, MemoryFootprint> footprints = new LinkedHashMap<>();
+        footprints.put(LuigiGraph.class.getSimpleName(), LuigiGraph.estimateFootprint(vertices, arcs, weighted, bytesPerKey));
+        footprints.put(MarioGraph.class.getSimpleName(), MarioGraph.estimateFootprint(vertices, arcs, weighted, bytesPerKey));
+        return footprints;
+    }
+
+    /**
+     * Predicts the footprint of every representation, with keys of DEFAULT_KEY_BYTES.
+     * @param vertices the number of vertices, also the capacity of a MarioGraph.
+     * @param arcs the number of arcs, an undirected edge counts as two.
+     * @param weighted whether the arcs have weights.
+     * @return the footprints by the simple name of the representation.
+     */
+    public static Map<String, MemoryFootprint> estimate(int vertices, long arcs, boolean weighted) {
+        return estimate(vertices, arcs, weighted, DEFAULT_KEY_BYTES);
+    }
+
+    /**
+     * Rounds a size up to the 8-byte alignment of objects.
+     */
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @return the bytes of an array with the given length and element size.
+     */
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * @return the bytes of an ArrayList that grew to size elements one at a time, without the elements.
+     */
+    static long arrayList(int size) {
+        long capacity = 0;
+        while (capacity < size)
+            capacity = Math.max(10, capacity + (capacity >> 1));
+        return align(OBJECT_HEADER + 2 * 4 + REFERENCE) + (capacity == 0 ? 0 : array(capacity, REFERENCE));
+    }
+
+    /**
+     * @return the bytes of a HashMap holding size entries at the default load factor, without the keys and values.
+     */
+    static long hashMap(int size) {
+        long table = size == 0 ? 0 : array(Math.max(16, Integer.highestOneBit((int) Math.ceil(size / 0.75) - 1) << 1), REFERENCE);
+        long node = align(OBJECT_HEADER + 4 + 3 * REFERENCE);
+        return align(OBJECT_HEADER + 4 * 4 + 4 * REFERENCE) + table + size * node;
+    }
+
+    /**
+     * @return the simple name of the graph class measured.
+     */
+    public String getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * @return the bytes of the key objects.
+     */
+    public long getKeyBytes() {
+        return keyBytes;
+    }
+
+    /**
+     * @return the bytes of the structures mapping keys to vertices.
+     */
+    public long getIndexBytes() {
+        return indexBytes;
+    }
+
+    /**
+     * @return the bytes of the structure holding the arcs.
+     */
+    public long getAdjacencyBytes() {
+        return adjacencyBytes;
+    }
+
+    /**
+     * @return the bytes of the arc weights, 0 if the graph is unweighted.
+     */
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    /**
+     * @return the bytes of every component together.
+     */
+    public long getTotalBytes() {
+        return keyBytes + indexBytes + adjacencyBytes + weightBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryFootprint{" +
+                "representation=" + representation +
+                ", keyBytes=" + keyBytes +
+                ", indexBytes=" + indexBytes +
+                ", adjacencyBytes=" + adjacencyBytes +
+                ", weightBytes=" + weightBytes +
+                ", totalBytes=" + getTotalBytes() +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+ * Breadth-first search from many sources at once (MS-BFS).
+ * Sources are taken in batches of 64: each vertex keeps a long whose bit i says whether source i has
+ * already reached it, and the frontier is one such mask per vertex. Scanning the arcs of a vertex
+ * advances every source of the batch that has it in its frontier, so overlapping neighbourhoods are
+ * traversed once per batch instead of once per source.
+ */
+public final class MultiSourceBFS {
+    /**
+     * Number of sources advanced together.
+     */
+    public static final int BATCH = Long.SIZE;
+
+    private MultiSourceBFS() {
+    }
+
+    /**
+     * Receives each vertex the first time a source reaches it.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * @param source the position of the source in the array of sources.
+         * @param vertex the id of the vertex reached.
+         * @param hops the length of the shortest path from the source to the vertex.
+         */
+        void visit(int source, int vertex, int hops);
+    }
+
+    /**
+     * Gets the hop distances from every source to every vertex.
+     * @param graph the graph to traverse, arcs are followed in their direction.
+     * @param sources the ids of the source vertices.
+     * @param maxHops the farthest distance explored, or -1 for no limit.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return for each source an array indexed by vertex id with the distance, -1 if not reached.
+     * @throws IllegalArgumentException if any source id has no vertex.
+     */
+    public static <E> int[][] distances(IntGraph<E> graph, int[] sources, int maxHops) {
+        int[][] distances = new int[sources.length][graph.idBound()];
+        for (int[] row : distances)
+            Arrays.fill(row, -1);
+        traverse(graph, sources, maxHops, (source, vertex, hops) -> distances[source][vertex] = hops);
+        return distances;
+    }
+
+    /**
+     * Gets the vertices within k hops of every source, the source itself included.
+     * @param graph the graph to traverse, arcs are followed in their direction.
+     * @param sources the elements in the source vertices.
+     * @param k the farthest distance included.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return for each source, in the same order, the set of elements reached.
+     * @throws IllegalArgumentException if any of the sources doesn't exist.
+     */
+    public static <E> List<Set<E>> kHop(Graph<E> graph, List<E> sources, int k) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int[] ids = new int[sources.size()];
+        List<Set<E>> reached = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            E key = sources.get(i);
+            ids[i] = key == null ? -1 : ints.idOf(key);
+            if (ids[i] == -1)
+                throw new IllegalArgumentException("El vértice no existe en el grafo.");
+            reached.add(new HashSet<>());
+        }
+        traverse(ints, ids, k, (source, vertex, hops) -> reached.get(source).add(ints.keyOf(vertex)));
+        return reached;
+    }
+
+    /**
+     * Runs the search, handing every (source, vertex) pair to the visitor once, in order of distance per batch.
+     * @param graph the graph to traverse, arcs are followed in their direction.
+     * @param sources the ids of the source vertices.
+     * @param maxHops the farthest distance explored, or -1 for no limit.
+     * @param visitor receives every vertex reached by every source.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @throws IllegalArgumentException if any source id has no vertex.
+     */
+    public static <E> void traverse(IntGraph<E> graph, int[] sources, int maxHops, Visitor visitor) {
+        int bound = graph.idBound();
+        for (int source : sources) {
+            if (source < 0 || source >= bound || graph.keyOf(source) == null)
+                throw new IllegalArgumentException("No vertex with id " + source);
+        }
+        long[] seen = new long[bound];
+        long[] frontier = new long[bound];
+        long[] next = new long[bound];
+        int[] active = new int[bound];
+        int[] nextActive = new int[bound];
+        for (int offset = 0; offset < sources.length; offset += BATCH) {
+            int size = Math.min(BATCH, sources.length - offset);
+            Arrays.fill(seen, 0);
+            Arrays.fill(frontier, 0);
+            int activeCount = 0;
+            for (int i = 0; i < size; i++) {
+                int source = sources[offset + i];
+                if (frontier[source] == 0)
+                    active[activeCount++] = source;
+                frontier[source] |= 1L << i;
+                seen[source] |= 1L << i;
+                visitor.visit(offset + i, source, 0);
+            }
+            for (int hops = 1; activeCount > 0 && (maxHops < 0 || hops <= maxHops); hops++) {
+                int nextCount = 0;
+                for (int a = 0; a < activeCount; a++) {
+                    int v = active[a];
+                    long mask = frontier[v];
+                    frontier[v] = 0;
+                    PrimitiveIterator.OfInt neighbors = graph.neighbors(v);
+                    while (neighbors.hasNext()) {
+                        int w = neighbors.nextInt();
+                        long fresh = mask & ~seen[w];
+                        if (fresh == 0)
+                            continue;
+                        if (next[w] == 0)
+                            nextActive[nextCount++] = w;
+                        next[w] |= fresh;
+                        seen[w] |= fresh;
+                    }
+                }
+                for (int a = 0; a < nextCount; a++) {
+                    int w = nextActive[a];
+                    long fresh = next[w];
+                    while (fresh != 0) {
+                        visitor.visit(offset + Long.numberOfTrailingZeros(fresh), w, hops);
+                        fresh &= fresh - 1;
+                    }
+                }
+                long[] swapMasks = frontier;
+                frontier = next;
+                next = swapMasks;
+                int[] swapActive = active;
+                active = nextActive;
+                nextActive = swapActive;
+                activeCount = nextCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package TheGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of graph mutations split in segments.
+ * Records are buffered in memory and written by a background thread that forces every batch to disk
+ * with a single fsync, so concurrent writers share the cost of one fsync (group commit).
+ * Each record is framed as [payload length][crc32 of payload][payload], the payload starts with its sequence number.
+ */
+class MutationLog implements AutoCloseable {
+    /**
+     * Bytes of the frame written before every payload.
+     */
+    static final int HEADER_BYTES = 8;
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path dir;
+    private final DurabilityOptions options;
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private Path segment;
+    private ByteBuffer pending;
+    private ByteBuffer writing;
+    private long nextLsn;
+    private long pendingLastLsn;
+    private long durableLsn;
+    private int waiters;
+    private boolean closed;
+    private IOException failure;
+
+    private long logBytesWritten;
+    private long fsyncCount;
+
+    /**
+     * Opens a new segment in the directory, its first record will have the given sequence number.
+     * @param dir the directory holding the segments.
+     * @param firstLsn the sequence number of the next record.
+     * @param options the batching settings.
+     * @throws IOException if the segment can't be created.
+     */
+    MutationLog(Path dir, long firstLsn, DurabilityOptions options) throws IOException {
+        this.dir = dir;
+        this.options = options;
+        this.nextLsn = firstLsn;
+        this.durableLsn = firstLsn - 1;
+        this.pendingLastLsn = firstLsn - 1;
+        this.pending = ByteBuffer.allocate(Math.max(options.getBatchBytes() * 2, 4096));
+        this.writing = ByteBuffer.allocate(pending.capacity());
+        openSegment(firstLsn);
+        this.flusher = new Thread(this::flushLoop, "graph-wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        segment = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Reserves the sequence number of the next record.
+     * The caller must append the record with this number before reserving another one.
+     * @return the sequence number.
+     */
+    synchronized long nextLsn() {
+        return nextLsn++;
+    }
+
+    /**
+     * Gets the sequence number of the last reserved record.
+     * @return the last sequence number, or the one before the first record if nothing was logged.
+     */
+    synchronized long lastLsn() {
+        return nextLsn - 1;
+    }
+
+    /**
+     * Buffers a record. It is written with the next batch.
+     * @param lsn the sequence number of the record, already written at the start of the payload.
+     * @param payload the array holding the payload.
+     * @param length the bytes of the payload.
+     */
+    synchronized void append(long lsn, byte[] payload, int length) {
+        checkOpen();
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        ensurePending(HEADER_BYTES + length);
+        pending.putInt(length);
+        pending.putInt((int) crc.getValue());
+        pending.put(payload, 0, length);
+        pendingLastLsn = lsn;
+        if (pending.position() >= options.getBatchBytes())
+            notifyAll();
+    }
+
+    private void ensurePending(int bytes) {
+        while (pending.remaining() < bytes) {
+            if (pending.position() > 0 && Thread.currentThread() != flusher) {
+                notifyAll();
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the log", e);
+                }
+                checkOpen();
+                continue;
+            }
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence number has been forced to disk.
+     * Interrupts don't stop the wait, the record is written anyway, they are kept for the caller.
+     * @param lsn the sequence number to wait for.
+     * @throws UncheckedIOException if the log failed before the record was forced.
+     * @throws IllegalStateException if the log was closed before the record was forced.
+     */
+    synchronized void awaitDurable(long lsn) {
+        boolean interrupted = false;
+        waiters++;
+        try {
+            notifyAll();
+            while (durableLsn < lsn) {
+                // A close still flushes the buffered records, so only a failure or a stopped flusher ends the wait.
+                if (failure != null)
+                    throw new UncheckedIOException("The mutation log failed", failure);
+                if (closed && !flusher.isAlive())
+                    throw new IllegalStateException("The mutation log is closed");
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            waiters--;
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes and forces everything buffered so far, then blocks until it is durable.
+     */
+    void sync() {
+        awaitDurable(lastLsn());
+    }
+
+    /**
+     * Background loop. Waits until a batch is full, someone waits for it, or the linger time expires,
+     * then writes the batch and forces it with one fsync.
+     */
+    private void flushLoop() {
+        while (true) {
+            long batchLsn;
+            synchronized (this) {
+                try {
+                    while (!closed && pending.position() == 0)
+                        wait();
+                    long deadline = System.nanoTime() + options.getLingerMillis() * 1_000_000L;
+                    while (!closed && waiters == 0 && pending.position() < options.getBatchBytes()) {
+                        long left = deadline - System.nanoTime();
+                        if (left <= 0)
+                            break;
+                        wait(Math.max(1, left / 1_000_000L));
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pending.position() == 0 && closed)
+                    return;
+                ByteBuffer swap = writing;
+                writing = pending;
+                pending = swap;
+                pending.clear();
+                batchLsn = pendingLastLsn;
+                notifyAll();
+            }
+            IOException error = null;
+            long written = writing.position();
+            try {
+                writeBatch();
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                if (error != null) {
+                    failure = error;
+                    closed = true;
+                } else {
+                    logBytesWritten += written;
+                    fsyncCount++;
+                    durableLsn = Math.max(durableLsn, batchLsn);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        writing.flip();
+        while (writing.hasRemaining())
+            channel.write(writing);
+        channel.force(false);
+        writing.clear();
+    }
+
+    /**
+     * Forces the current segment and starts a new one whose first record will be nextLsn().
+     * Used by checkpoints so that every record up to the snapshot lives in older segments.
+     * @return the segments that only hold records older than the new segment.
+     * @throws IOException if the new segment can't be created.
+     */
+    synchronized List<Path> rotate() throws IOException {
+        sync();
+        checkOpen();
+        channel.close();
+        List<Path> older = listSegments(dir);
+        openSegment(nextLsn);
+        older.remove(segment);
+        return older;
+    }
+
+    private void checkOpen() {
+        if (failure != null)
+            throw new UncheckedIOException("The mutation log failed", failure);
+        if (closed)
+            throw new IllegalStateException("The mutation log is closed");
+    }
+
+    synchronized long getLogBytesWritten() {
+        return logBytesWritten;
+    }
+
+    synchronized long getFsyncCount() {
+        return fsyncCount;
+    }
+
+    /**
+     * Counts an fsync done outside the log, such as the one of a snapshot.
+     */
+    synchronized void countFsync() {
+        fsyncCount++;
+    }
+
+    /**
+     * Flushes the buffered records and closes the current segment.
+     * @throws IOException if the last batch can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Lists the segments of a directory, oldest first.
+     * @param dir the directory holding the segments.
+     * @return the segment paths sorted by their first sequence number.
+     * @throws IOException if the directory can't be read.
+     */
+    static List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList());
+            return segments;
+        }
+    }
+
+    /**
+     * Receives the payloads of the records read during recovery.
+     */
+    @FunctionalInterface
+    interface RecordHandler {
+        void accept(long lsn, ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * Reads every segment of a directory and hands the records newer than afterLsn to the handler.
+     * A torn or corrupt record ends the log: the segment is truncated right before it and
+     * the segments after it are deleted, since they can't be ordered after a hole.
+     * @param dir the directory holding the segments.
+     * @param afterLsn records with this sequence number or an older one are skipped.
+     * @param handler receives each record.
+     * @return the sequence number of the last valid record, or afterLsn if there are none newer.
+     * @throws IOException if a segment can't be read.
+     */
+    static long replay(Path dir, long afterLsn, RecordHandler handler) throws IOException {
+        long lastLsn = afterLsn;
+        List<Path> segments = listSegments(dir);
+        boolean truncated = false;
+        for (Path path : segments) {
+            if (truncated) {
+                Files.delete(path);
+                continue;
+            }
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.allocate((int) in.size());
+                while (data.hasRemaining() && in.read(data) >= 0) {
+                }
+                data.flip();
+                long goodEnd = 0;
+                while (data.remaining() >= HEADER_BYTES) {
+                    int length = data.getInt();
+                    int crcValue = data.getInt();
+                    if (length < 8 || length > data.remaining())
+                        break;
+                    ByteBuffer payload = data.slice(data.position(), length);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload.duplicate());
+                    if ((int) crc.getValue() != crcValue)
+                        break;
+                    data.position(data.position() + length);
+                    long lsn = payload.getLong();
+                    if (lsn > afterLsn) {
+                        handler.accept(lsn, payload);
+                        lastLsn = lsn;
+                    }
+                    goodEnd = data.position();
+                }
+                if (goodEnd < in.size()) {
+                    in.truncate(goodEnd);
+                    in.force(true);
+                    truncated = true;
+                }
+            }
+        }
+        return lastLsn;
+    }
+}
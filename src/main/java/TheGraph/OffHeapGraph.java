@@ -0,0 +1,757 @@
+package TheGraph;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+/**
+ * Class implementing a graph with adjacency lists stored outside the Java heap.
+ * Each vertex owns a block of slots in a native arc pool: the destination ids are stored in one
+ * segment and, for weighted graphs, the weights in a parallel segment. The per-vertex block
+ * table lives off-heap too, so the heap only holds the keys and their ids, no matter how many arcs there are.
+ * The native memory is freed by close(), after which the graph can't be used.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class OffHeapGraph<E> extends Graph<E> implements Traversable<E>, AutoCloseable {
+    /**
+     * Bytes of a vertex entry in the block table: [long block start][int degree][int capacity].
+     */
+    private static final long ENTRY_BYTES = 16;
+    private static final long START = 0;
+    private static final long DEGREE = 8;
+    private static final long CAPACITY = 12;
+    private static final int MIN_BLOCK = 4;
+
+    /**
+     * Maps every key to its vertex id, the id is the index of the vertex in the block table.
+     * Ids freed by removeVertex are reused before growing the table.
+     */
+    private final VertexDictionary<E> dictionary;
+
+    private Arena tableArena;
+    private MemorySegment table;
+    private long tableCapacity;
+
+    private Arena poolArena;
+    private MemorySegment targets;
+    private MemorySegment weights;
+    private long poolCapacity;
+    private long poolUsed;
+    private long poolWasted;
+    private long arcCount;
+    private boolean closed;
+
+    /**
+     * Constructor for OffHeapGraph class.
+     * @param isWeighted a boolean value indicating whether the graph is weighted or not
+     */
+    public OffHeapGraph(boolean isWeighted) {
+        this(isWeighted, 16, 64);
+    }
+
+    /**
+     * Constructor for OffHeapGraph class with initial capacities, both grow when they are exceeded.
+     * @param isWeighted a boolean value indicating whether the graph is weighted or not
+     * @param expectedVertices the number of vertices the block table is sized for.
+     * @param expectedArcs the number of arcs the pool is sized for.
+     */
+    public OffHeapGraph(boolean isWeighted, int expectedVertices, long expectedArcs) {
+        super(isWeighted);
+        if (expectedVertices < 1 || expectedArcs < 1)
+            throw new IllegalArgumentException("The expected sizes must be positive");
+        this.dictionary = new VertexDictionary<>();
+        this.tableCapacity = expectedVertices;
+        this.tableArena = Arena.ofShared();
+        this.table = tableArena.allocate(tableCapacity * ENTRY_BYTES, 8);
+        this.poolCapacity = Math.max(expectedArcs, MIN_BLOCK);
+        this.poolArena = Arena.ofShared();
+        this.targets = poolArena.allocate(poolCapacity * Integer.BYTES, 8);
+        this.weights = isWeighted ? poolArena.allocate(poolCapacity * Double.BYTES, 8) : null;
+    }
+
+    private long start(int id) {
+        return table.get(ValueLayout.JAVA_LONG, id * ENTRY_BYTES + START);
+    }
+
+    private int degree(int id) {
+        return table.get(ValueLayout.JAVA_INT, id * ENTRY_BYTES + DEGREE);
+    }
+
+    private int capacity(int id) {
+        return table.get(ValueLayout.JAVA_INT, id * ENTRY_BYTES + CAPACITY);
+    }
+
+    private void setEntry(int id, long start, int degree, int capacity) {
+        table.set(ValueLayout.JAVA_LONG, id * ENTRY_BYTES + START, start);
+        table.set(ValueLayout.JAVA_INT, id * ENTRY_BYTES + DEGREE, degree);
+        table.set(ValueLayout.JAVA_INT, id * ENTRY_BYTES + CAPACITY, capacity);
+    }
+
+    private void setDegree(int id, int degree) {
+        table.set(ValueLayout.JAVA_INT, id * ENTRY_BYTES + DEGREE, degree);
+    }
+
+    private int target(long slot) {
+        return targets.getAtIndex(ValueLayout.JAVA_INT, slot);
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("The graph was closed");
+    }
+
+    /**
+     * Finds the slot of the arc from src to dest.
+     * @return the slot in the pool, or -1 if there is no such arc.
+     */
+    private long findSlot(int src, int dest) {
+        long start = start(src);
+        long end = start + degree(src);
+        for (long slot = start; slot < end; slot++) {
+            if (target(slot) == dest)
+                return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a vertex to the graph.
+     * @param vtx the element to be added as a vertex to the graph.
+     * @return true if the vertex was added successfully, false if the element recived is null or already exists on the graph.
+     */
+    @Override
+    public boolean addVertex(E vtx) {
+        checkOpen();
+        int id = dictionary.add(vtx);
+        if (id == -1)
+            return false;
+        if (id == tableCapacity)
+            growTable();
+        setEntry(id, 0, 0, 0);
+        modified();
+        return true;
+    }
+
+    /**
+     * Doubles the block table, moving it to a new native segment.
+     */
+    private void growTable() {
+        Arena arena = Arena.ofShared();
+        MemorySegment bigger = arena.allocate(tableCapacity * 2 * ENTRY_BYTES, 8);
+        MemorySegment.copy(table, 0, bigger, 0, tableCapacity * ENTRY_BYTES);
+        tableArena.close();
+        tableArena = arena;
+        table = bigger;
+        tableCapacity *= 2;
+    }
+
+    /**
+     * Appends an arc to the block of src, moving the block to the end of the pool when it is full.
+     */
+    private void appendArc(int src, int dest, double weight) {
+        int degree = degree(src);
+        int capacity = capacity(src);
+        if (degree == capacity) {
+            int newCapacity = Math.max(MIN_BLOCK, capacity * 2);
+            ensurePool(newCapacity);
+            long oldStart = start(src);
+            long newStart = poolUsed;
+            MemorySegment.copy(targets, oldStart * Integer.BYTES, targets, newStart * Integer.BYTES, (long) degree * Integer.BYTES);
+            if (weights != null)
+                MemorySegment.copy(weights, oldStart * Double.BYTES, weights, newStart * Double.BYTES, (long) degree * Double.BYTES);
+            poolUsed += newCapacity;
+            poolWasted += capacity;
+            setEntry(src, newStart, degree, newCapacity);
+        }
+        long slot = start(src) + degree;
+        targets.setAtIndex(ValueLayout.JAVA_INT, slot, dest);
+        if (weights != null)
+            weights.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, weight);
+        setDegree(src, degree + 1);
+        arcCount++;
+    }
+
+    /**
+     * Makes room for a block of the given size at the end of the pool.
+     * The pool is compacted when at least half of it is held by abandoned blocks, otherwise it is doubled.
+     */
+    private void ensurePool(int slots) {
+        if (poolUsed + slots <= poolCapacity)
+            return;
+        long live = poolUsed - poolWasted;
+        long newCapacity = poolCapacity;
+        if (poolWasted < poolUsed / 2 || live + slots > poolCapacity)
+            newCapacity = Math.max(poolCapacity * 2, live + slots);
+        relocatePool(newCapacity);
+    }
+
+    /**
+     * Copies every live block to new segments of the given capacity, packed one after another.
+     */
+    private void relocatePool(long newCapacity) {
+        Arena arena = Arena.ofShared();
+        MemorySegment newTargets = arena.allocate(newCapacity * Integer.BYTES, 8);
+        MemorySegment newWeights = weights != null ? arena.allocate(newCapacity * Double.BYTES, 8) : null;
+        long used = 0;
+        for (int id = 0; id < dictionary.idBound(); id++) {
+            if (dictionary.keyOf(id) == null)
+                continue;
+            int capacity = capacity(id);
+            long start = start(id);
+            int degree = degree(id);
+            MemorySegment.copy(targets, start * Integer.BYTES, newTargets, used * Integer.BYTES, (long) degree * Integer.BYTES);
+            if (newWeights != null)
+                MemorySegment.copy(weights, start * Double.BYTES, newWeights, used * Double.BYTES, (long) degree * Double.BYTES);
+            setEntry(id, used, degree, capacity);
+            used += capacity;
+        }
+        poolArena.close();
+        poolArena = arena;
+        targets = newTargets;
+        weights = newWeights;
+        poolCapacity = newCapacity;
+        poolUsed = used;
+        poolWasted = 0;
+    }
+
+    /**
+     * Removes the arc in the given slot of src, shifting the following arcs to keep their order.
+     */
+    private void removeSlot(int src, long slot) {
+        long end = start(src) + degree(src);
+        long tail = end - slot - 1;
+        if (tail > 0) {
+            MemorySegment.copy(targets, (slot + 1) * Integer.BYTES, targets, slot * Integer.BYTES, tail * Integer.BYTES);
+            if (weights != null)
+                MemorySegment.copy(weights, (slot + 1) * Double.BYTES, weights, slot * Double.BYTES, tail * Double.BYTES);
+        }
+        setDegree(src, degree(src) - 1);
+        arcCount--;
+    }
+
+    /**
+     * Adds an unweighted edge between two vertices in the graph.
+     * @param src the element in the source vertex of the edge.
+     * @param dest the element in the destination vertex of the edge.
+     * @return true if the edge was added successfully, false if the graph is weighted or any element is null
+     */
+    @Override
+    public boolean addEdge(E src, E dest) {
+        if (this.isWeighted)
+            return false;
+        return addEdgeHelper(src, dest, 0);
+    }
+
+    /**
+     * Adds a weighted edge between two vertices in the graph.
+     * @param src the element in the source vertex of the edge
+     * @param dest the element in the destination vertex of the edge
+     * @param weight the weight of the edge
+     * @return true if the edge was added successfully, false if the graph is unweighted or any element is null
+     */
+    @Override
+    public boolean addEdge(E src, E dest, double weight) {
+        if (!this.isWeighted)
+            return false;
+        return addEdgeHelper(src, dest, weight);
+    }
+
+    /**
+     * Adds an edge between two vertices in the graph.
+     * If there is only an arc between the two vertices, it will override its weight
+     * @return true if the edge was added successfully, false if there's already an edge or two arcs.
+     */
+    private boolean addEdgeHelper(E src, E dest, double weight) {
+        checkOpen();
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1)
+            return false;
+        long srcDest = findSlot(s, d);
+        long destSrc = findSlot(d, s);
+        if (srcDest != -1 && destSrc != -1)
+            return false;
+        if (srcDest != -1) {
+            if (weights != null)
+                weights.setAtIndex(ValueLayout.JAVA_DOUBLE, srcDest, weight);
+            appendArc(d, s, weight);
+        } else if (destSrc != -1) {
+            if (weights != null)
+                weights.setAtIndex(ValueLayout.JAVA_DOUBLE, destSrc, weight);
+            appendArc(s, d, weight);
+        } else {
+            appendArc(s, d, weight);
+            appendArc(d, s, weight);
+        }
+        modified();
+        return true;
+    }
+
+    /**
+     * Adds an unweighted arc from one vertex to another in the graph.
+     * @param src the element in the source vertex of the arc.
+     * @param dest the element in the destination vertex of the arc.
+     * @return true if the arc was added successfully, false if the arc already exists or any of the elements is null.
+     */
+    @Override
+    public boolean addArc(E src, E dest) {
+        if (this.isWeighted)
+            return false;
+        return addArcHelper(src, dest, 0);
+    }
+
+    /**
+     * Adds a weighted arc from one vertex to another in the graph.
+     * @param src the element in the source vertex of the arc.
+     * @param dest the element in the destination vertex of the arc.
+     * @param weight the weight of the arc.
+     * @return true if the arc was added successfully, false if the arc already exists or any of the elements is null.
+     */
+    @Override
+    public boolean addArc(E src, E dest, double weight) {
+        if (!this.isWeighted)
+            return false;
+        return addArcHelper(src, dest, weight);
+    }
+
+    private boolean addArcHelper(E src, E dest, double weight) {
+        checkOpen();
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1 || findSlot(s, d) != -1)
+            return false;
+        appendArc(s, d, weight);
+        modified();
+        return true;
+    }
+
+    /**
+     * Gets the number of vertices in the graph.
+     * @return the number of vertices in the graph
+     */
+    @Override
+    public int vertexCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Gets the number of arcs in the graph, an undirected edge counts as two arcs.
+     * @return the number of arcs in the graph
+     */
+    public long arcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Removes the specified vertex from the graph together with every arc that reaches it.
+     * Its block is abandoned in the pool and reclaimed by the next compaction.
+     * @param vtx the vertex to be removed.
+     * @return true if the vertex was successfully removed, false otherwise.
+     */
+    @Override
+    public boolean removeVertex(E vtx) {
+        checkOpen();
+        int id = dictionary.idOf(vtx);
+        if (id == -1)
+            return false;
+        for (int other = 0; other < dictionary.idBound(); other++) {
+            if (other == id || dictionary.keyOf(other) == null)
+                continue;
+            long slot = findSlot(other, id);
+            if (slot != -1)
+                removeSlot(other, slot);
+        }
+        arcCount -= degree(id);
+        poolWasted += capacity(id);
+        setEntry(id, 0, 0, 0);
+        dictionary.remove(vtx);
+        modified();
+        return true;
+    }
+
+    /**
+     * Removes the specified arc from the graph.
+     * @param src the source vertex of the arc to be removed.
+     * @param dest the destination vertex of the arc to be removed.
+     * @return true if the arc was successfully removed, false otherwise.
+     */
+    @Override
+    public boolean removeArc(E src, E dest) {
+        checkOpen();
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1)
+            return false;
+        long slot = findSlot(s, d);
+        if (slot == -1)
+            return false;
+        removeSlot(s, slot);
+        modified();
+        return true;
+    }
+
+    /**
+     * Removes the specified edge from the graph.
+     * @param src the source vertex of the edge to be removed.
+     * @param dest the destination vertex of the edge to be removed.
+     * @return true if the edge was successfully removed, false otherwise.
+     */
+    @Override
+    public boolean removeEdge(E src, E dest) {
+        checkOpen();
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1 || findSlot(s, d) == -1 || findSlot(d, s) == -1)
+            return false;
+        return removeArc(src, dest) && removeArc(dest, src);
+    }
+
+    /**
+     * Updates the weight of the specified arc.
+     * @param src the source vertex of the arc.
+     * @param dest the destination vertex of the arc.
+     * @param weight the new weight to be set.
+     * @return true if the weight was updated, false if the graph is unweighted or the arc doesn't exist.
+     */
+    @Override
+    public boolean updateArc(E src, E dest, double weight) {
+        checkOpen();
+        if (!this.isWeighted)
+            return false;
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1)
+            return false;
+        long slot = findSlot(s, d);
+        if (slot == -1)
+            return false;
+        weights.setAtIndex(ValueLayout.JAVA_DOUBLE, slot, weight);
+        modified();
+        return true;
+    }
+
+    /**
+     * Updates the weight of the specified edge.
+     * @param src the source vertex of the edge.
+     * @param dest the destination vertex of the edge.
+     * @param weight the new weight to be set.
+     * @return true if the weight was updated, false if the graph is unweighted or the edge doesn't exist.
+     */
+    @Override
+    public boolean updateEdge(E src, E dest, double weight) {
+        if (getEdgeWeight(src, dest) == null)
+            return false;
+        return updateArc(src, dest, weight) && updateArc(dest, src, weight);
+    }
+
+    /**
+     * Get the weight of the arc between two vertices.
+     * @param src the source vertex of the arc.
+     * @param dest the destination vertex of the arc.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or the arc doesn't exist.
+     */
+    @Override
+    public Double getArcWeight(E src, E dest) {
+        checkOpen();
+        if (!this.isWeighted)
+            return null;
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1)
+            return null;
+        long slot = findSlot(s, d);
+        if (slot == -1)
+            return null;
+        return weights.getAtIndex(ValueLayout.JAVA_DOUBLE, slot);
+    }
+
+    /**
+     * Get the weight of the edge between two vertices.
+     * @param src the source vertex of the edge.
+     * @param dest the destination vertex of the edge.
+     * @return the weight, null if the graph is unweighted, any of the elements is null or the edge doesn't exist.
+     */
+    @Override
+    public Double getEdgeWeight(E src, E dest) {
+        checkOpen();
+        int s = dictionary.idOf(src);
+        int d = dictionary.idOf(dest);
+        if (s == -1 || d == -1 || findSlot(d, s) == -1)
+            return null;
+        return getArcWeight(src, dest);
+    }
+
+    /**
+     * Establishes the route starting from src vertex in depth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void DFS(E src) {
+        checkOpen();
+        int start = dictionary.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("DFS:");
+        boolean[] visited = new boolean[dictionary.idBound()];
+        int[] stack = new int[dictionary.idBound()];
+        long[] next = new long[dictionary.idBound()];
+        int top = 0;
+        stack[0] = start;
+        next[0] = start(start);
+        visited[start] = true;
+        System.out.print(src + " -> ");
+        while (top >= 0) {
+            int current = stack[top];
+            if (next[top] == start(current) + degree(current)) {
+                top--;
+                continue;
+            }
+            int neighbour = target(next[top]++);
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                System.out.print(dictionary.keyOf(neighbour) + " -> ");
+                stack[++top] = neighbour;
+                next[top] = start(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Establishes the route starting from src vertex in breadth
+     * If the vertex doesn´t exist, an exception is thrown
+     * @param src the source vertex key of the arc.
+     */
+    @Override
+    public void BFS(E src) {
+        checkOpen();
+        int start = dictionary.idOf(src);
+        if (start == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        System.out.println("\nBFS");
+        boolean[] visited = new boolean[dictionary.idBound()];
+        int[] queue = new int[dictionary.idBound()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = true;
+        while (head < tail) {
+            int current = queue[head++];
+            System.out.print(dictionary.keyOf(current) + " -> ");
+            long end = start(current) + degree(current);
+            for (long slot = start(current); slot < end; slot++) {
+                int neighbour = target(slot);
+                if (!visited[neighbour]) {
+                    visited[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a view of the graph that works with the ids of the vertices, reading the native blocks directly.
+     * @return the int view, backed by this graph.
+     */
+    @Override
+    public IntGraph<E> asIntGraph() {
+        return intView;
+    }
+
+    /**
+     * Checks that an id belongs to a vertex, for the int view.
+     * @throws IllegalArgumentException if no vertex has that id.
+     */
+    private void checkId(int id) {
+        checkOpen();
+        if (!dictionary.contains(id))
+            throw new IllegalArgumentException("No vertex with id " + id);
+    }
+
+    /**
+     * The int view of the graph.
+     */
+    private final IntGraph<E> intView = new IntGraph<>() {
+        @Override
+        public int idOf(E key) {
+            return dictionary.idOf(key);
+        }
+
+        @Override
+        public E keyOf(int id) {
+            return dictionary.keyOf(id);
+        }
+
+        @Override
+        public int idBound() {
+            return dictionary.idBound();
+        }
+
+        @Override
+        public boolean isWeighted() {
+            return isWeighted;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest) {
+            checkOpen();
+            if (isWeighted || !dictionary.contains(src) || !dictionary.contains(dest) || findSlot(src, dest) != -1)
+                return false;
+            appendArc(src, dest, 0);
+            modified();
+            return true;
+        }
+
+        @Override
+        public boolean addArc(int src, int dest, double weight) {
+            checkOpen();
+            if (!isWeighted || !dictionary.contains(src) || !dictionary.contains(dest) || findSlot(src, dest) != -1)
+                return false;
+            appendArc(src, dest, weight);
+            modified();
+            return true;
+        }
+
+        @Override
+        public boolean hasArc(int src, int dest) {
+            checkOpen();
+            return dictionary.contains(src) && findSlot(src, dest) != -1;
+        }
+
+        @Override
+        public double arcWeight(int src, int dest) {
+            checkOpen();
+            long slot = dictionary.contains(src) ? findSlot(src, dest) : -1;
+            if (slot == -1)
+                return Double.NaN;
+            return weights != null ? weights.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) : 1.0;
+        }
+
+        @Override
+        public int degree(int id) {
+            checkId(id);
+            return OffHeapGraph.this.degree(id);
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt neighbors(int id) {
+            checkId(id);
+            long start = start(id);
+            long end = start + OffHeapGraph.this.degree(id);
+            return new PrimitiveIterator.OfInt() {
+                private long slot = start;
+
+                @Override
+                public boolean hasNext() {
+                    return slot < end;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (slot >= end)
+                        throw new NoSuchElementException();
+                    return target(slot++);
+                }
+            };
+        }
+
+        @Override
+        public void forEachNeighbor(int id, NeighborConsumer action) {
+            checkId(id);
+            long end = start(id) + OffHeapGraph.this.degree(id);
+            for (long slot = start(id); slot < end; slot++)
+                action.accept(target(slot), weights != null ? weights.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) : 1.0);
+        }
+    };
+
+    @Override
+    protected void forEachVertex(Consumer<? super E> action) {
+        checkOpen();
+        dictionary.forEachKey(action);
+    }
+
+    @Override
+    protected void forEachArc(ArcConsumer<E> action) {
+        checkOpen();
+        for (int id = 0; id < dictionary.idBound(); id++) {
+            E key = dictionary.keyOf(id);
+            if (key == null)
+                continue;
+            long end = start(id) + degree(id);
+            for (long slot = start(id); slot < end; slot++) {
+                Double weight = weights != null ? weights.getAtIndex(ValueLayout.JAVA_DOUBLE, slot) : null;
+                action.accept(key, dictionary.keyOf(target(slot)), weight);
+            }
+        }
+    }
+
+    /**
+     * Gets the native memory held by the graph, including the free space of the pool.
+     * @return the reserved off-heap bytes.
+     */
+    public long offHeapBytes() {
+        if (closed)
+            return 0;
+        return table.byteSize() + targets.byteSize() + (weights != null ? weights.byteSize() : 0);
+    }
+
+    /**
+     * Estimates the memory used by the graph. The block table and the arc pool are native segments,
+     * counted with their reserved size as the adjacency and the weights; only the index is on the heap.
+     * @param bytesPerKey the bytes of each key object.
+     * @return the estimated footprint, with no adjacency nor weights once the graph is closed.
+     */
+    @Override
+    public MemoryFootprint memoryFootprint(int bytesPerKey) {
+        long adjacency = closed ? 0 : table.byteSize() + targets.byteSize();
+        long weightBytes = closed || weights == null ? 0 : weights.byteSize();
+        return new MemoryFootprint(getClass().getSimpleName(), (long) dictionary.size() * bytesPerKey,
+                dictionary.footprintBytes(), adjacency, weightBytes);
+    }
+
+    /**
+     * Frees the native memory of the graph. Calling it again has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        tableArena.close();
+        poolArena.close();
+        table = null;
+        targets = null;
+        weights = null;
+    }
+
+    /**
+     * Prints every vertex in referred graph
+     * If the graph is weighted, weight will be printed as well
+     */
+    @Override
+    public String toString() {
+        checkOpen();
+        StringBuilder st = new StringBuilder();
+        st.append("Lista de Adyacencia:\n");
+        for (int id = 0; id < dictionary.idBound(); id++) {
+            if (dictionary.keyOf(id) == null)
+                continue;
+            st.append(dictionary.keyOf(id));
+            st.append(" -> ");
+            long end = start(id) + degree(id);
+            for (long slot = start(id); slot < end; slot++) {
+                st.append(dictionary.keyOf(target(slot)));
+                if (this.isWeighted)
+                    st.append(String.format(" (%.2f)", weights.getAtIndex(ValueLayout.JAVA_DOUBLE, slot)));
+                st.append(", ");
+            }
+            if (degree(id) > 0)
+                st.setLength(st.length() - 2);
+            st.append("\n");
+        }
+        return st.toString();
+    }
+}
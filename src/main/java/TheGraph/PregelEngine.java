@@ -0,0 +1,308 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Vertex-centric engine running a VertexProgram in bulk synchronous supersteps (Pregel).
+ * The vertex ids are split in shards by id modulo the number of shards, standing in for the worker
+ * nodes of a cluster. Every superstep each shard computes its vertices on its own virtual thread,
+ * then each shard collects the messages addressed to its vertices; a combiner, if set, merges the
+ * messages to the same vertex both before and after they cross shards.
+ * The run ends when every vertex has voted to halt and no messages are in flight, or after the
+ * maximum number of supersteps. The graph must not be mutated during a run.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ * @param <V> the type of the value of each vertex
+ * @param <M> the type of the messages
+ */
+public class PregelEngine<E, V, M> {
+    private record Aggregator(Object identity, BinaryOperator<Object> operator) {
+    }
+
+    private final Graph<E> graph;
+    final int shards;
+    BinaryOperator<M> combiner;
+    private final LinkedHashMap<String, Aggregator> aggregators = new LinkedHashMap<>();
+    private int maxSupersteps = Integer.MAX_VALUE;
+    private final List<SuperstepStats> stats = new ArrayList<>();
+    private HashMap<String, Object> aggregated = new HashMap<>();
+
+    IntGraph<E> ints;
+    Object[] values;
+    int vertexCount;
+    int superstep;
+    private ArrayList<Object>[] inbox;
+
+    /**
+     * Constructor for PregelEngine class with one shard per available processor.
+     * @param graph the graph to run programs on.
+     */
+    public PregelEngine(Graph<E> graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for PregelEngine class.
+     * @param graph the graph to run programs on.
+     * @param shards the number of partitions computed in parallel.
+     * @throws IllegalArgumentException if shards is not positive.
+     */
+    public PregelEngine(Graph<E> graph, int shards) {
+        if (shards <= 0)
+            throw new IllegalArgumentException("shards must be positive: " + shards);
+        this.graph = graph;
+        this.shards = shards;
+    }
+
+    /**
+     * Sets the function merging two messages to the same vertex, so a vertex receives at most one message.
+     * @param combiner an associative and commutative function, or null to deliver every message.
+     * @return this engine.
+     */
+    public PregelEngine<E, V, M> setCombiner(BinaryOperator<M> combiner) {
+        this.combiner = combiner;
+        return this;
+    }
+
+    /**
+     * Registers an aggregator that vertices can add values to during a superstep.
+     * @param name the name used by the vertices.
+     * @param identity the value of the aggregator before anything is added.
+     * @param operator an associative and commutative function merging two values.
+     * @param <A> the type of the aggregated values.
+     * @return this engine.
+     */
+    @SuppressWarnings("unchecked")
+    public <A> PregelEngine<E, V, M> addAggregator(String name, A identity, BinaryOperator<A> operator) {
+        aggregators.put(name, new Aggregator(identity, (BinaryOperator<Object>) operator));
+        aggregated.put(name, identity);
+        return this;
+    }
+
+    /**
+     * Sets the most supersteps a run can take.
+     * @param maxSupersteps the limit, it must be positive.
+     * @return this engine.
+     */
+    public PregelEngine<E, V, M> setMaxSupersteps(int maxSupersteps) {
+        if (maxSupersteps <= 0)
+            throw new IllegalArgumentException("maxSupersteps must be positive: " + maxSupersteps);
+        this.maxSupersteps = maxSupersteps;
+        return this;
+    }
+
+    /**
+     * Gets the counters of every superstep of the last run.
+     * @return the counters, in order.
+     */
+    public List<SuperstepStats> getSuperstepStats() {
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Gets the result of an aggregator in the last superstep.
+     * @param name the name the aggregator was registered with.
+     * @param <A> the type of the aggregated values.
+     * @return the aggregated value.
+     * @throws IllegalArgumentException if there is no aggregator with that name.
+     */
+    @SuppressWarnings("unchecked")
+    public <A> A getAggregated(String name) {
+        if (!aggregators.containsKey(name))
+            throw new IllegalArgumentException("No aggregator named " + name);
+        return (A) aggregated.get(name);
+    }
+
+    void aggregate(HashMap<String, Object> partial, String name, Object value) {
+        Aggregator aggregator = aggregators.get(name);
+        if (aggregator == null)
+            throw new IllegalArgumentException("No aggregator named " + name);
+        partial.merge(name, value, aggregator.operator());
+    }
+
+    /**
+     * Runs a program until every vertex halts.
+     * @param program the function computed on every active vertex each superstep.
+     * @param initialValue gives the value of each vertex before the first superstep.
+     * @return the final value of every vertex.
+     */
+    public synchronized Map<E, V> run(VertexProgram<E, V, M> program, Function<? super E, ? extends V> initialValue) {
+        ints = graph.asIntGraph();
+        int bound = ints.idBound();
+        values = new Object[bound];
+        @SuppressWarnings("unchecked")
+        ArrayList<Object>[] inboxes = (ArrayList<Object>[]) new ArrayList<?>[bound];
+        inbox = inboxes;
+        boolean[] halted = new boolean[bound];
+        vertexCount = 0;
+        for (int id = 0; id < bound; id++) {
+            E key = ints.keyOf(id);
+            if (key == null) {
+                halted[id] = true;
+                continue;
+            }
+            values[id] = initialValue.apply(key);
+            vertexCount++;
+        }
+        stats.clear();
+        for (Map.Entry<String, Aggregator> entry : aggregators.entrySet())
+            aggregated.put(entry.getKey(), entry.getValue().identity());
+
+        List<VertexContext<E, V, M>> contexts = new ArrayList<>(shards);
+        for (int s = 0; s < shards; s++)
+            contexts.add(new VertexContext<>(this, s, shards));
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            boolean messagesInFlight = false;
+            for (superstep = 0; superstep < maxSupersteps; superstep++) {
+                if (superstep > 0 && !messagesInFlight && allHalted(halted))
+                    break;
+                long start = System.nanoTime();
+
+                List<Callable<Void>> computeTasks = new ArrayList<>(shards);
+                for (VertexContext<E, V, M> context : contexts) {
+                    computeTasks.add(() -> {
+                        computeShard(context, program, halted);
+                        return null;
+                    });
+                }
+                invokeAll(workers, computeTasks);
+
+                List<Callable<Long>> deliverTasks = new ArrayList<>(shards);
+                for (int s = 0; s < shards; s++) {
+                    int shard = s;
+                    deliverTasks.add(() -> deliverShard(shard, contexts));
+                }
+                long delivered = 0;
+                for (Long count : invokeAll(workers, deliverTasks))
+                    delivered += count;
+                messagesInFlight = delivered > 0;
+
+                long sent = 0;
+                int computed = 0;
+                HashMap<String, Object> next = new HashMap<>();
+                for (Map.Entry<String, Aggregator> entry : aggregators.entrySet())
+                    next.put(entry.getKey(), entry.getValue().identity());
+                for (VertexContext<E, V, M> context : contexts) {
+                    sent += context.sentMessages;
+                    computed += context.computedVertices;
+                    context.sentMessages = 0;
+                    context.computedVertices = 0;
+                    for (Map.Entry<String, Object> partial : context.partialAggregates.entrySet())
+                        next.merge(partial.getKey(), partial.getValue(), aggregators.get(partial.getKey()).operator());
+                    context.partialAggregates.clear();
+                }
+                aggregated = next;
+                stats.add(new SuperstepStats(superstep, computed, sent, delivered, System.nanoTime() - start));
+            }
+        }
+
+        Map<E, V> result = new LinkedHashMap<>();
+        for (int id = 0; id < bound; id++) {
+            E key = ints.keyOf(id);
+            if (key != null) {
+                @SuppressWarnings("unchecked")
+                V value = (V) values[id];
+                result.put(key, value);
+            }
+        }
+        inbox = null;
+        values = null;
+        return result;
+    }
+
+    private boolean allHalted(boolean[] halted) {
+        for (boolean h : halted) {
+            if (!h)
+                return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void computeShard(VertexContext<E, V, M> context, VertexProgram<E, V, M> program, boolean[] halted) {
+        List<M> none = List.of();
+        for (int id = context.shard; id < values.length; id += shards) {
+            List<M> messages = (List<M>) (List<?>) inbox[id];
+            boolean hasMessages = messages != null && !messages.isEmpty();
+            if (ints.keyOf(id) == null || (halted[id] && !hasMessages))
+                continue;
+            context.moveTo(id);
+            program.compute(context, hasMessages ? messages : none);
+            halted[id] = context.votedToHalt();
+            context.computedVertices++;
+        }
+    }
+
+    /**
+     * Replaces the inboxes of a shard with the messages every shard sent to it.
+     * @return the number of messages delivered.
+     */
+    @SuppressWarnings("unchecked")
+    private long deliverShard(int shard, List<VertexContext<E, V, M>> contexts) {
+        for (int id = shard; id < inbox.length; id += shards) {
+            if (inbox[id] != null)
+                inbox[id].clear();
+        }
+        long delivered = 0;
+        BinaryOperator<Object> merge = (BinaryOperator<Object>) combiner;
+        for (VertexContext<E, V, M> context : contexts) {
+            if (merge == null) {
+                ArrayList<VertexContext.Envelope> box = context.outbox[shard];
+                for (VertexContext.Envelope envelope : box) {
+                    mailbox(envelope.dest()).add(envelope.message());
+                    delivered++;
+                }
+                box.clear();
+                continue;
+            }
+            HashMap<Integer, Object> box = context.combined[shard];
+            for (Map.Entry<Integer, Object> entry : box.entrySet()) {
+                ArrayList<Object> mailbox = mailbox(entry.getKey());
+                if (mailbox.isEmpty()) {
+                    mailbox.add(entry.getValue());
+                    delivered++;
+                } else {
+                    mailbox.set(0, merge.apply(mailbox.get(0), entry.getValue()));
+                }
+            }
+            box.clear();
+        }
+        return delivered;
+    }
+
+    private ArrayList<Object> mailbox(int id) {
+        if (inbox[id] == null)
+            inbox[id] = new ArrayList<>(1);
+        return inbox[id];
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService workers, List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : workers.invokeAll(tasks))
+                results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running a superstep", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw new IllegalStateException("A superstep failed", e.getCause());
+        }
+    }
+}
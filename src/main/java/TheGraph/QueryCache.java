@@ -0,0 +1,122 @@
+package TheGraph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of query results over a graph, evicting the least recently used entry when full.
+ * Entries are keyed by the query name and its source and target, and are tagged with the
+ * modification counter of the graph: once the graph changes, the whole cache is dropped on the
+ * next lookup, since any mutation may change the answer of any path query.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class QueryCache<E> {
+    /**
+     * Stands for a null result, so it can be told apart from a missing entry.
+     */
+    private static final Object NULL = new Object();
+
+    private record Key(String query, Object source, Object target) {
+    }
+
+    private final Graph<E> graph;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Object> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructor for QueryCache class.
+     * @param graph the graph whose queries will be cached.
+     * @param maxEntries the most results held at once.
+     * @throws IllegalArgumentException if maxEntries is not positive.
+     */
+    public QueryCache(Graph<E> graph, int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        this.graph = graph;
+        this.maxEntries = maxEntries;
+        this.version = graph.modCount();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() <= QueryCache.this.maxEntries)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the result of a query, computing and caching it if it is missing or the graph changed.
+     * @param query the name of the query, it tells apart queries over the same vertices.
+     * @param source the element in the source vertex.
+     * @param target the element in the target vertex, or null if the query has none.
+     * @param compute computes the result over the current graph, it may return null.
+     * @param <R> the type of the result.
+     * @return the cached or computed result.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <R> R get(String query, E source, E target, Supplier<R> compute) {
+        long current = graph.modCount();
+        if (current != version) {
+            if (!entries.isEmpty())
+                invalidations++;
+            entries.clear();
+            version = current;
+        }
+        Key key = new Key(query, source, target);
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return cached == NULL ? null : (R) cached;
+        }
+        misses++;
+        R result = compute.get();
+        if (graph.modCount() == version)
+            entries.put(key, result == null ? NULL : result);
+        return result;
+    }
+
+    /**
+     * Checks whether there is a directed path between two vertices, caching the answer.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @return true if dest can be reached from src.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public boolean isReachable(E src, E dest) {
+        return get("isReachable", src, dest, () -> GraphQueries.isReachable(graph, src, dest));
+    }
+
+    /**
+     * Gets the length of the shortest directed path between two vertices, caching the answer.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @return the length of the shortest path, null if dest can't be reached from src.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public Double shortestDistance(E src, E dest) {
+        return get("shortestDistance", src, dest, () -> GraphQueries.shortestDistance(graph, src, dest));
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the counters of the cache.
+     * @return a snapshot of the counters.
+     */
+    public synchronized QueryCacheStats getStats() {
+        return new QueryCacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+}
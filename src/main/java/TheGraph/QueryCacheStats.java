@@ -0,0 +1,76 @@
+package TheGraph;
+
+/**
+ * Point-in-time counters of a QueryCache.
+ */
+public final class QueryCacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    QueryCacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    /**
+     * @return the lookups answered from the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the lookups that had to compute their result.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the entries dropped because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the times the whole cache was dropped because the graph changed.
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return the entries held by the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the share of the lookups answered from the cache.
+     * @return the hit rate, 0 if there were no lookups yet.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheStats{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", invalidations=" + invalidations +
+                ", size=" + size +
+                String.format(", hitRate=%.2f", hitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,295 @@
+package TheGraph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generator of random walks for graph embeddings: uniform, weight-proportional and node2vec walks.
+ * The arcs are copied at construction into flat arrays with every row sorted, and weighted walks
+ * get an alias table per vertex so each step is drawn in constant time; later changes to the graph
+ * are not seen. node2vec walks draw a step from the first-order distribution and accept it with
+ * probability bias / max(1/p, 1, 1/q), which avoids the per-arc tables of the original method.
+ * Walks are numbered, split in chunks of CHUNK and run in parallel on the common fork/join pool;
+ * every chunk has its own generator split from the seeded one, so a seed always gives the same walks.
+ * Walks hold vertex ids of the int view of the graph.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class RandomWalks<E> {
+    static final int CHUNK = 1024;
+
+    private final IntGraph<E> ints;
+    private final WalkOptions options;
+    private final int[] starts;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] probability;
+    private final int[] alias;
+    private final double maxBias;
+
+    /**
+     * Constructor for RandomWalks class with the default options.
+     * @param graph the graph to walk.
+     */
+    public RandomWalks(Graph<E> graph) {
+        this(graph, WalkOptions.defaults());
+    }
+
+    /**
+     * Constructor for RandomWalks class. It copies the arcs and builds the alias tables.
+     * @param graph the graph to walk.
+     * @param options the kind, length and number of the walks.
+     */
+    public RandomWalks(Graph<E> graph, WalkOptions options) {
+        this.ints = graph.asIntGraph();
+        this.options = options;
+        this.starts = VertexOrdering.current(ints);
+        int bound = ints.idBound();
+        this.offsets = new int[bound + 1];
+        for (int id = 0; id < bound; id++)
+            offsets[id + 1] = offsets[id] + (ints.keyOf(id) == null ? 0 : ints.degree(id));
+        this.targets = new int[offsets[bound]];
+        double[] weights = options.isWeighted() ? new double[offsets[bound]] : null;
+        long[] row = new long[16];
+        double[] rowWeights = new double[16];
+        for (int id = 0; id < bound; id++) {
+            int degree = offsets[id + 1] - offsets[id];
+            if (degree == 0)
+                continue;
+            if (row.length < degree) {
+                row = new long[degree];
+                rowWeights = new double[degree];
+            }
+            long[] packed = row;
+            double[] scanned = rowWeights;
+            int[] count = {0};
+            ints.forEachNeighbor(id, (dest, weight) -> {
+                packed[count[0]] = (long) dest << 32 | count[0];
+                scanned[count[0]++] = weight;
+            });
+            Arrays.sort(packed, 0, degree);
+            for (int k = 0; k < degree; k++) {
+                targets[offsets[id] + k] = (int) (packed[k] >>> 32);
+                if (weights != null)
+                    weights[offsets[id] + k] = scanned[(int) packed[k]];
+            }
+        }
+        if (weights != null) {
+            this.probability = new double[targets.length];
+            this.alias = new int[targets.length];
+            for (int id = 0; id < bound; id++)
+                buildAlias(id, weights);
+        } else {
+            this.probability = null;
+            this.alias = null;
+        }
+        double p = options.getReturnParameter();
+        double q = options.getInOutParameter();
+        this.maxBias = Math.max(1, Math.max(1 / p, 1 / q));
+    }
+
+    /**
+     * Builds the alias table of a vertex with Vose's method. The slot of arc e keeps it with
+     * probability[e] and otherwise gives the arc at alias[e]; both are indexes within the row.
+     */
+    private void buildAlias(int id, double[] weights) {
+        int from = offsets[id];
+        int degree = offsets[id + 1] - from;
+        if (degree == 0)
+            return;
+        double sum = 0;
+        for (int k = 0; k < degree; k++)
+            sum += weights[from + k];
+        if (!(sum > 0)) {
+            Arrays.fill(probability, from, from + degree, 1);
+            return;
+        }
+        int[] small = new int[degree];
+        int[] large = new int[degree];
+        int smallCount = 0;
+        int largeCount = 0;
+        double[] scaled = new double[degree];
+        for (int k = 0; k < degree; k++) {
+            scaled[k] = weights[from + k] * degree / sum;
+            if (scaled[k] < 1)
+                small[smallCount++] = k;
+            else
+                large[largeCount++] = k;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[from + less] = scaled[less];
+            alias[from + less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1)
+                small[smallCount++] = more;
+            else
+                large[largeCount++] = more;
+        }
+        while (largeCount > 0)
+            probability[from + large[--largeCount]] = 1;
+        while (smallCount > 0)
+            probability[from + small[--smallCount]] = 1;
+    }
+
+    /**
+     * @return the number of walks a run generates.
+     */
+    public long walkCount() {
+        return (long) starts.length * options.getWalksPerVertex();
+    }
+
+    /**
+     * Generates every walk and hands it to an action. Walk i starts at the (i mod vertices)-th vertex,
+     * so every round covers all the vertices before the next one begins.
+     * @param action receives each walk; it is called from several threads at once.
+     * @return the counters of the run.
+     */
+    public WalkStats forEachWalk(Consumer<int[]> action) {
+        long start = System.nanoTime();
+        LongAdder steps = new LongAdder();
+        SplittableRandom[] randoms = chunkRandoms();
+        IntStream.range(0, randoms.length).parallel().forEach(chunk -> {
+            int[] buffer = new int[options.getWalkLength()];
+            long chunkSteps = 0;
+            long end = Math.min(walkCount(), (long) (chunk + 1) * CHUNK);
+            for (long i = (long) chunk * CHUNK; i < end; i++) {
+                int length = walk(starts[(int) (i % starts.length)], randoms[chunk], buffer);
+                chunkSteps += length - 1;
+                action.accept(Arrays.copyOf(buffer, length));
+            }
+            steps.add(chunkSteps);
+        });
+        return new WalkStats(walkCount(), steps.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Generates the walks lazily as a parallel stream, one chunk at a time.
+     * @return the stream of walks, in no particular order.
+     */
+    public Stream<int[]> stream() {
+        SplittableRandom[] randoms = chunkRandoms();
+        return IntStream.range(0, randoms.length).parallel().boxed().flatMap(chunk -> {
+            int[] buffer = new int[options.getWalkLength()];
+            long end = Math.min(walkCount(), (long) (chunk + 1) * CHUNK);
+            List<int[]> walks = new ArrayList<>((int) (end - (long) chunk * CHUNK));
+            for (long i = (long) chunk * CHUNK; i < end; i++) {
+                int length = walk(starts[(int) (i % starts.length)], randoms[chunk], buffer);
+                walks.add(Arrays.copyOf(buffer, length));
+            }
+            return walks.stream();
+        });
+    }
+
+    /**
+     * Writes every walk to a text file, one per line with the elements separated by spaces,
+     * the format word2vec reads. Chunks are written whole, in the order they finish.
+     * @param file the file to be written, replaced if it exists.
+     * @return the counters of the run.
+     * @throws IOException if the file can't be written.
+     */
+    public WalkStats writeTo(Path file) throws IOException {
+        long start = System.nanoTime();
+        LongAdder steps = new LongAdder();
+        SplittableRandom[] randoms = chunkRandoms();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            IntStream.range(0, randoms.length).parallel().forEach(chunk -> {
+                int[] buffer = new int[options.getWalkLength()];
+                StringBuilder text = new StringBuilder();
+                long chunkSteps = 0;
+                long end = Math.min(walkCount(), (long) (chunk + 1) * CHUNK);
+                for (long i = (long) chunk * CHUNK; i < end; i++) {
+                    int length = walk(starts[(int) (i % starts.length)], randoms[chunk], buffer);
+                    chunkSteps += length - 1;
+                    for (int k = 0; k < length; k++) {
+                        if (k > 0)
+                            text.append(' ');
+                        text.append(ints.keyOf(buffer[k]));
+                    }
+                    text.append('\n');
+                }
+                steps.add(chunkSteps);
+                synchronized (writer) {
+                    try {
+                        writer.append(text);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new WalkStats(walkCount(), steps.sum(), System.nanoTime() - start);
+    }
+
+    private SplittableRandom[] chunkRandoms() {
+        SplittableRandom root = new SplittableRandom(options.getSeed());
+        SplittableRandom[] randoms = new SplittableRandom[(int) ((walkCount() + CHUNK - 1) / CHUNK)];
+        for (int i = 0; i < randoms.length; i++)
+            randoms[i] = root.split();
+        return randoms;
+    }
+
+    /**
+     * Walks from a vertex.
+     * @param start the id of the first vertex.
+     * @param random the generator of the steps.
+     * @param buffer receives the ids of the walk, it must hold the walk length.
+     * @return the number of vertices of the walk, below the walk length if it reached a vertex without arcs.
+     */
+    int walk(int start, SplittableRandom random, int[] buffer) {
+        boolean secondOrder = options.isSecondOrder();
+        double p = options.getReturnParameter();
+        double q = options.getInOutParameter();
+        int previous = -1;
+        int current = start;
+        buffer[0] = start;
+        int length = 1;
+        while (length < buffer.length) {
+            int degree = offsets[current + 1] - offsets[current];
+            if (degree == 0)
+                break;
+            int next = targets[pick(current, degree, random)];
+            if (secondOrder && previous != -1) {
+                while (true) {
+                    double bias = next == previous ? 1 / p : hasArc(previous, next) ? 1 : 1 / q;
+                    if (random.nextDouble() * maxBias < bias)
+                        break;
+                    next = targets[pick(current, degree, random)];
+                }
+            }
+            previous = current;
+            current = next;
+            buffer[length++] = current;
+        }
+        return length;
+    }
+
+    /**
+     * Draws an arc leaving a vertex, uniformly or from its alias table.
+     * @return the index of the arc in the flat arrays.
+     */
+    private int pick(int id, int degree, SplittableRandom random) {
+        int slot = offsets[id] + random.nextInt(degree);
+        if (probability == null || random.nextDouble() < probability[slot])
+            return slot;
+        return offsets[id] + alias[slot];
+    }
+
+    private boolean hasArc(int src, int dest) {
+        return Arrays.binarySearch(targets, offsets[src], offsets[src + 1], dest) >= 0;
+    }
+}
@@ -0,0 +1,249 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Index answering "is there a directed path from A to B" with two array reads and a bit test.
+ * The graph is condensed into its strongly connected components (Tarjan), and each component keeps
+ * a bitset with every component it reaches (transitive closure of the condensation).
+ * Building it costs O(V + A) for the components plus O(C * A / 64) for the closure, where C is the
+ * number of components and A the number of arcs; it takes 4 bytes per vertex id plus C * C / 8 bytes,
+ * so it suits graphs with up to some tens of thousands of components.
+ * Arcs added through the index update the closure in O(C * C / 64) without a rebuild, unless adding the arc
+ * moved the modification counter by more than one step (an AdaptiveGraph migrating renumbers the ids); any other
+ * mutation of the graph is detected with its modification counter and rebuilds the index on the next query.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public class ReachabilityIndex<E> {
+    private final Graph<E> graph;
+    private long version;
+    private int[] component;
+    private long[][] closure;
+    private int components;
+    private long buildNanos;
+    private long rebuilds;
+
+    /**
+     * Constructor for ReachabilityIndex class. It builds the index right away.
+     * @param graph the graph to index.
+     */
+    public ReachabilityIndex(Graph<E> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * Checks whether there is a directed path from one vertex to another.
+     * @param src the element in the source vertex.
+     * @param dest the element in the destination vertex.
+     * @return true if dest can be reached from src, a vertex always reaches itself.
+     * @throws IllegalArgumentException if any of the vertices doesn't exist.
+     */
+    public boolean canReach(E src, E dest) {
+        ensureFresh();
+        IntGraph<E> ints = graph.asIntGraph();
+        int from = component[idOf(ints, src)];
+        int to = component[idOf(ints, dest)];
+        return (closure[from][to >>> 6] & (1L << to)) != 0;
+    }
+
+    /**
+     * Adds an unweighted arc to the graph and updates the index, without rebuilding it unless the ids changed.
+     * @param src the source vertex.
+     * @param dest the destination vertex.
+     * @return true if the arc was added, with the same rules as Graph.addArc.
+     */
+    public boolean addArc(E src, E dest) {
+        ensureFresh();
+        long before = graph.modCount();
+        if (!graph.addArc(src, dest))
+            return false;
+        if (graph.modCount() == before + 1)
+            arcAdded(src, dest);
+        else
+            rebuild();
+        return true;
+    }
+
+    /**
+     * Adds a weighted arc to the graph and updates the index, without rebuilding it unless the ids changed.
+     * @param src the source vertex.
+     * @param dest the destination vertex.
+     * @param weight the weight of the arc.
+     * @return true if the arc was added, with the same rules as Graph.addArc.
+     */
+    public boolean addArc(E src, E dest, double weight) {
+        ensureFresh();
+        long before = graph.modCount();
+        if (!graph.addArc(src, dest, weight))
+            return false;
+        if (graph.modCount() == before + 1)
+            arcAdded(src, dest);
+        else
+            rebuild();
+        return true;
+    }
+
+    /**
+     * Every component that reaches the source of the new arc now reaches everything its target reaches.
+     * Components joined by a new cycle are not merged, their closures just become equal.
+     */
+    private void arcAdded(E src, E dest) {
+        version = graph.modCount();
+        IntGraph<E> ints = graph.asIntGraph();
+        int from = component[ints.idOf(src)];
+        int to = component[ints.idOf(dest)];
+        if ((closure[from][to >>> 6] & (1L << to)) != 0)
+            return;
+        long[] reached = closure[to];
+        for (int c = 0; c < components; c++) {
+            long[] row = closure[c];
+            if ((row[from >>> 6] & (1L << from)) != 0) {
+                for (int w = 0; w < row.length; w++)
+                    row[w] |= reached[w];
+            }
+        }
+    }
+
+    private void ensureFresh() {
+        if (graph.modCount() != version)
+            rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the current graph.
+     */
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Builds the components and the closure. Private so the constructor doesn't call an overridable method.
+     */
+    private void rebuild() {
+        long start = System.nanoTime();
+        version = graph.modCount();
+        IntGraph<E> ints = graph.asIntGraph();
+        int bound = ints.idBound();
+        component = new int[bound];
+        components = 0;
+        int[] index = new int[bound];
+        int[] low = new int[bound];
+        boolean[] onStack = new boolean[bound];
+        int[] stack = new int[bound];
+        int[] callStack = new int[bound];
+        PrimitiveIterator.OfInt[] pending = new PrimitiveIterator.OfInt[bound];
+        int stackTop = 0;
+        int counter = 0;
+
+        // Tarjan's algorithm without recursion; index[v] == 0 means unvisited, so indexes start at 1.
+        // Components come out in reverse topological order: every arc leaves to an older component.
+        for (int root = 0; root < bound; root++) {
+            if (ints.keyOf(root) == null || index[root] != 0)
+                continue;
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = ++counter;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+            pending[root] = ints.neighbors(root);
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (pending[v].hasNext()) {
+                    int w = pending[v].nextInt();
+                    if (index[w] == 0) {
+                        index[w] = low[w] = ++counter;
+                        stack[stackTop++] = w;
+                        onStack[w] = true;
+                        pending[w] = ints.neighbors(w);
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                pending[v] = null;
+                depth--;
+                if (depth > 0)
+                    low[callStack[depth - 1]] = Math.min(low[callStack[depth - 1]], low[v]);
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackTop];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+            }
+        }
+
+        int words = Math.max(1, (components + 63) >>> 6);
+        closure = new long[components][words];
+        int[] firstOf = new int[components];
+        Arrays.fill(firstOf, -1);
+        int[] nextInComponent = new int[bound];
+        for (int v = bound - 1; v >= 0; v--) {
+            if (ints.keyOf(v) == null)
+                continue;
+            nextInComponent[v] = firstOf[component[v]];
+            firstOf[component[v]] = v;
+        }
+        for (int c = 0; c < components; c++) {
+            long[] row = closure[c];
+            row[c >>> 6] |= 1L << c;
+            for (int v = firstOf[c]; v != -1; v = nextInComponent[v]) {
+                PrimitiveIterator.OfInt it = ints.neighbors(v);
+                while (it.hasNext()) {
+                    int target = component[it.nextInt()];
+                    if (target != c && (row[target >>> 6] & (1L << target)) == 0) {
+                        long[] reached = closure[target];
+                        for (int w = 0; w < words; w++)
+                            row[w] |= reached[w];
+                    }
+                }
+            }
+        }
+        buildNanos = System.nanoTime() - start;
+        rebuilds++;
+    }
+
+    private static <E> int idOf(IntGraph<E> ints, E key) {
+        int id = key == null ? -1 : ints.idOf(key);
+        if (id == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        return id;
+    }
+
+    /**
+     * @return the number of strongly connected components of the indexed graph.
+     */
+    public int componentCount() {
+        ensureFresh();
+        return components;
+    }
+
+    /**
+     * Gets the memory taken by the index arrays, without object headers.
+     * @return the bytes of the component ids and the closure bitsets.
+     */
+    public long memoryBytes() {
+        long words = closure.length == 0 ? 0 : closure[0].length;
+        return 4L * component.length + 8L * words * closure.length;
+    }
+
+    /**
+     * @return the nanoseconds the last build took.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return the number of times the index was built, the first build included.
+     */
+    public long getRebuilds() {
+        return rebuilds;
+    }
+}
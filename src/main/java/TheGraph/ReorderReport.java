@@ -0,0 +1,63 @@
+package TheGraph;
+
+/**
+ * Result of reordering the vertices of a graph: how the bandwidth and profile of its
+ * adjacency matrix changed, see VertexOrdering.
+ */
+public final class ReorderReport {
+    private final VertexOrdering.Strategy strategy;
+    private final long bandwidthBefore;
+    private final long bandwidthAfter;
+    private final long profileBefore;
+    private final long profileAfter;
+    private final long elapsedNanos;
+
+    /**
+     * @param measures the bandwidth before and after, then the profile before and after, see VertexOrdering.measure.
+     */
+    ReorderReport(VertexOrdering.Strategy strategy, long[] measures, long elapsedNanos) {
+        this.strategy = strategy;
+        this.bandwidthBefore = measures[0];
+        this.bandwidthAfter = measures[1];
+        this.profileBefore = measures[2];
+        this.profileAfter = measures[3];
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public VertexOrdering.Strategy getStrategy() {
+        return strategy;
+    }
+
+    public long getBandwidthBefore() {
+        return bandwidthBefore;
+    }
+
+    public long getBandwidthAfter() {
+        return bandwidthAfter;
+    }
+
+    public long getProfileBefore() {
+        return profileBefore;
+    }
+
+    public long getProfileAfter() {
+        return profileAfter;
+    }
+
+    /**
+     * @return the nanoseconds spent computing the ordering, measuring it and rewriting the storage.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ReorderReport{" +
+                "strategy=" + strategy +
+                ", bandwidth=" + bandwidthBefore + "->" + bandwidthAfter +
+                ", profile=" + profileBefore + "->" + profileAfter +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package TheGraph;
+
+/**
+ * DenseKernels with plain loops, the fallback when the Vector API isn't available.
+ */
+final class ScalarKernels implements DenseKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public void or(long[] acc, long[] row) {
+        for (int i = 0; i < acc.length; i++)
+            acc[i] |= row[i];
+    }
+
+    @Override
+    public void andNot(long[] bits, long[] mask, long[] out) {
+        for (int i = 0; i < out.length; i++)
+            out[i] = bits[i] & ~mask[i];
+    }
+
+    @Override
+    public long popCount(long[] bits) {
+        long count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    @Override
+    public boolean relaxMinPlus(double[] dist, double base, double[] row) {
+        boolean changed = false;
+        for (int j = 0; j < dist.length; j++) {
+            double candidate = base + row[j];
+            if (candidate < dist[j]) {
+                dist[j] = candidate;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void multiply(double[][] matrix, double[] x, double[] y) {
+        for (int i = 0; i < y.length; i++) {
+            double[] row = matrix[i];
+            double sum = 0;
+            for (int j = 0; j < x.length; j++)
+                sum += row[j] * x[j];
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScalarKernels";
+    }
+}
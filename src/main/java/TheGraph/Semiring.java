@@ -0,0 +1,47 @@
+package TheGraph;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * The two operations SparseMatrix products are computed with: a product of A and x adds up, with add,
+ * the multiply of each entry of A and the matching entry of x. Zero is the identity of add, and the
+ * value of the entries that aren't stored. Choosing the semiring turns the same product into a
+ * different algorithm: OR_AND steps a breadth-first search, MIN_PLUS relaxes shortest paths and
+ * PLUS_TIMES is the ordinary product that PageRank iterates.
+ * @param name the name shown by toString.
+ * @param zero the identity of add.
+ * @param add the operation that combines the terms, associative and commutative.
+ * @param multiply the operation that combines an entry of the matrix with an entry of the vector.
+ */
+public record Semiring(String name, double zero, DoubleBinaryOperator add, DoubleBinaryOperator multiply) {
+    /**
+     * Boolean semiring on 0 and 1: a term is 1 if both entries are nonzero, the sum is 1 if any term is.
+     */
+    public static final Semiring OR_AND = new Semiring("OR_AND", 0,
+            (a, b) -> a != 0 || b != 0 ? 1 : 0,
+            (a, b) -> a != 0 && b != 0 ? 1 : 0);
+
+    /**
+     * Tropical semiring: terms are sums and the sum is the minimum, infinity when there are no terms.
+     */
+    public static final Semiring MIN_PLUS = new Semiring("MIN_PLUS", Double.POSITIVE_INFINITY, Math::min, Double::sum);
+
+    /**
+     * Arithmetic semiring: terms are products and the sum is the usual one.
+     */
+    public static final Semiring PLUS_TIMES = new Semiring("PLUS_TIMES", 0, Double::sum, (a, b) -> a * b);
+
+    /**
+     * Constructor for Semiring record.
+     * @throws NullPointerException if an argument is null.
+     */
+    public Semiring {
+        if (name == null || add == null || multiply == null)
+            throw new NullPointerException("The semiring needs a name, add and multiply");
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
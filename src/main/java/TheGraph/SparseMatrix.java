@@ -0,0 +1,440 @@
+package TheGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Adjacency of a graph as a sparse matrix in compressed rows, with products over any Semiring.
+ * Entry [i][j] holds the weight of the arc from vertex i to vertex j, 1 for unweighted arcs, so
+ * following the arcs from a vector of values is vxm and pulling from the successors is mxv.
+ * For example, a breadth-first search is vxm over OR_AND with the frontier as the vector and the
+ * complement of the visited vertices as mask, and Bellman-Ford is vxm over MIN_PLUS.
+ * Vertices get dense indexes from 0 to size() - 1 in id order. Dense products and mxm split the
+ * rows in blocks that run in parallel on the common fork/join pool.
+ * It is a snapshot: later changes to the graph are not seen.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public final class SparseMatrix<E> {
+    static final int BLOCK = 1024;
+
+    private final Object[] keys;
+    private final HashMap<E, Integer> indexByKey;
+    private final int[] offsets;
+    private final int[] columns;
+    private final double[] values;
+    private SparseMatrix<E> transposed;
+
+    /**
+     * Restricts the entries a product writes: an index is allowed if its bit is set, or if it's clear
+     * when the mask is a complement. The entries not allowed are left as the zero of the semiring.
+     * @param bits the indexes of the mask.
+     * @param complement true to allow the indexes that aren't in bits.
+     */
+    public record Mask(BitSet bits, boolean complement) {
+        /**
+         * @param bits the indexes to allow.
+         * @return a mask allowing only those indexes.
+         */
+        public static Mask of(BitSet bits) {
+            return new Mask(bits, false);
+        }
+
+        /**
+         * @param bits the indexes to leave out.
+         * @return a mask allowing every other index.
+         */
+        public static Mask not(BitSet bits) {
+            return new Mask(bits, true);
+        }
+
+        /**
+         * @param index the index to check.
+         * @return true if the mask allows writing the index.
+         */
+        public boolean allows(int index) {
+            return bits.get(index) != complement;
+        }
+    }
+
+    /**
+     * Vector that stores only some of its entries, in increasing index order.
+     * @param indexes the indexes of the entries.
+     * @param values the values of the entries.
+     */
+    public record SparseVector(int[] indexes, double[] values) {
+        /**
+         * @param index the index of the entry.
+         * @param value the value of the entry.
+         * @return a vector with that single entry.
+         */
+        public static SparseVector of(int index, double value) {
+            return new SparseVector(new int[]{index}, new double[]{value});
+        }
+
+        /**
+         * @return the number of entries stored.
+         */
+        public int nonZeros() {
+            return indexes.length;
+        }
+    }
+
+    /**
+     * Constructor for SparseMatrix class. It copies the keys and the arcs of the graph into sorted rows.
+     * @param graph the graph to be copied.
+     */
+    public SparseMatrix(Graph<E> graph) {
+        IntGraph<E> ints = graph.asIntGraph();
+        int[] ids = VertexOrdering.current(ints);
+        int[] indexOf = new int[ints.idBound()];
+        this.keys = new Object[ids.length];
+        this.indexByKey = new HashMap<>(Math.max(16, (int) (ids.length / 0.75f) + 1));
+        for (int i = 0; i < ids.length; i++) {
+            indexOf[ids[i]] = i;
+            E key = ints.keyOf(ids[i]);
+            keys[i] = key;
+            indexByKey.put(key, i);
+        }
+        this.offsets = new int[ids.length + 1];
+        for (int i = 0; i < ids.length; i++)
+            offsets[i + 1] = offsets[i] + ints.degree(ids[i]);
+        this.columns = new int[offsets[ids.length]];
+        this.values = new double[offsets[ids.length]];
+        long[] row = new long[16];
+        double[] rowValues = new double[16];
+        for (int i = 0; i < ids.length; i++) {
+            int degree = offsets[i + 1] - offsets[i];
+            if (degree == 0)
+                continue;
+            if (row.length < degree) {
+                row = new long[degree];
+                rowValues = new double[degree];
+            }
+            long[] packed = row;
+            double[] scanned = rowValues;
+            int[] count = {0};
+            ints.forEachNeighbor(ids[i], (dest, weight) -> {
+                packed[count[0]] = (long) indexOf[dest] << 32 | count[0];
+                scanned[count[0]++] = weight;
+            });
+            Arrays.sort(packed, 0, degree);
+            for (int k = 0; k < degree; k++) {
+                columns[offsets[i] + k] = (int) (packed[k] >>> 32);
+                values[offsets[i] + k] = scanned[(int) packed[k]];
+            }
+        }
+    }
+
+    private SparseMatrix(SparseMatrix<E> vertices, int[] offsets, int[] columns, double[] values) {
+        this.keys = vertices.keys;
+        this.indexByKey = vertices.indexByKey;
+        this.offsets = offsets;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * @return the number of rows and columns, the number of vertices.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the number of entries stored.
+     */
+    public int nonZeros() {
+        return columns.length;
+    }
+
+    /**
+     * Gets the dense index of a vertex.
+     * @param key the element in the vertex.
+     * @return the index, -1 if the vertex wasn't in the graph.
+     */
+    public int indexOf(E key) {
+        Integer index = key == null ? null : indexByKey.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index the dense index of a vertex.
+     * @return the element in the vertex.
+     */
+    @SuppressWarnings("unchecked")
+    public E keyOf(int index) {
+        return (E) keys[index];
+    }
+
+    /**
+     * Gets a stored entry.
+     * @param row the index of the row.
+     * @param column the index of the column.
+     * @return the value of the entry, NaN if it isn't stored.
+     */
+    public double get(int row, int column) {
+        int k = Arrays.binarySearch(columns, offsets[row], offsets[row + 1], column);
+        return k < 0 ? Double.NaN : values[k];
+    }
+
+    /**
+     * Gets the transposed matrix, whose rows are the arcs entering each vertex. It is built on the
+     * first call and kept.
+     * @return the transposed matrix.
+     */
+    public synchronized SparseMatrix<E> transpose() {
+        if (transposed == null) {
+            int n = keys.length;
+            int[] tOffsets = new int[n + 1];
+            for (int column : columns)
+                tOffsets[column + 1]++;
+            for (int i = 0; i < n; i++)
+                tOffsets[i + 1] += tOffsets[i];
+            int[] tColumns = new int[columns.length];
+            double[] tValues = new double[values.length];
+            int[] next = Arrays.copyOf(tOffsets, n);
+            for (int i = 0; i < n; i++) {
+                for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                    int slot = next[columns[k]]++;
+                    tColumns[slot] = i;
+                    tValues[slot] = values[k];
+                }
+            }
+            transposed = new SparseMatrix<>(this, tOffsets, tColumns, tValues);
+            transposed.transposed = this;
+        }
+        return transposed;
+    }
+
+    /**
+     * Multiplies the matrix by a dense vector: y[i] = add over j of multiply(A[i][j], x[j]).
+     * @param semiring the operations of the product.
+     * @param x the vector, of length size().
+     * @return the product.
+     */
+    public double[] mxv(Semiring semiring, double[] x) {
+        return mxv(semiring, x, null);
+    }
+
+    /**
+     * Multiplies the matrix by a dense vector, writing only the rows the mask allows:
+     * y[i] = add over j of multiply(A[i][j], x[j]).
+     * @param semiring the operations of the product.
+     * @param x the vector, of length size().
+     * @param mask the rows to compute, null for all of them.
+     * @return the product, the zero of the semiring in the rows left out.
+     */
+    public double[] mxv(Semiring semiring, double[] x, Mask mask) {
+        checkLength(x.length);
+        return rowProducts(semiring, x, mask, false);
+    }
+
+    /**
+     * Multiplies a dense vector by the matrix, following the arcs: y[j] = add over i of multiply(x[i], A[i][j]).
+     * @param semiring the operations of the product.
+     * @param x the vector, of length size().
+     * @return the product.
+     */
+    public double[] vxm(Semiring semiring, double[] x) {
+        return vxm(semiring, x, null);
+    }
+
+    /**
+     * Multiplies a dense vector by the matrix, following the arcs: y[j] = add over i of multiply(x[i], A[i][j]).
+     * It runs on the rows of the transposed matrix.
+     * @param semiring the operations of the product.
+     * @param x the vector, of length size().
+     * @param mask the columns to compute, null for all of them.
+     * @return the product, the zero of the semiring in the columns left out.
+     */
+    public double[] vxm(Semiring semiring, double[] x, Mask mask) {
+        checkLength(x.length);
+        return transpose().rowProducts(semiring, x, mask, true);
+    }
+
+    /**
+     * Multiplies a sparse vector by the matrix, pushing each entry along the arcs of its row, so the
+     * work depends on the arcs leaving the entries instead of on the size of the matrix. Only the
+     * columns reached are stored in the result. It runs on the calling thread.
+     * @param semiring the operations of the product.
+     * @param x the vector.
+     * @param mask the columns to compute, null for all of them.
+     * @return the product.
+     */
+    public SparseVector vxm(Semiring semiring, SparseVector x, Mask mask) {
+        DoubleBinaryOperator add = semiring.add();
+        DoubleBinaryOperator multiply = semiring.multiply();
+        double[] sums = new double[keys.length];
+        BitSet reached = new BitSet(keys.length);
+        for (int e = 0; e < x.nonZeros(); e++) {
+            int i = x.indexes()[e];
+            double value = x.values()[e];
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                int j = columns[k];
+                if (mask != null && !mask.allows(j))
+                    continue;
+                double term = multiply.applyAsDouble(value, values[k]);
+                if (reached.get(j)) {
+                    sums[j] = add.applyAsDouble(sums[j], term);
+                } else {
+                    reached.set(j);
+                    sums[j] = term;
+                }
+            }
+        }
+        int[] indexes = reached.stream().toArray();
+        double[] result = new double[indexes.length];
+        for (int e = 0; e < indexes.length; e++)
+            result[e] = sums[indexes[e]];
+        return new SparseVector(indexes, result);
+    }
+
+    /**
+     * Multiplies two matrices over the same vertices: C[i][k] = add over j of multiply(A[i][j], B[j][k]).
+     * Each row of the result merges the rows of other picked by a row of this matrix; blocks of rows run
+     * in parallel. An entry is stored when at least one term reaches it.
+     * @param semiring the operations of the product.
+     * @param other the matrix on the right.
+     * @return the product.
+     * @throws IllegalArgumentException if the matrices don't have the same vertices in the same order.
+     */
+    public SparseMatrix<E> mxm(Semiring semiring, SparseMatrix<E> other) {
+        if (!sameVertices(other))
+            throw new IllegalArgumentException("The matrices don't have the same vertices");
+        DoubleBinaryOperator add = semiring.add();
+        DoubleBinaryOperator multiply = semiring.multiply();
+        int n = keys.length;
+        int[][] rowColumns = new int[n][];
+        double[][] rowValues = new double[n][];
+        forEachBlock(n, () -> {
+            double[] sum = new double[n];
+            int[] mark = new int[n];
+            Arrays.fill(mark, -1);
+            return (start, end) -> mergeRows(other, add, multiply, sum, mark, rowColumns, rowValues, start, end);
+        });
+        int[] cOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++)
+            cOffsets[i + 1] = cOffsets[i] + rowColumns[i].length;
+        int[] cColumns = new int[cOffsets[n]];
+        double[] cValues = new double[cOffsets[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rowColumns[i], 0, cColumns, cOffsets[i], rowColumns[i].length);
+            System.arraycopy(rowValues[i], 0, cValues, cOffsets[i], rowValues[i].length);
+        }
+        return new SparseMatrix<>(this, cOffsets, cColumns, cValues);
+    }
+
+    /**
+     * Computes rows start to end - 1 of this * other, merging in sum the rows of other picked by each row.
+     * mark holds, for each column, the last row that reached it, so neither array is cleared between rows.
+     */
+    private void mergeRows(SparseMatrix<E> other, DoubleBinaryOperator add, DoubleBinaryOperator multiply,
+                           double[] sum, int[] mark, int[][] rowColumns, double[][] rowValues, int start, int end) {
+        int[] reached = new int[16];
+        for (int i = start; i < end; i++) {
+            int count = 0;
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                int j = columns[k];
+                double left = values[k];
+                for (int l = other.offsets[j]; l < other.offsets[j + 1]; l++) {
+                    int column = other.columns[l];
+                    double term = multiply.applyAsDouble(left, other.values[l]);
+                    if (mark[column] == i) {
+                        sum[column] = add.applyAsDouble(sum[column], term);
+                    } else {
+                        mark[column] = i;
+                        sum[column] = term;
+                        if (count == reached.length)
+                            reached = Arrays.copyOf(reached, count * 2);
+                        reached[count++] = column;
+                    }
+                }
+            }
+            Arrays.sort(reached, 0, count);
+            rowColumns[i] = Arrays.copyOf(reached, count);
+            rowValues[i] = new double[count];
+            for (int e = 0; e < count; e++)
+                rowValues[i][e] = sum[reached[e]];
+        }
+    }
+
+    /**
+     * The kernel of the dense products: reduces every allowed row against x, in parallel blocks.
+     * @param vectorFirst true to pass the entry of x as the left operand of multiply.
+     */
+    private double[] rowProducts(Semiring semiring, double[] x, Mask mask, boolean vectorFirst) {
+        DoubleBinaryOperator add = semiring.add();
+        DoubleBinaryOperator multiply = semiring.multiply();
+        double zero = semiring.zero();
+        double[] y = new double[keys.length];
+        forEachBlock(keys.length, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                double sum = zero;
+                if (mask == null || mask.allows(i)) {
+                    for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                        double term = vectorFirst
+                                ? multiply.applyAsDouble(x[columns[k]], values[k])
+                                : multiply.applyAsDouble(values[k], x[columns[k]]);
+                        sum = add.applyAsDouble(sum, term);
+                    }
+                }
+                y[i] = sum;
+            }
+        });
+        return y;
+    }
+
+    private interface Block {
+        void run(int start, int end);
+    }
+
+    /**
+     * Splits the rows in blocks of at least BLOCK rows and runs them in parallel.
+     */
+    private static void forEachBlock(int rows, Block block) {
+        forEachBlock(rows, () -> block);
+    }
+
+    /**
+     * Splits the rows in blocks of at least BLOCK rows and runs them on one task per thread of the
+     * common pool. Each task gets its own Block from tasks, so scratch arrays made there belong to
+     * that task alone and are dropped with it, and takes the next block until none are left.
+     */
+    private static void forEachBlock(int rows, Supplier<Block> tasks) {
+        int chunks = Math.max(1, Math.min((rows + BLOCK - 1) / BLOCK, ForkJoinPool.getCommonPoolParallelism() * 4));
+        if (chunks == 1) {
+            tasks.get().run(0, rows);
+            return;
+        }
+        int chunkSize = (rows + chunks - 1) / chunks;
+        AtomicInteger next = new AtomicInteger();
+        IntStream.range(0, Math.min(chunks, ForkJoinPool.getCommonPoolParallelism())).parallel().forEach(task -> {
+            Block block = tasks.get();
+            for (int chunk = next.getAndIncrement(); chunk < chunks; chunk = next.getAndIncrement())
+                block.run(chunk * chunkSize, Math.min(rows, (chunk + 1) * chunkSize));
+        });
+    }
+
+    private boolean sameVertices(SparseMatrix<E> other) {
+        if (other.keys == keys)
+            return true;
+        if (other.keys.length != keys.length)
+            return false;
+        for (int i = 0; i < keys.length; i++) {
+            if (!keyOf(i).equals(other.keyOf(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private void checkLength(int length) {
+        if (length != keys.length)
+            throw new IllegalArgumentException("The vector has " + length + " entries for " + keys.length + " vertices");
+    }
+}
@@ -0,0 +1,66 @@
+package TheGraph;
+
+/**
+ * Counters of one superstep of a PregelEngine run.
+ */
+public final class SuperstepStats {
+    private final int superstep;
+    private final int computedVertices;
+    private final long sentMessages;
+    private final long deliveredMessages;
+    private final long elapsedNanos;
+
+    SuperstepStats(int superstep, int computedVertices, long sentMessages, long deliveredMessages, long elapsedNanos) {
+        this.superstep = superstep;
+        this.computedVertices = computedVertices;
+        this.sentMessages = sentMessages;
+        this.deliveredMessages = deliveredMessages;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of the superstep, starting at 0.
+     */
+    public int getSuperstep() {
+        return superstep;
+    }
+
+    /**
+     * @return the vertices whose compute function ran.
+     */
+    public int getComputedVertices() {
+        return computedVertices;
+    }
+
+    /**
+     * @return the messages sent by the vertices.
+     */
+    public long getSentMessages() {
+        return sentMessages;
+    }
+
+    /**
+     * @return the messages left for the next superstep after combining.
+     */
+    public long getDeliveredMessages() {
+        return deliveredMessages;
+    }
+
+    /**
+     * @return the nanoseconds the superstep took, message delivery included.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SuperstepStats{" +
+                "superstep=" + superstep +
+                ", computedVertices=" + computedVertices +
+                ", sentMessages=" + sentMessages +
+                ", deliveredMessages=" + deliveredMessages +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package TheGraph;
+
+/**
+ * Graphs that can print their depth-first and breadth-first routes.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public interface Traversable<E> {
+    /**
+     * Establishes the route starting from src vertex in depth
+     * @param src the source vertex key.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    void DFS(E src);
+
+    /**
+     * Establishes the route starting from src vertex in breadth
+     * @param src the source vertex key.
+     * @throws IllegalArgumentException if the vertex doesn't exist.
+     */
+    void BFS(E src);
+}
@@ -0,0 +1,27 @@
+package TheGraph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event committed by InstrumentedGraph for traversals slower than the threshold.
+ * The default threshold of 10 ms can be changed in the recording settings of TheGraph.Traversal.
+ */
+@Name("TheGraph.Traversal")
+@Label("Graph Traversal")
+@Category({"TheGraph"})
+@Description("A DFS or BFS over a graph that took longer than the threshold")
+@Threshold("10 ms")
+class TraversalEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Source Vertex")
+    String source;
+
+    @Label("Vertices")
+    int vertices;
+}
@@ -0,0 +1,107 @@
+package TheGraph;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * DenseKernels on the Vector API, with the preferred species of the CPU. Each loop runs whole
+ * vectors up to the loop bound and finishes the remaining elements one at a time.
+ * Only loaded through DenseKernels, after checking that the module is present.
+ */
+final class VectorKernels implements DenseKernels {
+    static final VectorKernels INSTANCE = new VectorKernels();
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    @Override
+    public void or(long[] acc, long[] row) {
+        int i = 0;
+        int bound = LONGS.loopBound(acc.length);
+        for (; i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, acc, i)
+                    .or(LongVector.fromArray(LONGS, row, i))
+                    .intoArray(acc, i);
+        }
+        for (; i < acc.length; i++)
+            acc[i] |= row[i];
+    }
+
+    @Override
+    public void andNot(long[] bits, long[] mask, long[] out) {
+        int i = 0;
+        int bound = LONGS.loopBound(out.length);
+        for (; i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, bits, i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(LONGS, mask, i))
+                    .intoArray(out, i);
+        }
+        for (; i < out.length; i++)
+            out[i] = bits[i] & ~mask[i];
+    }
+
+    @Override
+    public long popCount(long[] bits) {
+        int i = 0;
+        int bound = LONGS.loopBound(bits.length);
+        LongVector sum = LongVector.zero(LONGS);
+        for (; i < bound; i += LONGS.length())
+            sum = sum.add(LongVector.fromArray(LONGS, bits, i).lanewise(VectorOperators.BIT_COUNT));
+        long count = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < bits.length; i++)
+            count += Long.bitCount(bits[i]);
+        return count;
+    }
+
+    @Override
+    public boolean relaxMinPlus(double[] dist, double base, double[] row) {
+        int j = 0;
+        int bound = DOUBLES.loopBound(dist.length);
+        DoubleVector offset = DoubleVector.broadcast(DOUBLES, base);
+        boolean changed = false;
+        for (; j < bound; j += DOUBLES.length()) {
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, dist, j);
+            DoubleVector candidate = offset.add(DoubleVector.fromArray(DOUBLES, row, j));
+            VectorMask<Double> lower = candidate.compare(VectorOperators.LT, current);
+            if (lower.anyTrue()) {
+                current.blend(candidate, lower).intoArray(dist, j);
+                changed = true;
+            }
+        }
+        for (; j < dist.length; j++) {
+            double candidate = base + row[j];
+            if (candidate < dist[j]) {
+                dist[j] = candidate;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void multiply(double[][] matrix, double[] x, double[] y) {
+        int bound = DOUBLES.loopBound(x.length);
+        for (int i = 0; i < y.length; i++) {
+            double[] row = matrix[i];
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            int j = 0;
+            for (; j < bound; j += DOUBLES.length())
+                acc = DoubleVector.fromArray(DOUBLES, row, j).fma(DoubleVector.fromArray(DOUBLES, x, j), acc);
+            double sum = acc.reduceLanes(VectorOperators.ADD);
+            for (; j < x.length; j++)
+                sum += row[j] * x[j];
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VectorKernels{lanes=" + LONGS.length() + "x64}";
+    }
+}
@@ -0,0 +1,201 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.PrimitiveIterator;
+import java.util.function.BinaryOperator;
+
+/**
+ * View of one vertex during a superstep of a PregelEngine run.
+ * There is one context per shard, moved from vertex to vertex, so it must not be kept after compute returns.
+ * Messages are buffered per destination shard and delivered after every shard finishes the superstep.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ * @param <V> the type of the value of each vertex
+ * @param <M> the type of the messages
+ */
+public final class VertexContext<E, V, M> {
+    /**
+     * A message waiting for delivery.
+     */
+    record Envelope(int dest, Object message) {
+    }
+
+    private final PregelEngine<E, V, M> engine;
+    final int shard;
+    final ArrayList<Envelope>[] outbox;
+    final HashMap<Integer, Object>[] combined;
+    final HashMap<String, Object> partialAggregates = new HashMap<>();
+    long sentMessages;
+    int computedVertices;
+    private int id;
+    private boolean halted;
+
+    VertexContext(PregelEngine<E, V, M> engine, int shard, int shards) {
+        this.engine = engine;
+        this.shard = shard;
+        if (engine.combiner == null) {
+            @SuppressWarnings("unchecked")
+            ArrayList<Envelope>[] outboxes = (ArrayList<Envelope>[]) new ArrayList<?>[shards];
+            for (int i = 0; i < shards; i++)
+                outboxes[i] = new ArrayList<>();
+            this.outbox = outboxes;
+            this.combined = null;
+        } else {
+            @SuppressWarnings("unchecked")
+            HashMap<Integer, Object>[] maps = (HashMap<Integer, Object>[]) new HashMap<?, ?>[shards];
+            for (int i = 0; i < shards; i++)
+                maps[i] = new HashMap<>();
+            this.outbox = null;
+            this.combined = maps;
+        }
+    }
+
+    /**
+     * Moves the context to a vertex before its compute call.
+     */
+    void moveTo(int id) {
+        this.id = id;
+        this.halted = false;
+    }
+
+    boolean votedToHalt() {
+        return halted;
+    }
+
+    /**
+     * @return the element stored in the vertex.
+     */
+    public E getKey() {
+        return engine.ints.keyOf(id);
+    }
+
+    /**
+     * @return the id of the vertex in the int view of the graph.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the number of the current superstep, starting at 0.
+     */
+    public int getSuperstep() {
+        return engine.superstep;
+    }
+
+    /**
+     * @return the number of vertices of the graph.
+     */
+    public int vertexCount() {
+        return engine.vertexCount;
+    }
+
+    /**
+     * @return the value of the vertex.
+     */
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+        return (V) engine.values[id];
+    }
+
+    /**
+     * Replaces the value of the vertex.
+     * @param value the new value.
+     */
+    public void setValue(V value) {
+        engine.values[id] = value;
+    }
+
+    /**
+     * @return the number of arcs leaving the vertex.
+     */
+    public int degree() {
+        return engine.ints.degree(id);
+    }
+
+    /**
+     * @return the ids of the destinations of the arcs leaving the vertex.
+     */
+    public PrimitiveIterator.OfInt neighbors() {
+        return engine.ints.neighbors(id);
+    }
+
+    /**
+     * Traverses the arcs leaving the vertex with their weights.
+     * @param action receives the id of each destination and the weight of the arc, 1.0 if unweighted.
+     */
+    public void forEachNeighbor(IntGraph.NeighborConsumer action) {
+        engine.ints.forEachNeighbor(id, action);
+    }
+
+    /**
+     * Sends a message to be read by a vertex in the next superstep.
+     * @param dest the element in the destination vertex.
+     * @param message the message.
+     * @throws IllegalArgumentException if the destination doesn't exist.
+     */
+    public void sendMessage(E dest, M message) {
+        int destId = dest == null ? -1 : engine.ints.idOf(dest);
+        if (destId == -1)
+            throw new IllegalArgumentException("El vértice no existe en el grafo.");
+        sendMessageToId(destId, message);
+    }
+
+    /**
+     * Sends a message to be read by a vertex in the next superstep. It is not an overload of
+     * sendMessage, which would be ambiguous on graphs of Integer.
+     * @param dest the id of the destination vertex.
+     * @param message the message.
+     */
+    public void sendMessageToId(int dest, M message) {
+        sentMessages++;
+        int destShard = dest % engine.shards;
+        if (combined == null) {
+            outbox[destShard].add(new Envelope(dest, message));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        BinaryOperator<Object> combiner = (BinaryOperator<Object>) engine.combiner;
+        combined[destShard].merge(dest, message, combiner);
+    }
+
+    /**
+     * Sends the same message to the destination of every arc leaving the vertex.
+     * @param message the message.
+     */
+    public void sendToNeighbors(M message) {
+        PrimitiveIterator.OfInt it = neighbors();
+        while (it.hasNext())
+            sendMessageToId(it.nextInt(), message);
+    }
+
+    /**
+     * Deactivates the vertex. It is skipped in the next supersteps until it receives a message.
+     * The run ends when every vertex has voted to halt and no messages are in flight.
+     */
+    public void voteToHalt() {
+        halted = true;
+    }
+
+    /**
+     * Adds a value to an aggregator. The result is visible to every vertex in the next superstep.
+     * @param name the name the aggregator was registered with.
+     * @param value the value to be added.
+     * @param <A> the type of the aggregated values.
+     * @throws IllegalArgumentException if there is no aggregator with that name.
+     */
+    public <A> void aggregate(String name, A value) {
+        engine.aggregate(partialAggregates, name, value);
+    }
+
+    /**
+     * Gets the result of an aggregator in the previous superstep.
+     * @param name the name the aggregator was registered with.
+     * @param <A> the type of the aggregated values.
+     * @return the aggregated value, the identity of the aggregator in the first superstep.
+     * @throws IllegalArgumentException if there is no aggregator with that name.
+     */
+    public <A> A getAggregated(String name) {
+        return engine.getAggregated(name);
+    }
+}
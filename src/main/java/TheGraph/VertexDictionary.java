@@ -0,0 +1,226 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Two-way dictionary between vertex keys and dense int ids.
+ * Ids start at 0 and stay below idBound(), so they can index plain arrays.
+ * Ids freed by remove are reused by later additions, while removeShifting renumbers
+ * the following ids to keep them contiguous. A dictionary should use only one of the two.
+ * retire removes a key without freeing its id, for graphs that purge references to it later.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ */
+public final class VertexDictionary<E> {
+    private final Map<E, Integer> ids;
+    private final ArrayList<E> keys;
+    private int[] freeIds;
+    private int freeCount;
+
+    /**
+     * Constructor for an empty VertexDictionary.
+     */
+    public VertexDictionary() {
+        this.ids = new HashMap<>();
+        this.keys = new ArrayList<>();
+        this.freeIds = new int[8];
+    }
+
+    /**
+     * Gives an id to a new key.
+     * @param key the key to be added.
+     * @return the id given to the key, -1 if the key is null or already in the dictionary.
+     */
+    public int add(E key) {
+        if (key == null || ids.containsKey(key))
+            return -1;
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+            keys.set(id, key);
+        } else {
+            id = keys.size();
+            keys.add(key);
+        }
+        ids.put(key, id);
+        return id;
+    }
+
+    /**
+     * Gets the id of a key.
+     * @param key the key to look for.
+     * @return the id of the key, -1 if the key is null or not in the dictionary.
+     */
+    public int idOf(E key) {
+        if (key == null)
+            return -1;
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the key of an id.
+     * @param id the id to look for.
+     * @return the key with that id, null if the id is out of range or free.
+     */
+    public E keyOf(int id) {
+        if (id < 0 || id >= keys.size())
+            return null;
+        return keys.get(id);
+    }
+
+    /**
+     * Checks whether an id currently belongs to a key.
+     * @param id the id to check.
+     * @return true if the id is in use.
+     */
+    public boolean contains(int id) {
+        return keyOf(id) != null;
+    }
+
+    /**
+     * Removes a key and frees its id, which is given to a later key.
+     * @param key the key to be removed.
+     * @return the id the key had, -1 if it wasn't in the dictionary.
+     */
+    public int remove(E key) {
+        int id = idOf(key);
+        if (id == -1)
+            return -1;
+        ids.remove(key);
+        if (id == keys.size() - 1) {
+            keys.remove(id);
+            return id;
+        }
+        keys.set(id, null);
+        if (freeCount == freeIds.length)
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        freeIds[freeCount++] = id;
+        return id;
+    }
+
+    /**
+     * Removes a key but keeps its id taken, so no later key gets it until release is called.
+     * It lets a graph drop a vertex before purging the arcs that still point to its id.
+     * @param key the key to be removed.
+     * @return the id the key had, -1 if it wasn't in the dictionary.
+     */
+    public int retire(E key) {
+        int id = idOf(key);
+        if (id == -1)
+            return -1;
+        ids.remove(key);
+        keys.set(id, null);
+        return id;
+    }
+
+    /**
+     * Frees the id of a retired key, which is given to a later key.
+     * @param id the id returned by retire.
+     */
+    public void release(int id) {
+        if (id < 0 || id >= keys.size() || keys.get(id) != null)
+            throw new IllegalArgumentException("Id " + id + " is not retired");
+        if (id == keys.size() - 1) {
+            keys.remove(id);
+            return;
+        }
+        if (freeCount == freeIds.length)
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Removes a key and moves every following id one position down, so the ids stay contiguous.
+     * It takes time proportional to the number of keys after the removed one.
+     * @param key the key to be removed.
+     * @return the id the key had, -1 if it wasn't in the dictionary.
+     */
+    public int removeShifting(E key) {
+        int id = idOf(key);
+        if (id == -1)
+            return -1;
+        ids.remove(key);
+        keys.remove(id);
+        for (int i = id; i < keys.size(); i++) {
+            if (keys.get(i) != null)
+                ids.put(keys.get(i), i);
+        }
+        return id;
+    }
+
+    /**
+     * Gives new ids to every key: the key with id order[i] gets id i. Free ids are dropped,
+     * so the ids become contiguous.
+     * @param order the ids in use, each one exactly once, in their new order.
+     * @throws IllegalArgumentException if order doesn't hold every id in use exactly once.
+     */
+    public void renumber(int[] order) {
+        if (order.length != ids.size())
+            throw new IllegalArgumentException("The order has " + order.length + " ids for " + ids.size() + " keys");
+        boolean[] seen = new boolean[keys.size()];
+        for (int id : order) {
+            if (keyOf(id) == null || seen[id])
+                throw new IllegalArgumentException("No key or repeated key with id " + id);
+            seen[id] = true;
+        }
+        ArrayList<E> renumbered = new ArrayList<>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            E key = keys.get(order[i]);
+            ids.put(key, i);
+            renumbered.add(key);
+        }
+        keys.clear();
+        keys.addAll(renumbered);
+        freeCount = 0;
+    }
+
+    /**
+     * Gets the number of keys in the dictionary.
+     * @return the number of keys.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Gets a bound for the ids: every id in use is lower than it.
+     * @return the exclusive upper bound of the ids.
+     */
+    public int idBound() {
+        return keys.size();
+    }
+
+    /**
+     * Estimates the heap used by the dictionary itself, without the key objects.
+     * @return the bytes of the map, the key list and the free ids.
+     */
+    long footprintBytes() {
+        return footprintBytes(ids.size(), keys.size(), freeIds.length);
+    }
+
+    /**
+     * Estimates the heap of a dictionary with the given contents, without the key objects.
+     * The ids above 127 are boxed in their own Integer, the lower ones are cached by the JVM.
+     */
+    static long footprintBytes(int size, int idBound, int freeCapacity) {
+        long boxedIds = Math.min(size, Math.max(0, idBound - 128));
+        return MemoryFootprint.align(MemoryFootprint.OBJECT_HEADER + 3 * MemoryFootprint.REFERENCE + 4)
+                + MemoryFootprint.hashMap(size) + boxedIds * MemoryFootprint.BOXED
+                + MemoryFootprint.arrayList(idBound) + MemoryFootprint.array(freeCapacity, 4);
+    }
+
+    /**
+     * Visits every key in id order.
+     * @param action the action to perform on each key.
+     */
+    public void forEachKey(Consumer<? super E> action) {
+        for (E key : keys) {
+            if (key != null)
+                action.accept(key);
+        }
+    }
+}
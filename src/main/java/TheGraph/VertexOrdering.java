@@ -0,0 +1,217 @@
+package TheGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vertex orderings that place vertices joined by arcs close to each other, so scans over the ids
+ * touch nearby memory. The arcs are taken as undirected links for every strategy.
+ * An ordering is an array with the ids in use in their new order: the vertex with id order[i] becomes i.
+ */
+public final class VertexOrdering {
+    /**
+     * The ways of ordering the vertices.
+     */
+    public enum Strategy {
+        /**
+         * Reverse Cuthill-McKee: breadth-first from a low-degree vertex of each component, visiting
+         * neighbours by increasing degree, then reversed. It narrows the band around the diagonal.
+         */
+        REVERSE_CUTHILL_MCKEE,
+        /**
+         * Decreasing degree, so the hubs share the first cache lines.
+         */
+        DEGREE,
+        /**
+         * Breadth-first from the highest-degree vertex of each component.
+         */
+        BFS
+    }
+
+    private VertexOrdering() {
+    }
+
+    /**
+     * Computes an ordering of the vertices of a graph.
+     * @param graph the int view of the graph.
+     * @param strategy the ordering to compute.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the ids in use in their new order.
+     */
+    public static <E> int[] order(IntGraph<E> graph, Strategy strategy) {
+        int[][] links = undirected(graph);
+        int[] ids = current(graph);
+        return switch (strategy) {
+            case DEGREE -> Arrays.stream(ids).boxed()
+                    .sorted((a, b) -> Integer.compare(links[b].length, links[a].length))
+                    .mapToInt(Integer::intValue).toArray();
+            case BFS -> breadthFirst(ids, links, false);
+            case REVERSE_CUTHILL_MCKEE -> {
+                int[] order = breadthFirst(ids, links, true);
+                for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+                yield order;
+            }
+        };
+    }
+
+    /**
+     * Gets the ids in use in increasing order, the ordering the graph already has.
+     * @param graph the int view of the graph.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the ids in use.
+     */
+    public static <E> int[] current(IntGraph<E> graph) {
+        int[] ids = new int[graph.idBound()];
+        int count = 0;
+        for (int id = 0; id < graph.idBound(); id++) {
+            if (graph.keyOf(id) != null)
+                ids[count++] = id;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Gets the bandwidth of the adjacency matrix under an ordering: the largest distance between
+     * the positions of two linked vertices.
+     * @param graph the int view of the graph.
+     * @param order the ids in their order.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the bandwidth.
+     */
+    public static <E> long bandwidth(IntGraph<E> graph, int[] order) {
+        int[] position = positions(graph, order);
+        long bandwidth = 0;
+        for (int id : order) {
+            var it = graph.neighbors(id);
+            while (it.hasNext())
+                bandwidth = Math.max(bandwidth, Math.abs(position[id] - position[it.nextInt()]));
+        }
+        return bandwidth;
+    }
+
+    /**
+     * Gets the profile of the symmetric adjacency matrix under an ordering: for every row, the distance
+     * from the diagonal to the leftmost linked vertex, added up.
+     * @param graph the int view of the graph.
+     * @param order the ids in their order.
+     * @param <E> the type of the elements stored in the vertices of the graph.
+     * @return the profile.
+     */
+    public static <E> long profile(IntGraph<E> graph, int[] order) {
+        int[] position = positions(graph, order);
+        int[] leftmost = new int[order.length];
+        for (int i = 0; i < order.length; i++)
+            leftmost[i] = i;
+        for (int id : order) {
+            var it = graph.neighbors(id);
+            while (it.hasNext()) {
+                int a = position[id];
+                int b = position[it.nextInt()];
+                leftmost[Math.max(a, b)] = Math.min(leftmost[Math.max(a, b)], Math.min(a, b));
+            }
+        }
+        long profile = 0;
+        for (int i = 0; i < order.length; i++)
+            profile += i - leftmost[i];
+        return profile;
+    }
+
+    /**
+     * Measures replacing the current order of a graph with a new one.
+     * Graphs call it before rewriting their storage, while the old ids are still valid.
+     * @return the bandwidth before and after, then the profile before and after.
+     */
+    static <E> long[] measure(IntGraph<E> graph, int[] order) {
+        int[] before = current(graph);
+        return new long[]{bandwidth(graph, before), bandwidth(graph, order),
+                profile(graph, before), profile(graph, order)};
+    }
+
+    private static <E> int[] positions(IntGraph<E> graph, int[] order) {
+        int[] position = new int[graph.idBound()];
+        for (int i = 0; i < order.length; i++)
+            position[order[i]] = i;
+        return position;
+    }
+
+    /**
+     * Gets the neighbours of every vertex ignoring the direction of the arcs, without repetitions.
+     */
+    private static <E> int[][] undirected(IntGraph<E> graph) {
+        int bound = graph.idBound();
+        List<List<Integer>> lists = new ArrayList<>(bound);
+        for (int id = 0; id < bound; id++)
+            lists.add(new ArrayList<>());
+        for (int id = 0; id < bound; id++) {
+            if (graph.keyOf(id) == null)
+                continue;
+            var it = graph.neighbors(id);
+            while (it.hasNext()) {
+                int next = it.nextInt();
+                if (next == id)
+                    continue;
+                lists.get(id).add(next);
+                if (!graph.hasArc(next, id))
+                    lists.get(next).add(id);
+            }
+        }
+        int[][] links = new int[bound][];
+        for (int id = 0; id < bound; id++)
+            links[id] = lists.get(id).stream().mapToInt(Integer::intValue).toArray();
+        return links;
+    }
+
+    /**
+     * Orders the vertices breadth-first, one component after another.
+     * @param cuthillMcKee true to start each component at its lowest degree vertex and visit
+     *                     neighbours by increasing degree, false to start at the highest degree
+     *                     vertex and keep the order of the arcs.
+     */
+    private static int[] breadthFirst(int[] ids, int[][] links, boolean cuthillMcKee) {
+        Integer[] starts = Arrays.stream(ids).boxed().toArray(Integer[]::new);
+        if (cuthillMcKee)
+            Arrays.sort(starts, (a, b) -> Integer.compare(links[a].length, links[b].length));
+        else
+            Arrays.sort(starts, (a, b) -> Integer.compare(links[b].length, links[a].length));
+        boolean[] placed = new boolean[links.length];
+        int[] order = new int[ids.length];
+        int head = 0;
+        int tail = 0;
+        for (int start : starts) {
+            if (placed[start])
+                continue;
+            placed[start] = true;
+            order[tail++] = start;
+            while (head < tail) {
+                int id = order[head++];
+                int first = tail;
+                for (int next : links[id]) {
+                    if (!placed[next]) {
+                        placed[next] = true;
+                        order[tail++] = next;
+                    }
+                }
+                if (cuthillMcKee)
+                    sortByDegree(order, first, tail, links);
+            }
+        }
+        return order;
+    }
+
+    private static void sortByDegree(int[] order, int from, int to, int[][] links) {
+        for (int i = from + 1; i < to; i++) {
+            int id = order[i];
+            int j = i - 1;
+            while (j >= from && links[order[j]].length > links[id].length) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package TheGraph;
+
+/**
+ * Algorithm run by a PregelEngine, written from the point of view of a single vertex.
+ * Every superstep, compute is called on each vertex that hasn't voted to halt or that received messages;
+ * it reads the messages sent to it in the previous superstep, updates its value and sends new messages.
+ * @param <E> the type of the elements stored in the vertices of the graph
+ * @param <V> the type of the value of each vertex
+ * @param <M> the type of the messages
+ */
+@FunctionalInterface
+public interface VertexProgram<E, V, M> {
+    /**
+     * Runs one superstep on one vertex.
+     * @param vertex the vertex, its value and the ways to talk to the other vertices.
+     * @param messages the messages sent to this vertex in the previous superstep, combined if there is a combiner.
+     */
+    void compute(VertexContext<E, V, M> vertex, Iterable<M> messages);
+}
@@ -0,0 +1,131 @@
+package TheGraph;
+
+/**
+ * Settings of a RandomWalks generator.
+ * Instances are immutable, every with method returns a modified copy.
+ */
+public final class WalkOptions {
+    private final int walkLength;
+    private final int walksPerVertex;
+    private final boolean weighted;
+    private final double returnParameter;
+    private final double inOutParameter;
+    private final long seed;
+
+    private WalkOptions(int walkLength, int walksPerVertex, boolean weighted, double returnParameter,
+                        double inOutParameter, long seed) {
+        this.walkLength = walkLength;
+        this.walksPerVertex = walksPerVertex;
+        this.weighted = weighted;
+        this.returnParameter = returnParameter;
+        this.inOutParameter = inOutParameter;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the default options: 10 uniform walks of 80 vertices from every vertex, p = q = 1 and seed 42.
+     * @return the default options.
+     */
+    public static WalkOptions defaults() {
+        return new WalkOptions(80, 10, false, 1, 1, 42);
+    }
+
+    /**
+     * @param walkLength the number of vertices of a walk, the start included. Walks stop earlier at vertices without arcs.
+     * @return a copy of these options with the given length.
+     */
+    public WalkOptions withWalkLength(int walkLength) {
+        if (walkLength <= 0)
+            throw new IllegalArgumentException("walkLength <= 0");
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    /**
+     * @param walksPerVertex the number of walks starting at every vertex.
+     * @return a copy of these options with the given number of walks.
+     */
+    public WalkOptions withWalksPerVertex(int walksPerVertex) {
+        if (walksPerVertex <= 0)
+            throw new IllegalArgumentException("walksPerVertex <= 0");
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    /**
+     * @param weighted whether arcs are picked in proportion to their weight instead of uniformly.
+     * @return a copy of these options with the given choice.
+     */
+    public WalkOptions withWeighted(boolean weighted) {
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    /**
+     * @param returnParameter the node2vec p: going back to the previous vertex is weighed by 1 / p.
+     * @return a copy of these options with the given parameter.
+     */
+    public WalkOptions withReturnParameter(double returnParameter) {
+        if (!(returnParameter > 0))
+            throw new IllegalArgumentException("returnParameter <= 0");
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    /**
+     * @param inOutParameter the node2vec q: moving to a vertex not linked to the previous one is weighed by 1 / q.
+     * @return a copy of these options with the given parameter.
+     */
+    public WalkOptions withInOutParameter(double inOutParameter) {
+        if (!(inOutParameter > 0))
+            throw new IllegalArgumentException("inOutParameter <= 0");
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    /**
+     * @param seed the seed of the random generator; the same seed gives the same walks.
+     * @return a copy of these options with the given seed.
+     */
+    public WalkOptions withSeed(long seed) {
+        return new WalkOptions(walkLength, walksPerVertex, weighted, returnParameter, inOutParameter, seed);
+    }
+
+    public int getWalkLength() {
+        return walkLength;
+    }
+
+    public int getWalksPerVertex() {
+        return walksPerVertex;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public double getReturnParameter() {
+        return returnParameter;
+    }
+
+    public double getInOutParameter() {
+        return inOutParameter;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return true if p or q bias the walks, making each step depend on the previous vertex.
+     */
+    public boolean isSecondOrder() {
+        return returnParameter != 1 || inOutParameter != 1;
+    }
+
+    @Override
+    public String toString() {
+        return "WalkOptions{" +
+                "walkLength=" + walkLength +
+                ", walksPerVertex=" + walksPerVertex +
+                ", weighted=" + weighted +
+                ", p=" + returnParameter +
+                ", q=" + inOutParameter +
+                ", seed=" + seed +
+                '}';
+    }
+}
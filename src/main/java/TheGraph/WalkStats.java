@@ -0,0 +1,54 @@
+package TheGraph;
+
+/**
+ * Counters of one run of a RandomWalks generator.
+ */
+public final class WalkStats {
+    private final long walks;
+    private final long steps;
+    private final long elapsedNanos;
+
+    WalkStats(long walks, long steps, long elapsedNanos) {
+        this.walks = walks;
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the walks generated.
+     */
+    public long getWalks() {
+        return walks;
+    }
+
+    /**
+     * @return the arcs followed, added over every walk.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return the time the run took, consumer or file writes included.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the throughput of the run.
+     */
+    public double getStepsPerSecond() {
+        return elapsedNanos == 0 ? 0 : steps * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "WalkStats{" +
+                "walks=" + walks +
+                ", steps=" + steps +
+                ", elapsedNanos=" + elapsedNanos +
+                String.format(", stepsPerSecond=%.0f", getStepsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestAdaptiveGraph {
+    public static void main(String[] args) {
+        AdaptivePolicy policy = AdaptivePolicy.defaults().withMinDenseVertices(4).withCheckEvery(4);
+        AdaptiveGraph<Integer> intGraph = new AdaptiveGraph<>(true, policy);
+        for (int i = 1; i <= 6; i++)
+            intGraph.addVertex(i);
+
+        for (int i = 1; i <= 6; i++) {
+            for (int j = i + 1; j <= 6; j++)
+                intGraph.addEdge(i, j, i + j / 10.0);
+        }
+        System.out.println(intGraph.toString());
+        System.out.println("Dense: " + intGraph.isDense() + ", density: " + intGraph.density());
+        intGraph.DFS(1);
+        intGraph.BFS(1);
+
+        for (int i = 1; i <= 6; i++) {
+            for (int j = i + 1; j <= 6; j++) {
+                if (j != i + 1)
+                    intGraph.removeEdge(i, j);
+            }
+        }
+        System.out.println("\n" + intGraph.toString());
+        System.out.println("Dense: " + intGraph.isDense() + ", density: " + intGraph.density()
+                + ", migrations: " + intGraph.getMigrations());
+
+        // Arcs added through a kept int view are counted, and the view follows the graph across migrations.
+        AdaptiveGraph<Integer> viaInts = new AdaptiveGraph<>(false, policy);
+        for (int i = 1; i <= 6; i++)
+            viaInts.addVertex(i);
+        IntGraph<Integer> ints = viaInts.asIntGraph();
+        QueryCache<Integer> cache = new QueryCache<>(viaInts, 16);
+        System.out.println("\nReachable 1 -> 2 before: " + cache.isReachable(1, 2) + " (expected false)");
+        long modCount = viaInts.modCount();
+        ints.addArc(ints.idOf(1), ints.idOf(2));
+        System.out.println("Arc added through the int view: arcs " + viaInts.arcCount() + " (expected 1), modCount moved: "
+                + (viaInts.modCount() > modCount) + ", reachable 1 -> 2: " + cache.isReachable(1, 2) + " (expected true)");
+        for (int i = 1; i <= 6; i++) {
+            for (int j = 1; j <= 6; j++) {
+                if (i != j)
+                    ints.addArc(ints.idOf(i), ints.idOf(j));
+            }
+        }
+        System.out.println("After filling it through the view: dense " + viaInts.isDense() + " (expected true), migrations "
+                + viaInts.getMigrations() + ", arcs " + viaInts.arcCount() + " (expected 30)");
+        viaInts.removeArc(6, 5);
+        System.out.println("The kept view sees the matrix: arc 5 -> 6 " + ints.hasArc(ints.idOf(5), ints.idOf(6))
+                + ", arc 6 -> 5 " + ints.hasArc(ints.idOf(6), ints.idOf(5)) + " (expected true, false), degree of 6: "
+                + ints.degree(ints.idOf(6)) + " (expected 4)");
+    }
+}
@@ -0,0 +1,90 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+public class TestAsyncGraph {
+    public static void main(String[] args) throws InterruptedException {
+        // A star from 0 to 1..20, plus the path 1 -> 2 -> 3.
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 0; i <= 20; i++)
+            intGraph.addVertex(i);
+        for (int i = 1; i <= 20; i++)
+            intGraph.addArc(0, i, i / 10.0);
+        intGraph.addArc(1, 2, 0.5);
+        intGraph.addArc(2, 3, 0.5);
+
+        // Queries from the same source that arrive within the linger time share one batch.
+        try (AsyncGraph<Integer> async = new AsyncGraph<>(intGraph, AsyncOptions.defaults().withLingerMicros(20_000))) {
+            List<CompletableFuture<Double>> weights = new ArrayList<>();
+            for (int i = 1; i <= 20; i++)
+                weights.add(async.getArcWeight(0, i));
+            CompletableFuture<Double> distance = async.shortestDistance(0, 3);
+            CompletableFuture<Boolean> backwards = async.isReachable(3, 0);
+            CompletableFuture<List<Integer>> order = async.BFS(1);
+            CompletableFuture<List<Integer>> missing = async.neighbors(99);
+            CompletableFuture<Double> noArc = async.getArcWeight(3, 0);
+
+            System.out.println("Weight 0 -> 7: " + weights.get(6).join() + " (expected 0.7)");
+            System.out.println("Distance 0 -> 3: " + distance.join() + " (expected 0.3, the direct arc), 3 reaches 0: "
+                    + backwards.join() + " (expected false)");
+            System.out.println("BFS from 1: " + order.join() + " (expected [1, 2, 3]), weight 3 -> 0: " + noArc.join()
+                    + " (expected null)");
+            try {
+                missing.join();
+                System.out.println("Neighbours of 99 didn't fail");
+            } catch (CompletionException e) {
+                System.out.println("Neighbours of 99 failed: " + e.getCause().getClass().getSimpleName() + ": "
+                        + e.getCause().getMessage());
+            }
+            AsyncStats stats = async.getStats();
+            System.out.println("Queries: " + stats.getQueries() + " (expected 25), batches: " + stats.getBatches()
+                    + ", largest batch holds the 20 weight lookups: " + (stats.getLargestBatch() >= 20));
+        }
+
+        // With 4 pending queries allowed and the graph held by an update, the fifth caller waits.
+        AsyncGraph<Integer> bounded = new AsyncGraph<>(intGraph, AsyncOptions.defaults().withMaxPending(4));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CompletableFuture<Boolean> held = bounded.update(graph -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return graph.addArc(3, 4, 1.0);
+        });
+        holding.await();
+        List<CompletableFuture<List<Integer>>> burst = new ArrayList<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 10; i++)
+                burst.add(bounded.neighbors(i % 4));
+        });
+        caller.join(200);
+        System.out.println("\nCaller blocked with 4 queries pending: " + caller.isAlive() + " (expected true)");
+        release.countDown();
+        caller.join();
+        System.out.println("Update result: " + held.join() + ", neighbours of 3 after it: " + burst.get(3).join()
+                + " (expected [4])");
+        CompletableFuture.allOf(burst.toArray(new CompletableFuture<?>[0])).join();
+        System.out.println("All 10 answered, backpressure waits: " + (bounded.getStats().getBackpressureWaits() > 0)
+                + " (expected true)");
+        bounded.close();
+
+        // close() answers what is already queued, then refuses new queries.
+        AsyncGraph<Integer> closing = new AsyncGraph<>(intGraph, AsyncOptions.defaults().withLingerMicros(100_000));
+        List<CompletableFuture<Boolean>> queued = new ArrayList<>();
+        for (int i = 1; i <= 20; i++)
+            queued.add(closing.isReachable(0, i));
+        closing.close();
+        long answered = queued.stream().filter(f -> f.isDone() && !f.isCompletedExceptionally() && f.join()).count();
+        System.out.println("\nQueued before close and answered: " + answered + " (expected 20)");
+        CompletableFuture<Boolean> late = closing.isReachable(0, 1);
+        System.out.println("Query after close failed: " + late.isCompletedExceptionally() + " (expected true)");
+    }
+}
@@ -0,0 +1,41 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TestBetweenness {
+    public static void main(String[] args) {
+        // Path 1-2-3-4-5: vertex i lies on (i - 1) * (5 - i) pairs, counted both ways.
+        LuigiGraph<Integer> path = new LuigiGraph<>(false);
+        for (int i = 1; i <= 5; i++)
+            path.addVertex(i);
+        for (int i = 1; i < 5; i++)
+            path.addEdge(i, i + 1);
+        System.out.println("Path:     " + new TreeMap<>(Betweenness.exact(path)) + " (expected 0, 6, 8, 6, 0)");
+
+        // Star with center 0 and leaves 1-4: every pair of leaves goes through the center, 4 * 3 ordered pairs.
+        MarioGraph<Integer> star = new MarioGraph<>(5, false);
+        for (int i = 0; i <= 4; i++)
+            star.addVertex(i);
+        for (int i = 1; i <= 4; i++)
+            star.addEdge(0, i);
+        System.out.println("Star:     " + new TreeMap<>(Betweenness.exact(star)) + " (expected 12 at 0, 0 elsewhere)");
+
+        // Weighted diamond a->b->d and a->c->d of equal length, plus a longer direct arc a->d:
+        // b and c split the only pair (a, d) between them.
+        LuigiGraph<String> diamond = new LuigiGraph<>(true);
+        for (String key : new String[]{"a", "b", "c", "d"})
+            diamond.addVertex(key);
+        diamond.addArc("a", "b", 1.0);
+        diamond.addArc("a", "c", 2.0);
+        diamond.addArc("b", "d", 2.0);
+        diamond.addArc("c", "d", 1.0);
+        diamond.addArc("a", "d", 3.5);
+        System.out.println("Diamond:  " + new TreeMap<>(Betweenness.exact(diamond)) + " (expected 0.5 at b and c, 0 elsewhere)");
+
+        Map<Integer, Double> sampled = Betweenness.approximate(path, 5, 42);
+        System.out.println("Path with every vertex as a source: " + new TreeMap<>(sampled));
+        System.out.println("Sources for epsilon 0.1, delta 0.1 on 1000 vertices: " + Betweenness.samplesFor(1000, 0.1, 0.1));
+    }
+}
@@ -0,0 +1,35 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestChangeFeedGraph {
+    public static void main(String[] args) {
+        ChangeFeedOptions options = ChangeFeedOptions.defaults().withBufferCapacity(4).withMaxBatchSize(3);
+        ChangeFeedGraph<Integer> graph = new ChangeFeedGraph<>(new LuigiGraph<>(true), options);
+        int[] arcs = {0};
+        graph.subscribe(changes -> {
+            System.out.println(changes);
+            for (int i = 0; i < changes.size(); i++) {
+                switch (changes.operation(i)) {
+                    case ADD_ARC -> arcs[0]++;
+                    case REMOVE_ARC -> arcs[0]--;
+                    case ADD_EDGE -> arcs[0] += 2;
+                    default -> { }
+                }
+            }
+        });
+        for (int i = 1; i <= 5; i++)
+            graph.addVertex(i);
+        graph.addArc(2,1,1.4);
+        graph.addArc(1,2,1.5);
+        graph.addArc(3,5,0.7);
+        graph.addArc(4,1,0.3);
+        graph.addEdge(3,4,2.0);
+        graph.updateArc(4,1,1.2);
+        graph.removeArc(1,2);
+        graph.addArc(9,1,1.0);
+        graph.close();
+        System.out.println("Arcs counted by the listener: " + arcs[0]);
+        System.out.println(graph.toString());
+        System.out.println(graph.getStats());
+    }
+}
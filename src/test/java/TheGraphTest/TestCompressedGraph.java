@@ -0,0 +1,30 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestCompressedGraph {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 1; i <= 8; i++)
+            intGraph.addVertex(i);
+
+        intGraph.addArc(1, 5, 1.3);
+        intGraph.addArc(1, 2, 1.5);
+        intGraph.addArc(1, 3, 0.6);
+        intGraph.addArc(1, 4, 0.9);
+        intGraph.addArc(2, 1, 1.4);
+        intGraph.addArc(3, 8, 0.7);
+        intGraph.addArc(4, 1, 0.3);
+        intGraph.addArc(5, 6, 0.8);
+        intGraph.addArc(5, 7, 0.1);
+        intGraph.addArc(6, 3, 0.8);
+        intGraph.addEdge(7, 8, 2.0);
+
+        CompressedGraph<Integer> compressed = new CompressedGraph<>(intGraph);
+        System.out.println(compressed.toString());
+        compressed.DFS(1);
+        compressed.BFS(1);
+
+        System.out.println("\nWeight 1 -> 4: " + compressed.getArcWeight(1, 4));
+        System.out.println("Arcs: " + compressed.arcCount() + ", bits per arc: " + compressed.bitsPerArc());
+    }
+}
@@ -0,0 +1,44 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestConnectivityGraph {
+    public static void main(String[] args) {
+        for (ConnectivityGraph.Mode mode : ConnectivityGraph.Mode.values()) {
+            ConnectivityGraph<String> network = new ConnectivityGraph<>(new LuigiGraph<>(false), mode);
+            for (String host : new String[]{"a", "b", "c", "d", "e", "f"})
+                network.addVertex(host);
+            network.addEdge("a", "b");
+            network.addEdge("b", "c");
+            network.addEdge("c", "a");
+            network.addEdge("d", "e");
+            System.out.println(mode + ": " + network.componentCount() + " components, a-c " + network.connected("a", "c")
+                    + ", a-d " + network.connected("a", "d") + ", f-f " + network.connected("f", "f"));
+
+            network.addEdge("c", "d");
+            System.out.println("After c-d: a-e " + network.connected("a", "e") + ", " + network.componentCount() + " components");
+
+            network.removeEdge("a", "b");
+            System.out.println("After removing a-b (the cycle keeps them together): a-b " + network.connected("a", "b")
+                    + ", " + network.componentCount() + " components");
+
+            network.removeEdge("c", "d");
+            System.out.println("After removing c-d (a bridge): a-e " + network.connected("a", "e")
+                    + ", " + network.componentCount() + " components");
+
+            network.removeVertex("e");
+            System.out.println("After removing e: " + network.componentCount() + " components, rebuilds "
+                    + network.getRebuilds() + ", replacement searches " + network.getReplacementSearches() + "\n");
+
+            // Weight updates leave the links alone, so they don't cost a rebuild.
+            ConnectivityGraph<String> roads = new ConnectivityGraph<>(new LuigiGraph<>(true), mode);
+            for (String town : new String[]{"x", "y", "z"})
+                roads.addVertex(town);
+            roads.addEdge("x", "y", 3.0);
+            roads.updateEdge("x", "y", 4.5);
+            roads.updateArc("y", "x", 5.0);
+            System.out.println("Weighted, after updating x-y: x-y " + roads.connected("x", "y") + ", x-z "
+                    + roads.connected("x", "z") + ", weight y -> x " + roads.getArcWeight("y", "x")
+                    + ", rebuilds " + roads.getRebuilds() + " (expected 1)\n");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Arrays;
+
+public class TestDenseMatrix {
+    public static void main(String[] args) {
+        // a -> b -> c -> d -> a with a longer shortcut a -> c, and e on its own.
+        LuigiGraph<String> intGraph = new LuigiGraph<>(true);
+        for (String key : new String[]{"a", "b", "c", "d", "e"})
+            intGraph.addVertex(key);
+        intGraph.addArc("a", "b", 1.0);
+        intGraph.addArc("b", "c", 2.0);
+        intGraph.addArc("a", "c", 5.0);
+        intGraph.addArc("c", "d", 1.0);
+        intGraph.addArc("d", "a", 1.0);
+
+        // Three vertices in a directed cycle share the rank evenly.
+        LuigiGraph<String> cycle = new LuigiGraph<>(false);
+        for (String key : new String[]{"x", "y", "z"})
+            cycle.addVertex(key);
+        cycle.addArc("x", "y");
+        cycle.addArc("y", "z");
+        cycle.addArc("z", "x");
+
+        DenseKernels[] kernelSets = {DenseKernels.scalar(), DenseKernels.best()};
+        double[][] ranks = new double[kernelSets.length][];
+        for (int k = 0; k < kernelSets.length; k++) {
+            DenseMatrix<String> matrix = new DenseMatrix<>(intGraph, kernelSets[k]);
+            System.out.println("Kernels: " + matrix.getKernels());
+            System.out.println("Hops from a:      " + byKey(matrix, matrix.hops("a")) + " (expected a=0 b=1 c=1 d=2 e=-1)");
+            System.out.println("Distances from a: " + byKey(matrix, matrix.distances("a"))
+                    + " (expected a=0.0 b=1.0 c=3.0 d=4.0 e=Infinity)");
+            System.out.println("Out-degrees:      " + byKey(matrix, matrix.outDegrees()) + " (expected a=2 b=1 c=1 d=1 e=0)");
+            ranks[k] = matrix.pageRank(0.85, 50);
+            System.out.println("PageRank sum:     " + Arrays.stream(ranks[k]).sum() + " (expected 1)");
+            System.out.println("Cycle PageRank:   " + Arrays.toString(new DenseMatrix<>(cycle, kernelSets[k]).pageRank(0.85, 50))
+                    + " (expected 1/3 each)\n");
+        }
+        double largestGap = 0;
+        for (int i = 0; i < ranks[0].length; i++)
+            largestGap = Math.max(largestGap, Math.abs(ranks[0][i] - ranks[1][i]));
+        System.out.println("Largest PageRank gap between the kernel sets: " + largestGap + " (rounding only, below 1e-12: "
+                + (largestGap < 1e-12) + ")");
+    }
+
+    private static String byKey(DenseMatrix<String> matrix, int[] values) {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+            st.append(i == 0 ? "" : " ").append(matrix.keyOf(i)).append('=').append(values[i]);
+        return st.toString();
+    }
+
+    private static String byKey(DenseMatrix<String> matrix, double[] values) {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+            st.append(i == 0 ? "" : " ").append(matrix.keyOf(i)).append('=').append(values[i]);
+        return st.toString();
+    }
+}
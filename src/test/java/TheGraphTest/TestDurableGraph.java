@@ -0,0 +1,32 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestDurableGraph {
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("durable-graph");
+        DurabilityOptions options = DurabilityOptions.defaults().withCheckpointEveryRecords(8);
+
+        DurableGraph<Integer> graph = DurableGraph.open(dir, new LuigiGraph<>(true), KeyCodec.INTEGER, options);
+        for (int i = 1; i <= 5; i++)
+            graph.addVertex(i);
+        graph.addArc(2,1,1.4);
+        graph.addArc(1,2,1.5);
+        graph.addArc(3,5,0.7);
+        graph.addArc(4,1,0.3);
+        graph.addEdge(3,4,2.0);
+        graph.updateArc(4,1,1.2);
+        graph.removeArc(1,2);
+        graph.removeVertex(5);
+        System.out.println(graph.toString());
+        System.out.println(graph.getStats());
+        graph.close();
+
+        DurableGraph<Integer> recovered = DurableGraph.open(dir, new LuigiGraph<>(true), KeyCodec.INTEGER, options);
+        System.out.println(recovered.toString());
+        recovered.close();
+    }
+}
@@ -0,0 +1,57 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Set;
+
+public class TestGraphView {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 1; i <= 8; i++)
+            intGraph.addVertex(i);
+
+        intGraph.addArc(1, 5, 1.3);
+        intGraph.addArc(1, 2, 1.5);
+        intGraph.addArc(1, 3, 0.6);
+        intGraph.addArc(1, 4, 0.9);
+        intGraph.addArc(2, 1, 1.4);
+        intGraph.addArc(3, 8, 0.7);
+        intGraph.addArc(4, 1, 0.3);
+        intGraph.addArc(5, 6, 0.8);
+        intGraph.addArc(5, 7, 0.1);
+        intGraph.addArc(6, 3, 0.8);
+        intGraph.addEdge(7, 8, 2.0);
+
+        GraphView<Integer> induced = intGraph.inducedSubgraph(Set.of(1, 2, 3, 4, 8));
+        System.out.println("Induced by 1, 2, 3, 4, 8:\n" + induced);
+        induced.BFS(1);
+
+        GraphView<Integer> heavy = intGraph.filterEdges(arc -> arc.weight() >= 0.8);
+        System.out.println("\n\nArcs of weight >= 0.8:\n" + heavy);
+        heavy.DFS(1);
+
+        GraphView<Integer> reversed = intGraph.reverse();
+        System.out.println("\n\nReversed:\n" + reversed);
+        reversed.BFS(8);
+
+        intGraph.addArc(8, 2, 0.5);
+        System.out.println("\n\nWeight 2 -> 8 in the reversed view after adding 8 -> 2: " + reversed.getArcWeight(2, 8));
+
+        // A view of an AdaptiveGraph keeps working after the parent migrates to a matrix.
+        AdaptiveGraph<Integer> adaptive = new AdaptiveGraph<>(true,
+                AdaptivePolicy.defaults().withMinDenseVertices(4).withCheckEvery(1));
+        for (int i = 30; i < 40; i++)
+            adaptive.addVertex(i);
+        GraphView<Integer> adaptiveReversed = adaptive.reverse();
+        IntGraph<Integer> reversedInts = adaptiveReversed.asIntGraph();
+        for (int i = 30; i < 40; i++) {
+            for (int j = 30; j < 40; j++) {
+                if (i != j && (i + j) % 2 == 0)
+                    adaptive.addArc(i, j, 1.0);
+            }
+        }
+        adaptive.addArc(38, 37, 3.5);
+        System.out.println("Parent dense after migrating: " + adaptive.isDense() + ", arc 37 -> 38 in the reversed view: "
+                + reversedInts.hasArc(reversedInts.idOf(37), reversedInts.idOf(38)) + " with weight "
+                + adaptiveReversed.getArcWeight(37, 38) + " (expected true with weight 3.5)");
+    }
+}
@@ -0,0 +1,47 @@
+package TheGraphTest;
+import TheGraph.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class TestInstrumentedGraph {
+    public static void main(String[] args) throws IOException {
+        InstrumentedGraph<Integer> intGraph = new InstrumentedGraph<>(new MarioGraph<>(6, true));
+        for (int i = 1; i <= 6; i++)
+            intGraph.addVertex(i);
+        intGraph.addArc(1, 2, 0.5);
+        intGraph.addArc(1, 3, 1.5);
+        intGraph.addEdge(3, 4, 2.0);
+        intGraph.addArc(4, 5, 0.7);
+        intGraph.updateArc(1, 2, 0.9);
+        for (int i = 0; i < 100; i++)
+            intGraph.getArcWeight(1, 2);
+
+        GraphMetrics metrics = intGraph.getMetrics();
+        System.out.println("getArcWeight calls: " + metrics.calls(GraphOperation.GET_ARC_WEIGHT)
+                + ", p99: " + metrics.latency(GraphOperation.GET_ARC_WEIGHT).percentile(99) + " ns");
+        System.out.println(intGraph.sizes());
+
+        intGraph.setEnabled(false);
+        intGraph.getArcWeight(1, 3);
+        System.out.println("getArcWeight calls after disabling: " + metrics.calls(GraphOperation.GET_ARC_WEIGHT));
+        intGraph.setEnabled(true);
+
+        Path file = Files.createTempFile("traversals", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("TheGraph.Traversal").withThreshold(Duration.ZERO);
+            recording.start();
+            intGraph.BFS(1);
+            intGraph.DFS(1);
+            recording.stop();
+            recording.dump(file);
+        }
+        System.out.println("\nTraversal events recorded: " + RecordingFile.readAllEvents(file).size());
+        System.out.println(metrics);
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,49 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.PrimitiveIterator;
+
+public class TestIntGraph {
+    public static void main(String[] args) {
+        VertexDictionary<String> dictionary = new VertexDictionary<>();
+        for (String key : new String[]{"a", "b", "c", "d"})
+            System.out.println(key + " -> " + dictionary.add(key));
+        System.out.println("Adding a again: " + dictionary.add("a"));
+        System.out.println("Removed b, id " + dictionary.remove("b") + ", size " + dictionary.size()
+                + ", id bound " + dictionary.idBound());
+        System.out.println("e -> " + dictionary.add("e") + " (reuses the id of b)");
+        System.out.println("Key of id 2: " + dictionary.keyOf(2) + ", id of z: " + dictionary.idOf("z"));
+
+        System.out.println("\nLuigiGraph:");
+        printIds(new LuigiGraph<>(true));
+        System.out.println("\nMarioGraph:");
+        printIds(new MarioGraph<>(6, true));
+    }
+
+    private static void printIds(Graph<Integer> graph) {
+        for (int i = 10; i <= 50; i += 10)
+            graph.addVertex(i);
+        graph.addArc(10, 20, 1.5);
+        graph.addArc(10, 30, 0.5);
+        graph.addArc(30, 50, 2.0);
+
+        IntGraph<Integer> ints = graph.asIntGraph();
+        int ten = ints.idOf(10);
+        ints.addArc(ints.idOf(40), ten, 3.0);
+        for (int id = 0; id < ints.idBound(); id++) {
+            Integer key = ints.keyOf(id);
+            if (key == null)
+                continue;
+            StringBuilder line = new StringBuilder(id + " (" + key + ") degree " + ints.degree(id) + ":");
+            PrimitiveIterator.OfInt it = ints.neighbors(id);
+            while (it.hasNext()) {
+                int dest = it.nextInt();
+                line.append(' ').append(ints.keyOf(dest)).append(" (").append(ints.arcWeight(id, dest)).append(')');
+            }
+            System.out.println(line);
+        }
+        System.out.println("Arc 40 -> 10 added through the view: " + graph.getArcWeight(40, 10));
+        System.out.println("Has arc 10 -> 40: " + ints.hasArc(ten, ints.idOf(40))
+                + ", weight: " + ints.arcWeight(ten, ints.idOf(40)));
+    }
+}
@@ -0,0 +1,34 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestLouvain {
+    public static void main(String[] args) {
+        // Two cliques of 5 vertices, 1-5 and 6-10, joined by the bridge 5-6.
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(false);
+        for (int i = 1; i <= 10; i++)
+            intGraph.addVertex(i);
+        for (int base : new int[]{1, 6}) {
+            for (int i = base; i < base + 5; i++) {
+                for (int j = i + 1; j < base + 5; j++)
+                    intGraph.addEdge(i, j);
+            }
+        }
+        intGraph.addEdge(5, 6);
+
+        Communities<Integer> communities = Louvain.detect(intGraph);
+        System.out.println(communities);
+        System.out.println("Communities: " + communities.count() + " (expected 2)");
+        boolean together = true;
+        for (int i = 2; i <= 5; i++)
+            together &= communities.communityOf(i) == communities.communityOf(1);
+        for (int i = 7; i <= 10; i++)
+            together &= communities.communityOf(i) == communities.communityOf(6);
+        System.out.println("Each clique in one community: " + together
+                + ", cliques apart: " + (communities.communityOf(1) != communities.communityOf(6)));
+
+        // 21 edges; each community holds 10 of them and a degree sum of 21: Q = 2 * (10/21 - (21/42)^2).
+        double expected = 2 * (10.0 / 21 - 0.25);
+        System.out.printf("Modularity: %.4f (expected %.4f)%n", communities.getModularity(), expected);
+        System.out.println("Community of 11, not in the graph: " + communities.communityOf(11));
+    }
+}
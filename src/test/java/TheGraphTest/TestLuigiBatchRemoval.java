@@ -0,0 +1,52 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestLuigiBatchRemoval {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 1; i <= 8; i++)
+            intGraph.addVertex(i);
+        for (int i = 2; i <= 8; i++)
+            intGraph.addArc(1, i, i / 10.0);
+        intGraph.addEdge(2, 5, 2.5);
+        intGraph.addArc(3, 2, 3.2);
+        intGraph.addArc(6, 5, 6.5);
+        intGraph.addArc(7, 8, 7.8);
+
+        // Lazy mode: removals only tombstone until half of the ids are tombstones.
+        intGraph.setCompactionThreshold(0.5);
+        IntGraph<Integer> ints = intGraph.asIntGraph();
+        int idOfTwo = ints.idOf(2);
+        int idOfFive = ints.idOf(5);
+        System.out.println("Vertices removed: " + intGraph.removeVertices(List.of(2, 5, 42)));
+        System.out.println("Arcs removed: " + intGraph.removeArcs(List.of(new Arc<>(1, 3, null), new Arc<>(7, 8, null),
+                new Arc<>(8, 7, null))));
+
+        System.out.println("\nWith " + intGraph.tombstoneCount() + " tombstones:");
+        System.out.println("Degree of 1: " + ints.degree(ints.idOf(1)) + " (expected 4)");
+        System.out.println("Neighbours of 1: " + intGraph.neighbors(1).map(String::valueOf).collect(Collectors.joining(" "))
+                + " (expected 4 6 7 8)");
+        System.out.println("Degree of 6: " + ints.degree(ints.idOf(6)) + ", of 3: " + ints.degree(ints.idOf(3)) + " (expected 0, 0)");
+        System.out.println("Arcs: " + intGraph.edges().map(Arc::toString).collect(Collectors.joining(", ")));
+        System.out.println("Vertices: " + intGraph.vertexCount() + ", arc 1 -> 2 still visible: "
+                + (intGraph.getArcWeight(1, 2) != null));
+
+        intGraph.compact();
+        System.out.println("\nAfter compaction: " + intGraph.tombstoneCount() + " tombstones");
+        System.out.println(intGraph);
+
+        intGraph.addVertex(9);
+        intGraph.addVertex(10);
+        int idOfNine = ints.idOf(9);
+        int idOfTen = ints.idOf(10);
+        System.out.println("9 and 10 took the ids of 2 and 5: "
+                + ((idOfNine == idOfTwo && idOfTen == idOfFive) || (idOfNine == idOfFive && idOfTen == idOfTwo)));
+        System.out.println("Arcs 1 -> 9: " + intGraph.getArcWeight(1, 9) + ", 1 -> 10: " + intGraph.getArcWeight(1, 10)
+                + ", 3 -> 9: " + intGraph.getArcWeight(3, 9) + " (expected null, no stale arc revived)");
+        System.out.println("Degree of 1: " + ints.degree(ints.idOf(1)) + " (expected 4), arcs in the graph: "
+                + intGraph.edges().count() + " (expected 4)");
+    }
+}
@@ -0,0 +1,33 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestLuigiNeighbours {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> weighted = new LuigiGraph<>(true);
+        for (int i = 0; i <= 20; i++)
+            weighted.addVertex(i);
+        for (int i = 1; i <= 20; i++)
+            weighted.addArc(0, i, i / 10.0);
+        System.out.println("Degree of 0 after growing its arrays: " + weighted.asIntGraph().degree(0));
+        System.out.println("Weight 0 -> 17: " + weighted.getArcWeight(0, 17));
+
+        weighted.removeArc(0, 3);
+        weighted.removeArc(0, 11);
+        weighted.removeVertex(20);
+        weighted.updateArc(0, 19, 9.5);
+        System.out.print("Neighbours of 0 after removing 3, 11 and 20, in order:");
+        weighted.neighbors(0).forEach(dest -> System.out.print(" " + dest));
+        System.out.println("\nWeight 0 -> 19 after the update: " + weighted.getArcWeight(0, 19)
+                + ", weight 0 -> 3: " + weighted.getArcWeight(0, 3));
+
+        LuigiGraph<String> unweighted = new LuigiGraph<>(false);
+        for (String key : new String[]{"x", "y", "z"})
+            unweighted.addVertex(key);
+        unweighted.addArc("x", "y");
+        unweighted.addEdge("y", "z");
+        System.out.println("\n" + unweighted);
+        System.out.println("Weight x -> y in an unweighted graph: " + unweighted.getArcWeight("x", "y"));
+        unweighted.removeEdge("y", "z");
+        System.out.println(unweighted);
+    }
+}
@@ -0,0 +1,52 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Map;
+
+public class TestMemoryFootprint {
+    public static void main(String[] args) {
+        // The same weighted ring of 200 vertices with a chord every 10 vertices, in both representations.
+        int n = 200;
+        LuigiGraph<Integer> luigi = new LuigiGraph<>(true);
+        MarioGraph<Integer> mario = new MarioGraph<>(n, true);
+        build(luigi, n);
+        build(mario, n);
+        long arcs = luigi.edges().count();
+
+        MemoryFootprint luigiFootprint = luigi.memoryFootprint();
+        MemoryFootprint marioFootprint = mario.memoryFootprint();
+        System.out.println(luigiFootprint);
+        System.out.println(marioFootprint);
+        System.out.println("Arcs: " + arcs + ", the lists take " + luigiFootprint.getAdjacencyBytes()
+                + " bytes against " + marioFootprint.getAdjacencyBytes() + " for the matrix");
+        System.out.println("LuigiGraph smaller on a sparse graph: "
+                + (luigiFootprint.getTotalBytes() < marioFootprint.getTotalBytes()) + " (expected true)");
+        System.out.println("Same key bytes: " + (luigiFootprint.getKeyBytes() == marioFootprint.getKeyBytes())
+                + " (expected true)");
+
+        Map<String, MemoryFootprint> estimates = MemoryFootprint.estimate(n, arcs, true);
+        System.out.println("\nEstimated before building:");
+        estimates.values().forEach(System.out::println);
+
+        AdaptiveGraph<Integer> adaptive = new AdaptiveGraph<>(true);
+        build(adaptive, n);
+        System.out.println("\nAdaptiveGraph reports its current representation: " + adaptive.memoryFootprint());
+        System.out.println("A view reports its parent: "
+                + (luigi.reverse().memoryFootprint().getTotalBytes() == luigiFootprint.getTotalBytes()) + " (expected true)");
+        System.out.println(new CompressedGraph<>(luigi).memoryFootprint());
+        try (OffHeapGraph<Integer> offHeap = new OffHeapGraph<>(true, n, arcs)) {
+            build(offHeap, n);
+            System.out.println(offHeap.memoryFootprint());
+        }
+    }
+
+    private static void build(Graph<Integer> graph, int n) {
+        for (int i = 0; i < n; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < n; i++) {
+            graph.addEdge(i, (i + 1) % n, 1.0);
+            if (i % 10 == 0)
+                graph.addArc(i, (i + n / 2) % n, 2.0);
+        }
+    }
+}
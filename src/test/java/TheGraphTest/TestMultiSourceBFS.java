@@ -0,0 +1,64 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TestMultiSourceBFS {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> grid = new LuigiGraph<>(false);
+        int side = 10;
+        for (int i = 0; i < side * side; i++)
+            grid.addVertex(i);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side)
+                    grid.addEdge(v, v + 1);
+                if (row + 1 < side)
+                    grid.addEdge(v, v + side);
+            }
+        }
+
+        List<Set<Integer>> reached = MultiSourceBFS.kHop(grid, List.of(0, 55, 99), 1);
+        System.out.println("1 hop from 0: " + new TreeSet<>(reached.get(0)) + ", from 55: " + new TreeSet<>(reached.get(1))
+                + ", from 99: " + new TreeSet<>(reached.get(2)));
+
+        IntGraph<Integer> ints = grid.asIntGraph();
+        int[] sources = new int[MultiSourceBFS.BATCH + 6];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = ints.idOf(i);
+        int[][] distances = MultiSourceBFS.distances(ints, sources, -1);
+        boolean same = true;
+        for (int i = 0; i < sources.length; i++)
+            same &= Arrays.equals(distances[i], singleSource(ints, sources[i]));
+        System.out.println(sources.length + " sources in two batches match one BFS per source: " + same);
+        System.out.println("Hops from 0 to 99: " + distances[0][ints.idOf(99)]
+                + ", from 69 to 0: " + distances[69][ints.idOf(0)]);
+
+        int[][] limited = MultiSourceBFS.distances(ints, new int[]{ints.idOf(0)}, 3);
+        System.out.println("Hops from 0 to 4 with at most 3 hops: " + limited[0][ints.idOf(4)]
+                + ", to 3: " + limited[0][ints.idOf(3)]);
+    }
+
+    private static int[] singleSource(IntGraph<Integer> ints, int src) {
+        int[] hops = new int[ints.idBound()];
+        Arrays.fill(hops, -1);
+        hops[src] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(src);
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            ints.forEachNeighbor(v, (dest, weight) -> {
+                if (hops[dest] == -1) {
+                    hops[dest] = hops[v] + 1;
+                    queue.add(dest);
+                }
+            });
+        }
+        return hops;
+    }
+}
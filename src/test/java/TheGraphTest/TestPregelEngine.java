@@ -0,0 +1,79 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TestPregelEngine {
+    public static void main(String[] args) {
+        LuigiGraph<String> roads = new LuigiGraph<>(true);
+        for (String town : new String[]{"a", "b", "c", "d", "e", "f", "g"})
+            roads.addVertex(town);
+        roads.addArc("a", "b", 4.0);
+        roads.addArc("a", "c", 2.0);
+        roads.addArc("c", "b", 1.0);
+        roads.addArc("b", "d", 5.0);
+        roads.addArc("c", "d", 8.0);
+        roads.addArc("c", "e", 10.0);
+        roads.addArc("d", "e", 2.0);
+        roads.addArc("d", "f", 6.0);
+        roads.addArc("e", "f", 3.0);
+        roads.addArc("g", "a", 1.0);
+
+        // Single-source shortest paths from a: a vertex that improves its distance tells its neighbours.
+        VertexProgram<String, Double, Double> shortestPaths = (vertex, messages) -> {
+            double best = vertex.getSuperstep() == 0 && vertex.getKey().equals("a") ? 0.0 : Double.POSITIVE_INFINITY;
+            for (double message : messages)
+                best = Math.min(best, message);
+            if (best < vertex.getValue()) {
+                vertex.setValue(best);
+                double distance = best;
+                vertex.forEachNeighbor((dest, weight) -> vertex.sendMessageToId(dest, distance + weight));
+            }
+            vertex.voteToHalt();
+        };
+        PregelEngine<String, Double, Double> engine = new PregelEngine<String, Double, Double>(roads, 3)
+                .setCombiner(Math::min);
+        Map<String, Double> distances = new TreeMap<>(engine.run(shortestPaths, key -> Double.POSITIVE_INFINITY));
+        System.out.println("Distances from a: " + distances);
+        System.out.println("(expected a=0, b=3, c=2, d=8, e=10, f=13, g=Infinity)");
+        boolean sameAsDijkstra = true;
+        for (Map.Entry<String, Double> entry : distances.entrySet()) {
+            Double dijkstra = GraphQueries.shortestDistance(roads, "a", entry.getKey());
+            sameAsDijkstra &= dijkstra == null ? entry.getValue().isInfinite() : dijkstra.equals(entry.getValue());
+        }
+        System.out.println("Same as Dijkstra: " + sameAsDijkstra);
+        long sent = 0;
+        long delivered = 0;
+        for (SuperstepStats stats : engine.getSuperstepStats()) {
+            System.out.println("Superstep " + stats.getSuperstep() + ": computed " + stats.getComputedVertices()
+                    + ", sent " + stats.getSentMessages() + ", delivered " + stats.getDeliveredMessages());
+            sent += stats.getSentMessages();
+            delivered += stats.getDeliveredMessages();
+        }
+        System.out.println("The combiner kept " + delivered + " of " + sent + " messages");
+
+        // Without a combiner every message arrives, and the answer doesn't change.
+        Map<String, Double> uncombined = new PregelEngine<String, Double, Double>(roads, 2)
+                .run(shortestPaths, key -> Double.POSITIVE_INFINITY);
+        System.out.println("Same distances without a combiner: " + distances.equals(new TreeMap<>(uncombined)));
+
+        // Every vertex adds its out-degree to a sum aggregator in the only superstep.
+        PregelEngine<String, Integer, Void> counter = new PregelEngine<String, Integer, Void>(roads, 4)
+                .addAggregator("arcs", 0, Integer::sum)
+                .addAggregator("vertices", 0, Integer::sum);
+        counter.run((vertex, messages) -> {
+            vertex.aggregate("arcs", vertex.degree());
+            vertex.aggregate("vertices", 1);
+            vertex.voteToHalt();
+        }, key -> 0);
+        System.out.println("\nAggregated arcs: " + counter.getAggregated("arcs") + " (expected 10), vertices: "
+                + counter.getAggregated("vertices") + " (expected 7), supersteps: " + counter.getSuperstepStats().size()
+                + " (expected 1)");
+
+        // A vertex that never halts is stopped by the limit.
+        PregelEngine<String, Integer, Void> limited = new PregelEngine<String, Integer, Void>(roads, 2).setMaxSupersteps(5);
+        Map<String, Integer> rounds = limited.run((vertex, messages) -> vertex.setValue(vertex.getValue() + 1), key -> 0);
+        System.out.println("Rounds with a limit of 5 supersteps: " + rounds.get("a") + " (expected 5)");
+    }
+}
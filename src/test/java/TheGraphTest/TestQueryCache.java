@@ -0,0 +1,32 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestQueryCache {
+    public static void main(String[] args) {
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 1; i <= 5; i++)
+            intGraph.addVertex(i);
+        intGraph.addArc(1, 2, 1.0);
+        intGraph.addArc(2, 3, 2.0);
+        intGraph.addArc(1, 3, 4.0);
+        intGraph.addArc(3, 4, 1.5);
+
+        QueryCache<Integer> cache = new QueryCache<>(intGraph, 2);
+        System.out.println("modCount: " + intGraph.modCount());
+        System.out.println("1 reaches 4: " + cache.isReachable(1, 4) + ", again: " + cache.isReachable(1, 4));
+        System.out.println("Distance 1 -> 4: " + cache.shortestDistance(1, 4) + ", 1 reaches 5: " + cache.isReachable(1, 5));
+        System.out.println(cache.getStats());
+
+        System.out.println("\nDistance 1 -> 3 evicts the oldest entry: " + cache.shortestDistance(1, 3));
+        System.out.println(cache.getStats());
+
+        intGraph.addArc(4, 5, 0.5);
+        System.out.println("\nmodCount after adding 4 -> 5: " + intGraph.modCount());
+        System.out.println("1 reaches 5: " + cache.isReachable(1, 5) + ", distance 1 -> 5: " + cache.shortestDistance(1, 5));
+        System.out.println(cache.getStats());
+
+        long before = intGraph.modCount();
+        boolean added = intGraph.addArc(1, 2, 9.0);
+        System.out.println("\nAdding 1 -> 2 again: " + added + ", modCount " + before + " -> " + intGraph.modCount());
+    }
+}
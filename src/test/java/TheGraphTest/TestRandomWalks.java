@@ -0,0 +1,65 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TestRandomWalks {
+    public static void main(String[] args) throws IOException {
+        // From 0 the arc to 1 weighs 3 times the arc to 2; 1 and 2 lead back to 0 and on to 3.
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(true);
+        for (int i = 0; i <= 3; i++)
+            intGraph.addVertex(i);
+        intGraph.addArc(0, 1, 3.0);
+        intGraph.addArc(0, 2, 1.0);
+        intGraph.addEdge(1, 3, 1.0);
+        intGraph.addEdge(2, 3, 1.0);
+        intGraph.addArc(1, 0, 1.0);
+        intGraph.addArc(2, 0, 1.0);
+        IntGraph<Integer> ints = intGraph.asIntGraph();
+
+        WalkOptions weighted = WalkOptions.defaults().withWeighted(true).withWalkLength(6).withWalksPerVertex(2000).withSeed(7);
+        RandomWalks<Integer> walks = new RandomWalks<>(intGraph, weighted);
+        LongAdder toOne = new LongAdder();
+        LongAdder fromZero = new LongAdder();
+        WalkStats stats = walks.forEachWalk(walk -> {
+            if (ints.keyOf(walk[0]) == 0 && walk.length > 1) {
+                fromZero.increment();
+                if (ints.keyOf(walk[1]) == 1)
+                    toOne.increment();
+            }
+        });
+        System.out.println(stats);
+        System.out.printf("First step 0 -> 1 in %.3f of the walks from 0 (expected 0.75)%n",
+                toOne.doubleValue() / fromZero.doubleValue());
+
+        List<String> first = walks.stream().map(Arrays::toString).sorted().toList();
+        List<String> second = new RandomWalks<>(intGraph, weighted).stream().map(Arrays::toString).sorted().toList();
+        System.out.println("Same seed, same walks: " + first.equals(second) + ", walks: " + first.size());
+
+        for (double p : new double[]{100, 0.01}) {
+            WalkOptions node2vec = weighted.withWeighted(false).withReturnParameter(p).withInOutParameter(1 / p);
+            LongAdder returns = new LongAdder();
+            LongAdder steps = new LongAdder();
+            new RandomWalks<>(intGraph, node2vec).forEachWalk(walk -> {
+                for (int i = 2; i < walk.length; i++) {
+                    steps.increment();
+                    if (walk[i] == walk[i - 2])
+                        returns.increment();
+                }
+            });
+            System.out.printf("node2vec p=%s q=%s goes back to the previous vertex in %.3f of the steps%n",
+                    p, 1 / p, returns.doubleValue() / steps.doubleValue());
+        }
+
+        Path file = Files.createTempFile("walks", ".txt");
+        new RandomWalks<>(intGraph, weighted.withWalksPerVertex(1)).writeTo(file);
+        System.out.println("\nOne walk per vertex, as written for word2vec:");
+        Files.readAllLines(file).forEach(System.out::println);
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,69 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestReachabilityIndex {
+    public static void main(String[] args) {
+        // Three cycles 0-1-2, 3-4-5 and 6-7-8 joined by 2 -> 3 only, plus the lone vertex 9.
+        LuigiGraph<Integer> intGraph = new LuigiGraph<>(false);
+        for (int i = 0; i < 10; i++)
+            intGraph.addVertex(i);
+        for (int base = 0; base < 9; base += 3) {
+            for (int i = 0; i < 3; i++)
+                intGraph.addArc(base + i, base + (i + 1) % 3);
+        }
+        intGraph.addArc(2, 3);
+
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<>(intGraph);
+        System.out.println("Components: " + index.componentCount() + " (expected 4)");
+        System.out.println("0 -> 5: " + index.canReach(0, 5) + ", 5 -> 0: " + index.canReach(5, 0)
+                + ", 0 -> 7: " + index.canReach(0, 7) + " (expected true, false, false)");
+        System.out.println("Mismatches with a search: " + mismatches(intGraph, index) + " (expected 0)");
+
+        // Incremental path: 5 -> 6 links the second cycle to the third, 8 -> 0 closes a cycle over all three.
+        index.addArc(5, 6);
+        System.out.println("\nAfter 5 -> 6, 0 -> 7: " + index.canReach(0, 7) + " (expected true), mismatches: "
+                + mismatches(intGraph, index));
+        index.addArc(8, 0);
+        System.out.println("After 8 -> 0, 7 -> 1: " + index.canReach(7, 1) + " (expected true), 9 -> 0: "
+                + index.canReach(9, 0) + " (expected false), mismatches: " + mismatches(intGraph, index));
+        System.out.println("Builds so far: " + index.getRebuilds() + " (expected 1, both arcs patched the closure)");
+
+        // A change made behind the index's back is caught with the modification counter.
+        intGraph.removeArc(8, 0);
+        System.out.println("\nAfter removing 8 -> 0 from the graph, 7 -> 1: " + index.canReach(7, 1)
+                + " (expected false), builds: " + index.getRebuilds() + " (expected 2), mismatches: "
+                + mismatches(intGraph, index));
+
+        // 5 of the 20 possible arcs sit at the 0.25 threshold; the sixth makes the AdaptiveGraph migrate,
+        // which renumbers the ids, so the index rebuilds instead of patching.
+        AdaptivePolicy policy = AdaptivePolicy.defaults().withMinDenseVertices(4).withCheckEvery(1);
+        AdaptiveGraph<Integer> adaptive = new AdaptiveGraph<>(false, policy);
+        for (int i = 0; i < 5; i++)
+            adaptive.addVertex(i);
+        for (int i = 0; i < 4; i++)
+            adaptive.addArc(i, i + 1);
+        adaptive.addArc(0, 2);
+        ReachabilityIndex<Integer> adaptiveIndex = new ReachabilityIndex<>(adaptive);
+        System.out.println("\nDense before: " + adaptive.isDense() + ", 4 -> 0: " + adaptiveIndex.canReach(4, 0));
+        adaptiveIndex.addArc(4, 0);
+        System.out.println("Dense after 4 -> 0: " + adaptive.isDense() + " (expected true), builds: "
+                + adaptiveIndex.getRebuilds() + " (expected 2), 4 -> 0: " + adaptiveIndex.canReach(4, 0)
+                + ", components: " + adaptiveIndex.componentCount() + " (expected 1), mismatches: "
+                + mismatches(adaptive, adaptiveIndex));
+    }
+
+    /**
+     * Counts the ordered pairs where the index and a search on the graph disagree.
+     */
+    private static int mismatches(Graph<Integer> graph, ReachabilityIndex<Integer> index) {
+        int count = 0;
+        int n = graph.vertexCount();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (index.canReach(i, j) != GraphQueries.isReachable(graph, i, j))
+                    count++;
+            }
+        }
+        return count;
+    }
+}
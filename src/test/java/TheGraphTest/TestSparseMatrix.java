@@ -0,0 +1,86 @@
+package TheGraphTest;
+import TheGraph.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class TestSparseMatrix {
+    public static void main(String[] args) {
+        // a -> b -> c -> d -> a with a longer shortcut a -> c, and e on its own.
+        LuigiGraph<String> intGraph = new LuigiGraph<>(true);
+        for (String key : new String[]{"a", "b", "c", "d", "e"})
+            intGraph.addVertex(key);
+        intGraph.addArc("a", "b", 1.0);
+        intGraph.addArc("b", "c", 2.0);
+        intGraph.addArc("a", "c", 5.0);
+        intGraph.addArc("c", "d", 1.0);
+        intGraph.addArc("d", "a", 1.0);
+        SparseMatrix<String> matrix = new SparseMatrix<>(intGraph);
+        int n = matrix.size();
+        System.out.println("Vertices: " + n + ", entries: " + matrix.nonZeros() + " (expected 5, 5)");
+
+        // Breadth-first search: each level pushes the frontier along the arcs, masked by the visited vertices.
+        int[] hops = new int[n];
+        Arrays.fill(hops, -1);
+        BitSet visited = new BitSet(n);
+        int source = matrix.indexOf("a");
+        hops[source] = 0;
+        visited.set(source);
+        SparseMatrix.SparseVector frontier = SparseMatrix.SparseVector.of(source, 1);
+        for (int level = 1; frontier.nonZeros() > 0; level++) {
+            frontier = matrix.vxm(Semiring.OR_AND, frontier, SparseMatrix.Mask.not(visited));
+            for (int index : frontier.indexes()) {
+                hops[index] = level;
+                visited.set(index);
+            }
+        }
+        System.out.println("Hops from a:      " + byKey(matrix, hops) + " (expected a=0 b=1 c=1 d=2 e=-1)");
+
+        // The dense masked product takes the same first step.
+        double[] start = new double[n];
+        start[source] = 1;
+        BitSet onlyC = new BitSet(n);
+        onlyC.set(matrix.indexOf("c"));
+        System.out.println("First step kept to c: " + byKey(matrix, matrix.vxm(Semiring.OR_AND, start, SparseMatrix.Mask.of(onlyC)))
+                + " (expected 1 at c only)");
+
+        // Bellman-Ford: n - 1 rounds of relaxing every arc at once.
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        for (int round = 1; round < n; round++) {
+            double[] relaxed = matrix.vxm(Semiring.MIN_PLUS, dist);
+            for (int i = 0; i < n; i++)
+                dist[i] = Math.min(dist[i], relaxed[i]);
+        }
+        System.out.println("Distances from a: " + byKey(matrix, dist) + " (expected a=0.0 b=1.0 c=3.0 d=4.0 e=Infinity)");
+
+        // Pulling from the successors: the sum of the weights leaving each vertex.
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1);
+        System.out.println("Weight out:       " + byKey(matrix, matrix.mxv(Semiring.PLUS_TIMES, ones))
+                + " (expected a=6.0 b=2.0 c=1.0 d=1.0 e=0.0)");
+
+        // The square over MIN_PLUS holds the shortest paths of exactly two arcs.
+        SparseMatrix<String> twoArcs = matrix.mxm(Semiring.MIN_PLUS, matrix);
+        System.out.println("Two arcs: a -> c " + twoArcs.get(matrix.indexOf("a"), matrix.indexOf("c"))
+                + ", a -> d " + twoArcs.get(matrix.indexOf("a"), matrix.indexOf("d"))
+                + ", d -> b " + twoArcs.get(matrix.indexOf("d"), matrix.indexOf("b"))
+                + ", a -> b " + twoArcs.get(matrix.indexOf("a"), matrix.indexOf("b"))
+                + " (expected 3.0, 6.0, 2.0, NaN), entries: " + twoArcs.nonZeros() + " (expected 6)");
+    }
+
+    private static String byKey(SparseMatrix<String> matrix, int[] values) {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+            st.append(i == 0 ? "" : " ").append(matrix.keyOf(i)).append('=').append(values[i]);
+        return st.toString();
+    }
+
+    private static String byKey(SparseMatrix<String> matrix, double[] values) {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+            st.append(i == 0 ? "" : " ").append(matrix.keyOf(i)).append('=').append(values[i]);
+        return st.toString();
+    }
+}
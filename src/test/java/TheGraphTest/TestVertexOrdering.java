@@ -0,0 +1,37 @@
+package TheGraphTest;
+import TheGraph.*;
+
+public class TestVertexOrdering {
+    public static void main(String[] args) {
+        for (VertexOrdering.Strategy strategy : VertexOrdering.Strategy.values()) {
+            LuigiGraph<Integer> luigi = new LuigiGraph<>(true);
+            MarioGraph<Integer> mario = new MarioGraph<>(12, true);
+            build(luigi);
+            build(mario);
+            ReorderReport luigiReport = luigi.reorder(strategy);
+            ReorderReport marioReport = mario.reorder(strategy);
+            System.out.println("LuigiGraph " + luigiReport);
+            System.out.println("MarioGraph " + marioReport);
+            System.out.println("Weight 2 -> 9 after reordering: " + luigi.getArcWeight(2, 9) + " / " + mario.getArcWeight(2, 9)
+                    + ", 10 still removed: " + (luigi.asIntGraph().idOf(10) == -1));
+            System.out.print("New ids of 0..11 in LuigiGraph:");
+            for (int i = 0; i < 12; i++)
+                System.out.print(" " + luigi.asIntGraph().idOf(i));
+            System.out.println("\n");
+        }
+    }
+
+    /**
+     * A ring 0-1-...-11 whose vertices were added in a scattered order, so the ring
+     * jumps across the id space until it is reordered.
+     */
+    private static void build(Graph<Integer> graph) {
+        int[] scattered = {0, 6, 3, 9, 1, 7, 4, 10, 2, 8, 5, 11};
+        for (int key : scattered)
+            graph.addVertex(key);
+        for (int i = 0; i < 12; i++)
+            graph.addEdge(i, (i + 1) % 12, i + 0.5);
+        graph.addArc(2, 9, 4.0);
+        graph.removeVertex(10);
+    }
+}